@@ -0,0 +1,62 @@
+package com.seek.notifications.benchmarks;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+import com.seek.notifications.providers.email.SendGridEmailSender;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de sendAsync con varios hilos productores compitiendo por el mismo cliente.
+ * <p>
+ * executor = commonPool | fixed | virtual permite comparar los modos de ejecución de NotificationClient.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class AsyncThroughputBenchmark {
+
+    @Param({"commonPool", "fixed", "virtual"})
+    public String executor;
+
+    private ExecutorService pool;
+    private NotificationClient client;
+    private Notification email;
+
+    @Setup
+    public void setup() {
+        NotificationClient.Builder builder = NotificationClient.builder().register(new SendGridEmailSender("SG_API_KEY"));
+        switch (executor) {
+            case "fixed" -> {
+                pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+                builder.executor(pool);
+            }
+            case "virtual" -> builder.virtualThreads();
+            default -> {
+            }
+        }
+        client = builder.build();
+        email = Fixtures.notification(Channel.EMAIL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        // Con virtualThreads() el cliente es dueño de su executor y close() lo apaga.
+        client.close();
+        if (pool != null) pool.shutdown();
+    }
+
+    @Benchmark
+    public SendResult sendAsync() {
+        return client.sendAsync(email).join();
+    }
+}
@@ -0,0 +1,99 @@
+package com.seek.notifications.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seek.notifications.codec.NotificationCodec;
+import com.seek.notifications.models.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip (encode + decode) de Notification: NotificationCodec vs JSON ad-hoc con Jackson,
+ * que es lo que usan hoy los consumidores de la cola.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    @Param({"EMAIL", "SMS", "PUSH"})
+    public Channel channel;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private Notification notification;
+
+    @Setup
+    public void setup() {
+        notification = Fixtures.notification(channel);
+    }
+
+    @Benchmark
+    public Notification binaryRoundTrip() {
+        buffer.clear();
+        NotificationCodec.write(notification, buffer);
+        buffer.flip();
+        return NotificationCodec.readNotification(buffer);
+    }
+
+    @Benchmark
+    public Notification jsonRoundTrip() throws IOException {
+        byte[] json = mapper.writeValueAsBytes(toJson(notification));
+        return fromJson(mapper.readTree(json));
+    }
+
+    @Benchmark
+    public int binarySize() {
+        return NotificationCodec.encodedSize(notification);
+    }
+
+    @Benchmark
+    public int jsonSize() throws IOException {
+        return mapper.writeValueAsBytes(toJson(notification)).length;
+    }
+
+    private static Map<String, Object> toJson(Notification n) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("channel", n.channel().name());
+        Recipient r = n.recipient();
+        if (r instanceof EmailRecipient e) json.put("recipient", e.email());
+        else if (r instanceof PhoneRecipient p) json.put("recipient", p.e164Phone());
+        else json.put("recipient", ((DeviceRecipient) r).deviceToken());
+        Message m = n.message();
+        if (m instanceof EmailMessage e) {
+            json.put("subject", e.subject());
+            json.put("body", e.body());
+        } else if (m instanceof SmsMessage s) {
+            json.put("text", s.text());
+        } else if (m instanceof PushMessage p) {
+            json.put("title", p.title());
+            json.put("body", p.body());
+        }
+        json.put("correlationId", n.metadata().correlationId());
+        json.put("createdAt", n.metadata().createdAt().toString());
+        return json;
+    }
+
+    private static Notification fromJson(JsonNode json) {
+        Channel channel = Channel.valueOf(json.get("channel").asText());
+        String recipient = json.get("recipient").asText();
+        Notification.Builder b = Notification.builder(channel).metadata(new Notification.Metadata(
+                json.get("correlationId").asText(), Instant.parse(json.get("createdAt").asText())));
+        return switch (channel) {
+            case EMAIL -> b.recipient(new EmailRecipient(recipient))
+                    .message(new EmailMessage(json.get("subject").asText(), json.get("body").asText())).build();
+            case SMS -> b.recipient(new PhoneRecipient(recipient)).message(new SmsMessage(json.get("text").asText())).build();
+            case PUSH -> b.recipient(new DeviceRecipient(recipient))
+                    .message(new PushMessage(json.get("title").asText(), json.get("body").asText())).build();
+        };
+    }
+}
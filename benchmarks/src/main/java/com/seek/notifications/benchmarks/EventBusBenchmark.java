@@ -0,0 +1,59 @@
+package com.seek.notifications.benchmarks;
+
+import com.seek.notifications.events.AsyncEventBus;
+import com.seek.notifications.events.InMemoryEventBus;
+import com.seek.notifications.events.NotificationEvent;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.SendResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de publish con N listeners: fan-out síncrono (InMemoryEventBus) vs encolado (AsyncEventBus).
+ * Para el bus asíncrono se mide lo que paga el hilo que envía, no la entrega.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventBusBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int listeners;
+
+    private InMemoryEventBus syncBus;
+    private AsyncEventBus asyncBus;
+    private NotificationEvent event;
+
+    @Setup
+    public void setup() {
+        syncBus = new InMemoryEventBus();
+        asyncBus = AsyncEventBus.builder().overflowPolicy(AsyncEventBus.OverflowPolicy.DROP_OLDEST).build();
+        for (int i = 0; i < listeners; i++) {
+            syncBus.subscribe(e -> {
+            });
+            asyncBus.subscribe(e -> {
+            });
+        }
+        event = new NotificationEvent.Sent("corr-bench", Channel.EMAIL, Instant.now(), SendResult.ok("bench", "id-1"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncBus.close();
+    }
+
+    @Benchmark
+    public void publishSync() {
+        syncBus.publish(event);
+    }
+
+    @Benchmark
+    public void publishAsync() {
+        asyncBus.publish(event);
+    }
+}
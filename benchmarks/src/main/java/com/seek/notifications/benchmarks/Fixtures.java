@@ -0,0 +1,28 @@
+package com.seek.notifications.benchmarks;
+
+import com.seek.notifications.models.*;
+
+import java.time.Instant;
+
+/**
+ * Notificaciones válidas reutilizadas por los benchmarks (una por canal).
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Notification notification(Channel channel) {
+        return switch (channel) {
+            case EMAIL -> Notification.builder(Channel.EMAIL).recipient(new EmailRecipient("user@mail.com"))
+                    .message(new EmailMessage("Bienvenido", "Gracias por registrarte"))
+                    .metadata(new Notification.Metadata("corr-bench-email", Instant.now())).build();
+            case SMS -> Notification.builder(Channel.SMS).recipient(new PhoneRecipient("+521234567890"))
+                    .message(new SmsMessage("Hola desde SMS"))
+                    .metadata(new Notification.Metadata("corr-bench-sms", Instant.now())).build();
+            case PUSH -> Notification.builder(Channel.PUSH).recipient(new DeviceRecipient("device-token-123"))
+                    .message(new PushMessage("Alerta", "Tienes una notificación"))
+                    .metadata(new Notification.Metadata("corr-bench-push", Instant.now())).build();
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.seek.notifications.benchmarks;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.events.InMemoryEventBus;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+import com.seek.notifications.providers.email.SendGridEmailSender;
+import com.seek.notifications.providers.push.FcmPushSender;
+import com.seek.notifications.providers.sms.TwilioSmsSender;
+import com.seek.notifications.registry.SenderRegistry;
+import com.seek.notifications.retry.RetryingSender;
+import com.seek.notifications.spi.NotificationSender;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de un envío síncrono (NotificationClient.send) con los providers simulados.
+ * <p>
+ * - send: validación + registry + sender, sin EventBus.
+ * - sendWithEvents: igual, publicando Requested/Sent en un InMemoryEventBus con un listener.
+ * - sendWithRetry: el sender envuelto en RetryingSender (camino feliz, sin reintentos).
+ * - registryLookup: costo aislado de SenderRegistry.get.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SendBenchmark {
+
+    private NotificationClient plainClient;
+    private NotificationClient eventsClient;
+    private NotificationClient retryClient;
+    private SenderRegistry registry;
+    private Notification email;
+
+    @Setup
+    public void setup() {
+        plainClient = NotificationClient.builder()
+                .register(new SendGridEmailSender("SG_API_KEY"))
+                .register(new TwilioSmsSender("SID", "TOKEN"))
+                .register(new FcmPushSender("{service-account-json}"))
+                .build();
+
+        InMemoryEventBus bus = new InMemoryEventBus();
+        bus.subscribe(event -> {
+        });
+        eventsClient = NotificationClient.builder().eventBus(bus).register(new SendGridEmailSender("SG_API_KEY")).build();
+
+        retryClient = NotificationClient.builder()
+                .register(new RetryingSender(new SendGridEmailSender("SG_API_KEY"), 3, Duration.ofMillis(30)))
+                .build();
+
+        registry = new SenderRegistry()
+                .register(new SendGridEmailSender("SG_API_KEY"))
+                .register(new TwilioSmsSender("SID", "TOKEN"))
+                .register(new FcmPushSender("{service-account-json}"));
+
+        email = Fixtures.notification(Channel.EMAIL);
+    }
+
+    @Benchmark
+    public SendResult send() {
+        return plainClient.send(email);
+    }
+
+    @Benchmark
+    public SendResult sendWithEvents() {
+        return eventsClient.send(email);
+    }
+
+    @Benchmark
+    public SendResult sendWithRetry() {
+        return retryClient.send(email);
+    }
+
+    @Benchmark
+    public NotificationSender registryLookup() {
+        return registry.get(Channel.SMS);
+    }
+}
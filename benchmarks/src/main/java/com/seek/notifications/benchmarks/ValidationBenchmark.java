@@ -0,0 +1,38 @@
+package com.seek.notifications.benchmarks;
+
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.validation.DefaultValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de DefaultValidator.validate por canal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"EMAIL", "SMS", "PUSH"})
+    public Channel channel;
+
+    private DefaultValidator validator;
+    private Notification notification;
+
+    @Setup
+    public void setup() {
+        validator = new DefaultValidator();
+        notification = Fixtures.notification(channel);
+    }
+
+    @Benchmark
+    public Notification validate() {
+        validator.validate(notification);
+        return notification;
+    }
+}
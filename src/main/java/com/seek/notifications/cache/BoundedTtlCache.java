@@ -0,0 +1,96 @@
+package com.seek.notifications.cache;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mapa concurrente, acotado y con TTL; base de IdempotencyCache y PreferenceCache.
+ * <p>
+ * Como el TTL es el mismo para todas las entradas, el orden de inserción coincide con el de expiración:
+ * una cola FIFO basta para expirar y para desalojar las más antiguas al superar maxEntries.
+ * <p>
+ * - Una entrada vencida se trata como ausente aunque siga en el mapa; se desaloja en la siguiente inserción.
+ * - remove(key, value) compara por identidad: solo quita la entrada si sigue siendo ese valor.
+ */
+public final class BoundedTtlCache<K, V> {
+
+    private record Entry<K, V>(K key, V value, long expiresAt) {
+    }
+
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    public BoundedTtlCache(int maxEntries, Duration ttl) {
+        Objects.requireNonNull(ttl);
+        if (maxEntries < 1) throw new NotificationException("maxEntries must be >= 1");
+        if (ttl.isZero() || ttl.isNegative()) throw new NotificationException("ttl must be positive");
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Registra {@code value} para la llave si no hay una entrada vigente.
+     *
+     * @return el valor de la entrada vigente, o null si {@code value} quedó registrado.
+     */
+    public V putIfAbsent(K key, V value) {
+        long now = System.nanoTime();
+        evict(now);
+        Entry<K, V> fresh = new Entry<>(key, value, now + ttlNanos);
+        while (true) {
+            Entry<K, V> current = entries.putIfAbsent(key, fresh);
+            if (current == null) {
+                insertionOrder.add(fresh);
+                queued.incrementAndGet();
+                return null;
+            }
+            if (current.expiresAt - now > 0) return current.value;
+            entries.remove(key, current);
+        }
+    }
+
+    /**
+     * Valor vigente para la llave, o null.
+     */
+    public V get(K key) {
+        Entry<K, V> e = entries.get(key);
+        return (e != null && e.expiresAt - System.nanoTime() > 0) ? e.value : null;
+    }
+
+    /**
+     * Quita la entrada solo si sigue siendo {@code value}.
+     */
+    public void remove(K key, V value) {
+        Entry<K, V> e = entries.get(key);
+        if (e != null && e.value == value) entries.remove(key, e);
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        Entry<K, V> head;
+        while ((head = insertionOrder.peek()) != null) {
+            boolean expired = head.expiresAt - now <= 0;
+            // queued también cuenta entradas ya quitadas con remove(); se descartan al llegar a la cabeza.
+            if (!expired && entries.size() < maxEntries && queued.get() < 2 * maxEntries) return;
+            if (insertionOrder.remove(head)) {
+                queued.decrementAndGet();
+                entries.remove(head.key, head);
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.seek.notifications.circuitbreaker;
+
+import com.seek.notifications.events.EventBus;
+import com.seek.notifications.events.NotificationEvent;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+import com.seek.notifications.spi.NotificationSender;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Decorator de circuit breaker por provider.
+ * <p>
+ * Mide las últimas N llamadas (ventana deslizante por conteo). Si la tasa de fallas o de llamadas lentas
+ * supera el umbral, abre el circuito y responde de inmediato con SendResult.ErrorCode.TRANSIENT_ERROR
+ * sin llamar al provider. Pasado openDuration, deja pasar algunas llamadas de prueba (HALF_OPEN):
+ * si todas salen bien cierra el circuito, si alguna falla o es lenta lo reabre.
+ * <p>
+ * - Cuenta como falla: cualquier excepción (salvo ValidationException) o un SendResult no exitoso
+ * que no sea VALIDATION_ERROR.
+ * - Los errores de validación no cuentan: son culpa del input, no del provider.
+ * - Cada llamada admitida lleva la época (número de transición) en que entró y si es de prueba: una llamada que
+ * termina después de un cambio de estado no cuenta ni decide la prueba del estado nuevo.
+ * - Publica NotificationEvent.CircuitStateChanged en cada transición si se configura un EventBus.
+ * <p>
+ * Composición sugerida: RetryingSender(CircuitBreakerSender(provider)). Como el fast-fail es un
+ * SendResult y no una excepción, RetryingSender no reintenta mientras el circuito está abierto.
+ */
+public final class CircuitBreakerSender implements NotificationSender {
+
+    private final NotificationSender delegate;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final EventBus eventBus;
+
+    // Resultado de tryAcquire cuando el circuito rechaza la llamada.
+    private static final long REJECTED = -1;
+
+    private final Object lock = new Object();
+    private volatile CircuitState state = CircuitState.CLOSED;
+    // Se incrementa en cada transición, antes de publicar el estado nuevo.
+    private volatile long epoch;
+
+    // Ventana circular de resultados (protegida por lock).
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slow;
+
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    private CircuitBreakerSender(Builder b) {
+        this.delegate = b.delegate;
+        this.windowSize = b.windowSize;
+        this.minimumCalls = Math.min(b.minimumCalls, b.windowSize);
+        this.failureRateThreshold = b.failureRateThreshold;
+        this.slowCallNanos = b.slowCallDuration.toNanos();
+        this.slowCallRateThreshold = b.slowCallRateThreshold;
+        this.openNanos = b.openDuration.toNanos();
+        this.halfOpenProbes = b.halfOpenProbes;
+        this.eventBus = b.eventBus;
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    @Override
+    public Channel channel() {
+        return delegate.channel();
+    }
+
+    @Override
+    public String providerName() {
+        return delegate.providerName();
+    }
+
+    public CircuitState state() {
+        return state;
+    }
+
+    @Override
+    public SendResult send(Notification notification) {
+        long permit = tryAcquire(notification);
+        if (permit == REJECTED) {
+            return SendResult.fail(providerName(), new SendResult.ErrorInfo(SendResult.ErrorCode.TRANSIENT_ERROR,
+                    "Circuit open for provider=" + providerName(), null));
+        }
+
+        long start = System.nanoTime();
+        try {
+            SendResult result = delegate.send(notification);
+            if (!result.success() && result.error() != null
+                    && result.error().code() == SendResult.ErrorCode.VALIDATION_ERROR) {
+                onIgnored(permit);
+            } else {
+                onComplete(permit, notification, result.success(), System.nanoTime() - start);
+            }
+            return result;
+        } catch (ValidationException e) {
+            onIgnored(permit);
+            throw e;
+        } catch (RuntimeException e) {
+            onComplete(permit, notification, false, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Permiso de la llamada: época de admisión * 2 + 1 si es de prueba (HALF_OPEN), o REJECTED.
+     */
+    private long tryAcquire(Notification notification) {
+        // epoch se lee antes que state: si cambian en medio, el permiso queda con una época vieja y se ignora.
+        long admittedIn = epoch;
+        if (state == CircuitState.CLOSED) return admittedIn * 2;
+
+        NotificationEvent event = null;
+        long permit = REJECTED;
+        synchronized (lock) {
+            switch (state) {
+                case CLOSED -> permit = epoch * 2;
+                case OPEN -> {
+                    if (System.nanoTime() - openedAt >= openNanos) {
+                        event = transition(CircuitState.HALF_OPEN, notification);
+                        probesInFlight = 1;
+                        permit = epoch * 2 + 1;
+                    }
+                }
+                default -> {
+                    if (probesInFlight + probeSuccesses < halfOpenProbes) {
+                        probesInFlight++;
+                        permit = epoch * 2 + 1;
+                    }
+                }
+            }
+        }
+        publish(event);
+        return permit;
+    }
+
+    private static boolean isProbe(long permit) {
+        return (permit & 1) == 1;
+    }
+
+    private void onIgnored(long permit) {
+        if (!isProbe(permit)) return;
+        synchronized (lock) {
+            if (permit >> 1 == epoch) probesInFlight--;
+        }
+    }
+
+    private void onComplete(long permit, Notification notification, boolean success, long elapsedNanos) {
+        boolean isSlow = elapsedNanos >= slowCallNanos;
+        NotificationEvent event = null;
+        synchronized (lock) {
+            // Admitida en un estado anterior (p. ej. CLOSED antes de abrir): no altera el estado actual.
+            if (permit >> 1 != epoch) return;
+            switch (state) {
+                case HALF_OPEN -> {
+                    probesInFlight--;
+                    if (!success || isSlow) {
+                        event = open(notification);
+                    } else if (++probeSuccesses >= halfOpenProbes) {
+                        event = transition(CircuitState.CLOSED, notification);
+                    }
+                }
+                case CLOSED -> {
+                    record(!success, isSlow);
+                    if (recorded >= minimumCalls
+                            && ((double) failures / recorded >= failureRateThreshold
+                            || (double) slow / recorded >= slowCallRateThreshold)) {
+                        event = open(notification);
+                    }
+                }
+                default -> {
+                    // OPEN: no hay llamadas admitidas en esta época.
+                }
+            }
+        }
+        publish(event);
+    }
+
+    private void record(boolean failed, boolean isSlow) {
+        if (recorded == windowSize) {
+            if (failedCalls[next]) failures--;
+            if (slowCalls[next]) slow--;
+        } else {
+            recorded++;
+        }
+        failedCalls[next] = failed;
+        slowCalls[next] = isSlow;
+        if (failed) failures++;
+        if (isSlow) slow++;
+        next = (next + 1) % windowSize;
+    }
+
+    private NotificationEvent open(Notification notification) {
+        openedAt = System.nanoTime();
+        return transition(CircuitState.OPEN, notification);
+    }
+
+    private NotificationEvent transition(CircuitState to, Notification notification) {
+        CircuitState from = state;
+        epoch++;
+        state = to;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (to == CircuitState.CLOSED) {
+            next = 0;
+            recorded = 0;
+            failures = 0;
+            slow = 0;
+        }
+        if (eventBus == null) return null;
+        return new NotificationEvent.CircuitStateChanged(notification.metadata().correlationId(), channel(), Instant.now(),
+                providerName(), from, to);
+    }
+
+    private void publish(NotificationEvent event) {
+        if (event != null) eventBus.publish(event);
+    }
+
+    public static Builder builder(NotificationSender delegate) {
+        return new Builder(delegate);
+    }
+
+    public static final class Builder {
+        private final NotificationSender delegate;
+        private int windowSize = 50;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+        private double slowCallRateThreshold = 1.0;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenProbes = 3;
+        private EventBus eventBus;
+
+        private Builder(NotificationSender delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        /**
+         * Cantidad de llamadas recientes consideradas para calcular las tasas.
+         */
+        public Builder windowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Llamadas mínimas en la ventana antes de evaluar los umbrales.
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Una llamada que tarda al menos {@code slowCallDuration} cuenta como lenta;
+         * el circuito abre si la tasa de lentas alcanza {@code slowCallRateThreshold}.
+         */
+        public Builder slowCalls(Duration slowCallDuration, double slowCallRateThreshold) {
+            this.slowCallDuration = Objects.requireNonNull(slowCallDuration);
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = Objects.requireNonNull(openDuration);
+            return this;
+        }
+
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        public Builder eventBus(EventBus eventBus) {
+            this.eventBus = eventBus;
+            return this;
+        }
+
+        public CircuitBreakerSender build() {
+            if (windowSize < 1) throw new NotificationException("windowSize must be >= 1");
+            if (minimumCalls < 1) throw new NotificationException("minimumCalls must be >= 1");
+            if (halfOpenProbes < 1) throw new NotificationException("halfOpenProbes must be >= 1");
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1)
+                throw new NotificationException("failureRateThreshold must be in (0, 1]");
+            if (slowCallRateThreshold <= 0 || slowCallRateThreshold > 1)
+                throw new NotificationException("slowCallRateThreshold must be in (0, 1]");
+            return new CircuitBreakerSender(this);
+        }
+    }
+}
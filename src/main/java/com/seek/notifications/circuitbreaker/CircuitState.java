@@ -0,0 +1,9 @@
+package com.seek.notifications.circuitbreaker;
+
+/**
+ * Estados del circuit breaker:
+ * - CLOSED: las llamadas pasan al provider y se miden.
+ * - OPEN: las llamadas fallan de inmediato sin tocar al provider.
+ * - HALF_OPEN: se deja pasar un número limitado de llamadas de prueba para decidir si cerrar o reabrir.
+ */
+public enum CircuitState {CLOSED, OPEN, HALF_OPEN}
@@ -0,0 +1,28 @@
+package com.seek.notifications.client;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Genera correlation ids para notificaciones que no traen uno en su Metadata.
+ * <p>
+ * - monotonic() (por defecto): prefijo aleatorio por instancia + contador; barato y único dentro del proceso,
+ *   con colisión improbable entre procesos gracias al prefijo.
+ * - uuid(): UUID aleatorio (más costoso: usa SecureRandom).
+ */
+@FunctionalInterface
+public interface CorrelationIdGenerator {
+
+    String next();
+
+    static CorrelationIdGenerator monotonic() {
+        String prefix = "corr-" + Long.toHexString(ThreadLocalRandom.current().nextLong() >>> 16) + "-";
+        AtomicLong counter = new AtomicLong();
+        return () -> prefix + counter.incrementAndGet();
+    }
+
+    static CorrelationIdGenerator uuid() {
+        return () -> "corr-" + UUID.randomUUID();
+    }
+}
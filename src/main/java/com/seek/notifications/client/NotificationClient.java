@@ -1,48 +1,115 @@
 package com.seek.notifications.client;
 
+import com.seek.notifications.concurrency.AsyncSemaphore;
+import com.seek.notifications.concurrency.InterruptibleTask;
+import com.seek.notifications.dispatch.DispatchConfig;
+import com.seek.notifications.dispatch.PartitionConfig;
+import com.seek.notifications.dispatch.PartitionedDispatcher;
+import com.seek.notifications.dispatch.PriorityDispatcher;
+import com.seek.notifications.exceptions.DeadlineExceededException;
+import com.seek.notifications.exceptions.NotificationException;
 import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.registry.Routing;
 import com.seek.notifications.registry.SenderRegistry;
 import com.seek.notifications.exceptions.ValidationException;
 import com.seek.notifications.events.EventBus;
 import com.seek.notifications.events.NotificationEvent;
+import com.seek.notifications.idempotency.IdempotencyCache;
+import com.seek.notifications.metrics.SendMetrics;
+import com.seek.notifications.models.Channel;
 import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.Priority;
 import com.seek.notifications.models.SendResult;
+import com.seek.notifications.outbox.DurableOutbox;
+import com.seek.notifications.outbox.OutboxConfig;
+import com.seek.notifications.spi.AsyncNotificationSender;
+import com.seek.notifications.spi.BatchNotificationSender;
 import com.seek.notifications.spi.NotificationSender;
 import com.seek.notifications.spi.NotificationValidator;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 
 /**
  * Facade principal de la librería.
  * <p>
  * - Expone una API unificada (send / sendAsync) para enviar notificaciones sin importar el canal.
+ * - Expone envío en lote (sendBatch / sendBatchAsync) agrupado por canal, con un resultado por item.
  * - Selecciona el sender adecuado a través de un registro (SenderRegistry).
  * - Valida la notificación antes de enviarla (NotificationValidator).
+ * - Con un AsyncNotificationSender, sendAsync no ocupa hilos mientras la llamada al provider está en vuelo.
+ * - sendAsync puede ejecutarse en virtual threads (un hilo virtual por envío) con un tope de concurrencia por canal.
+ * - Opcionalmente sendAsync pasa por un dispatcher con colas por prioridad/canal, para que HIGH no espere detrás de campañas.
+ * - O por carriles particionados por destinatario, para entregar en orden FIFO por destinatario.
  * - Opcionalmente publica eventos de ciclo de vida (Requested/Sent/Failed) mediante EventBus.
+ * - Opcionalmente persiste los envíos en un outbox local (enqueue) para entrega at-least-once.
+ * - Opcionalmente registra latencias y conteos por canal/provider en SendMetrics.
+ * - Respeta el deadline de la notificación: vencido no se envía; cancelar un sendAsync interrumpe el envío en curso.
+ * - Opcionalmente deduplica envíos (IdempotencyCache): un duplicado recibe el SendResult original sin llamar al provider.
  * <p>
  * Diseño:
  * - Strategy: cada provider implementa NotificationSender.
  * - Builder: configuración por código (sin YAML/properties).
  * - DIP: depende de interfaces (NotificationSender, NotificationValidator, EventBus).
  */
-public final class NotificationClient {
+public final class NotificationClient implements AutoCloseable {
 
     private final SenderRegistry registry;
     private final NotificationValidator validator;
     private final Executor executor;
+    // Executor creado por el builder (virtualThreads()); close() lo apaga. Null si el executor es del caller.
+    private final ExecutorService ownedExecutor;
     private final EventBus eventBus;
+    private final Map<Channel, AsyncSemaphore> channelPermits;
+    private final SendMetrics metrics;
+    private final CorrelationIdGenerator correlationIds;
+    private final DurableOutbox outbox;
+    private final IdempotencyCache idempotency;
+    private final PriorityDispatcher dispatcher;
+    private final PartitionedDispatcher partitions;
+    private volatile boolean closed;
 
-    private NotificationClient(SenderRegistry registry, NotificationValidator validator, Executor executor, EventBus eventBus) {
+    private NotificationClient(SenderRegistry registry, NotificationValidator validator, Executor executor,
+                               ExecutorService ownedExecutor, EventBus eventBus,
+                               Map<Channel, AsyncSemaphore> channelPermits, SendMetrics metrics, CorrelationIdGenerator correlationIds,
+                               OutboxConfig outboxConfig, IdempotencyCache idempotency, DispatchConfig dispatchConfig,
+                               PartitionConfig partitionConfig) {
         this.registry = registry;
         this.validator = validator;
         this.executor = executor;
+        this.ownedExecutor = ownedExecutor;
         this.eventBus = eventBus;
+        this.channelPermits = channelPermits;
+        this.metrics = metrics;
+        this.correlationIds = correlationIds;
+        this.idempotency = idempotency;
+        // Los workers arrancan en build(), cuando el cliente ya está completamente construido.
+        this.outbox = (outboxConfig != null) ? new DurableOutbox(outboxConfig, this::send) : null;
+        // Workers y carriles saltan los canales sin permisos de maxConcurrency en lugar de esperarlos.
+        this.dispatcher = (dispatchConfig != null) ? new PriorityDispatcher(dispatchConfig, this::send, channelPermits) : null;
+        this.partitions = (partitionConfig != null) ? new PartitionedDispatcher(partitionConfig, this::send, channelPermits) : null;
     }
 
     public SendResult send(Notification notification) {
@@ -50,36 +117,457 @@ public final class NotificationClient {
 
         // 1) Validación: fallas por input inválido deben ser claras y no reintentables.
         validator.validate(notification);
+        // Deadline vencido (por ejemplo, tras esperar en una cola): no se llama al provider.
+        if (notification.metadata().expired()) throw deadlineExceeded(notification, null);
 
-        // 2) Selección del sender por canal: desacopla el cliente del proveedor.
-        NotificationSender sender = registry.get(notification.channel());
+        // 2) Deduplicación (opcional): el primero con la llave envía; los duplicados reciben su resultado.
+        Object key = idempotencyKey(notification);
+        if (key == null) return sendValidated(notification);
+        CompletableFuture<SendResult> mine = new CompletableFuture<>();
+        CompletableFuture<SendResult> original = idempotency.putIfAbsent(key, mine);
+        if (original != null) return awaitOriginal(original);
+        try {
+            SendResult result = sendValidated(notification);
+            // Un fallo no se recuerda: el reintento del caller debe volver a llegar al provider.
+            if (!result.success()) idempotency.remove(key, mine);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            idempotency.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
 
-        // 3) Publicación de eventos (opcional) para auditoría/métricas sin acoplar lógica.
-        String corr = notification.metadata().correlationId();
-        if (corr == null || corr.isBlank()) corr = "corr-" + UUID.randomUUID();
+    private SendResult sendValidated(Notification notification) {
+        // 3) Selección del sender por canal: desacopla el cliente del proveedor.
+        NotificationSender sender = registry.get(notification.channel());
 
-        publish(new NotificationEvent.Requested(corr, notification.channel(), Instant.now(), notification));
+        // 4) Publicación de eventos (opcional) para auditoría/métricas sin acoplar lógica.
+        //    Sin EventBus o sin suscriptores no se generan correlation id, timestamps ni eventos.
+        Channel channel = notification.channel();
+        boolean events = eventsEnabled();
+        String corr = events ? correlationId(notification) : null;
+        Instant requestedAt = events ? Instant.now() : null;
+        if (events) eventBus.publish(new NotificationEvent.Requested(corr, channel, requestedAt, notification));
 
-        // 4) enviar
+        // 5) enviar
+        long start = (events || metrics != null) ? System.nanoTime() : 0;
         try {
             SendResult result = sender.send(notification);
-            publish(new NotificationEvent.Sent(corr, notification.channel(), Instant.now(), result));
+            long elapsed = elapsedSince(start);
+            record(channel, sender, result.success(), elapsed);
+            if (events) eventBus.publish(new NotificationEvent.Sent(corr, channel, requestedAt.plusNanos(elapsed), result));
             return result;
-        } catch (ValidationException e) {
-            publish(new NotificationEvent.Failed(corr, notification.channel(), Instant.now(), e));
+        } catch (ValidationException | DeadlineExceededException e) {
+            long elapsed = elapsedSince(start);
+            record(channel, sender, false, elapsed);
+            if (events) eventBus.publish(new NotificationEvent.Failed(corr, channel, requestedAt.plusNanos(elapsed), e));
             throw e;
         } catch (Exception e) {
-            publish(new NotificationEvent.Failed(corr, notification.channel(), Instant.now(), e));
-            throw new SendFailedException("Send failed via provider=" + sender.providerName(), e);
+            long elapsed = elapsedSince(start);
+            record(channel, sender, false, elapsed);
+            if (events) eventBus.publish(new NotificationEvent.Failed(corr, channel, requestedAt.plusNanos(elapsed), e));
+            throw sendFailed(sender, e);
         }
     }
 
+    /**
+     * Envía sin bloquear al caller. Tras close() retorna un future fallido con NotificationException.
+     */
     public CompletableFuture<SendResult> sendAsync(Notification notification) {
-        return CompletableFuture.supplyAsync(() -> send(notification), executor);
+        if (closed) return CompletableFuture.failedFuture(new NotificationException("NotificationClient is closed"));
+        // Atajo: un duplicado de un envío conocido no ocupa un hilo del executor esperando al original.
+        Object key = idempotencyKey(notification);
+        CompletableFuture<SendResult> original = (key != null) ? idempotency.get(key) : null;
+        if (original != null) return original.copy();
+        CompletableFuture<SendResult> result;
+        if (dispatcher != null) {
+            result = dispatcher.submit(notification);
+        } else if (partitions != null) {
+            result = partitions.submit(notification);
+        } else {
+            AsyncNotificationSender nativeSender = nativeAsyncSender(notification.channel());
+            result = (nativeSender != null) ? sendNative(nativeSender, notification) : submit(notification);
+        }
+        return withDeadline(result, notification);
+    }
+
+    private AsyncNotificationSender nativeAsyncSender(Channel channel) {
+        try {
+            return (registry.get(channel) instanceof AsyncNotificationSender a && a.isNonBlocking()) ? a : null;
+        } catch (NotificationException e) {
+            // Canal sin sender: la ruta con executor reporta el error en el future.
+            return null;
+        }
+    }
+
+    /**
+     * Ruta asíncrona nativa: mismo pipeline que send() (validación, deadline, deduplicación, eventos, métricas)
+     * pero encadenado al CompletionStage del provider, sin hilos bloqueados.
+     */
+    private CompletableFuture<SendResult> sendNative(AsyncNotificationSender sender, Notification notification) {
+        AsyncSemaphore permits = channelPermits.get(notification.channel());
+        // Sin permiso disponible se usa la ruta con executor, que espera su turno sin ocupar un hilo.
+        if (permits != null && !permits.tryAcquire()) return submit(notification);
+        CompletableFuture<SendResult> result;
+        try {
+            validator.validate(notification);
+            if (notification.metadata().expired()) throw deadlineExceeded(notification, null);
+            result = deduplicated(notification, () -> sendValidatedAsync(sender, notification));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        if (permits != null) result.whenComplete((r, e) -> permits.release());
+        return result;
+    }
+
+    private CompletableFuture<SendResult> deduplicated(Notification notification, Supplier<CompletableFuture<SendResult>> send) {
+        Object key = idempotencyKey(notification);
+        if (key == null) return send.get();
+        CompletableFuture<SendResult> mine = new CompletableFuture<>();
+        CompletableFuture<SendResult> original = idempotency.putIfAbsent(key, mine);
+        if (original != null) return original.copy();
+        CompletableFuture<SendResult> sent = send.get();
+        sent.whenComplete((r, e) -> {
+            if (e != null || !r.success()) idempotency.remove(key, mine);
+            if (e != null) mine.completeExceptionally(unwrap(e));
+            else mine.complete(r);
+        });
+        return sent;
+    }
+
+    private CompletableFuture<SendResult> sendValidatedAsync(AsyncNotificationSender sender, Notification notification) {
+        Channel channel = notification.channel();
+        boolean events = eventsEnabled();
+        String corr = events ? correlationId(notification) : null;
+        Instant requestedAt = events ? Instant.now() : null;
+        if (events) eventBus.publish(new NotificationEvent.Requested(corr, channel, requestedAt, notification));
+
+        long start = (events || metrics != null) ? System.nanoTime() : 0;
+        CompletionStage<SendResult> stage;
+        try {
+            stage = sender.sendAsync(notification);
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<SendResult> result = new CompletableFuture<>();
+        stage.whenComplete((r, e) -> {
+            long elapsed = elapsedSince(start);
+            Throwable error = unwrap(e);
+            record(channel, sender, error == null && r.success(), elapsed);
+            if (error == null) {
+                if (events) eventBus.publish(new NotificationEvent.Sent(corr, channel, requestedAt.plusNanos(elapsed), r));
+                result.complete(r);
+            } else {
+                if (events) eventBus.publish(new NotificationEvent.Failed(corr, channel, requestedAt.plusNanos(elapsed), error));
+                result.completeExceptionally((error instanceof ValidationException || error instanceof DeadlineExceededException)
+                        ? error : sendFailed(sender, error));
+            }
+        });
+        // Cancelar (o vencer el deadline) aborta la llamada al provider.
+        CompletableFuture<SendResult> inFlight = stage.toCompletableFuture();
+        result.whenComplete((r, e) -> {
+            if (e != null) inFlight.cancel(true);
+        });
+        return result;
+    }
+
+    /**
+     * Ejecuta el envío en el executor. Si el future se cancela (o vence su deadline), se cancela la tarea:
+     * no empieza si aún estaba en cola y se interrumpe si ya estaba enviando.
+     * <p>
+     * Con maxConcurrency el permiso del canal se espera antes de pasar la tarea al executor: ningún hilo del pool
+     * queda estacionado en el tope. Cancelar mientras espera saca la tarea de la cola del permiso.
+     */
+    private CompletableFuture<SendResult> submit(Notification notification) {
+        InterruptibleTask<SendResult> task = new InterruptibleTask<>(() -> send(notification));
+        CompletableFuture<SendResult> result = task.result();
+        AsyncSemaphore permits = channelPermits.get(notification.channel());
+        if (permits == null) {
+            execute(task);
+            return result;
+        }
+        CompletableFuture<Void> permit = permits.acquire();
+        // Si abandon falla, el permiso ya se otorgó y lo libera la continuación de abajo.
+        result.whenComplete((r, e) -> permits.abandon(permit));
+        permit.thenRun(() -> {
+            result.whenComplete((r, e) -> permits.release());
+            execute(task);
+        });
+        return result;
+    }
+
+    private void execute(InterruptibleTask<SendResult> task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.result().completeExceptionally(closed
+                    ? new NotificationException("NotificationClient is closed")
+                    : new SendFailedException("Send rejected by executor", e));
+        }
     }
 
-    private void publish(NotificationEvent event) {
-        if (eventBus != null) eventBus.publish(event);
+    private static CompletableFuture<SendResult> withDeadline(CompletableFuture<SendResult> result, Notification notification) {
+        Duration remaining = notification.metadata().remaining();
+        if (remaining == null || result.isDone()) return result;
+        ScheduledFuture<?> timer = DeadlineTimer.INSTANCE.schedule(
+                () -> result.completeExceptionally(deadlineExceeded(notification, null)),
+                Math.max(0, remaining.toNanos()), TimeUnit.NANOSECONDS);
+        // Al completar antes del deadline se cancela el timer; removeOnCancel lo saca de la cola de inmediato.
+        result.whenComplete((r, e) -> timer.cancel(false));
+        return result;
+    }
+
+    /**
+     * Timer compartido (hilo daemon, creado al primer uso) para los deadlines de sendAsync.
+     */
+    private static final class DeadlineTimer {
+        static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "notifications-deadline-timer");
+                t.setDaemon(true);
+                return t;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+
+    /**
+     * Modo outbox: valida, persiste la notificación en el log local y retorna cuando ya es durable.
+     * La entrega la hacen los workers del outbox; el future completa con su resultado.
+     * Si el proceso muere antes de entregar, la notificación se re-entrega al reconstruir el cliente.
+     */
+    public CompletableFuture<SendResult> enqueue(Notification notification) {
+        Objects.requireNonNull(notification);
+        if (outbox == null) throw new NotificationException("Outbox not configured (use Builder.outbox(...))");
+        validator.validate(notification);
+        return outbox.submit(notification);
+    }
+
+    /**
+     * Envíos esperando en la cola del dispatcher para la prioridad y canal (0 sin dispatcher).
+     */
+    public int queueDepth(Priority priority, Channel channel) {
+        return (dispatcher != null) ? dispatcher.queueDepth(priority, channel) : 0;
+    }
+
+    /**
+     * Envíos esperando en cada carril del dispatch particionado (arreglo vacío sin partitioned(...)).
+     */
+    public int[] laneDepths() {
+        if (partitions == null) return new int[0];
+        int[] depths = new int[partitions.lanes()];
+        for (int i = 0; i < depths.length; i++) depths[i] = partitions.laneDepth(i);
+        return depths;
+    }
+
+    /**
+     * Detiene el dispatcher (entregando lo ya encolado) y el outbox (si están configurados).
+     * Lo pendiente del outbox queda en el log para la próxima ejecución.
+     * Con virtualThreads() también apaga el executor propio, esperando los envíos en curso.
+     * Un executor pasado con executor(...) es del caller y no se apaga.
+     * Después, sendAsync retorna un future fallido con NotificationException en lugar de lanzar.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (dispatcher != null) dispatcher.close();
+        if (partitions != null) partitions.close();
+        if (outbox != null) outbox.close();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            try {
+                ownedExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Envía un lote de notificaciones.
+     * <p>
+     * - Valida todo el lote antes de enviar; los items inválidos no detienen al resto.
+     * - Agrupa por canal y resuelve el sender una sola vez por grupo.
+     * - Si el sender implementa BatchNotificationSender, entrega el grupo completo en una llamada;
+     * si no, envía item por item.
+     * <p>
+     * Nunca lanza por fallas individuales: retorna un SendResult por item, en el mismo orden de entrada.
+     */
+    public List<SendResult> sendBatch(Collection<Notification> notifications) {
+        Objects.requireNonNull(notifications);
+        List<Notification> items = List.copyOf(notifications);
+        SendResult[] results = new SendResult[items.size()];
+
+        // 1) Validación en bloque + agrupación por canal (índices para preservar el orden original).
+        List<ValidationException> invalid = validator.validateAll(items);
+        Map<Channel, List<Integer>> groups = new EnumMap<>(Channel.class);
+        for (int i = 0; i < items.size(); i++) {
+            ValidationException e = invalid.get(i);
+            if (e != null) {
+                results[i] = failure(null, SendResult.ErrorCode.VALIDATION_ERROR, e);
+                continue;
+            }
+            groups.computeIfAbsent(items.get(i).channel(), c -> new ArrayList<>()).add(i);
+        }
+
+        // 2) Envío por grupo.
+        for (var group : groups.entrySet()) {
+            sendGroup(group.getKey(), group.getValue(), items, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    public CompletableFuture<List<SendResult>> sendBatchAsync(Collection<Notification> notifications) {
+        return CompletableFuture.supplyAsync(() -> sendBatch(notifications), executor);
+    }
+
+    private void sendGroup(Channel channel, List<Integer> indices, List<Notification> items, SendResult[] results) {
+        NotificationSender sender;
+        try {
+            sender = registry.get(channel);
+        } catch (NotificationException e) {
+            for (int i : indices) results[i] = failure(null, SendResult.ErrorCode.PROVIDER_ERROR, e);
+            return;
+        }
+
+        boolean events = eventsEnabled();
+        List<Notification> group = new ArrayList<>(indices.size());
+        String[] corrs = events ? new String[indices.size()] : null;
+        Instant requestedAt = events ? Instant.now() : null;
+        long groupStart = System.nanoTime();
+        for (int k = 0; k < indices.size(); k++) {
+            Notification n = items.get(indices.get(k));
+            group.add(n);
+            if (events) {
+                corrs[k] = correlationId(n);
+                eventBus.publish(new NotificationEvent.Requested(corrs[k], channel, requestedAt, n));
+            }
+        }
+
+        List<SendResult> groupResults;
+        if (sender instanceof BatchNotificationSender batch) {
+            long start = (metrics != null) ? System.nanoTime() : 0;
+            groupResults = sendWholeGroup(batch, group);
+            // Cada item del lote experimentó la latencia de la llamada bulk completa.
+            long elapsed = elapsedSince(start);
+            for (SendResult r : groupResults) record(channel, sender, r.success(), elapsed);
+        } else {
+            groupResults = sendOneByOne(sender, group);
+        }
+
+        Instant doneAt = events ? requestedAt.plusNanos(System.nanoTime() - groupStart) : null;
+        for (int k = 0; k < indices.size(); k++) {
+            SendResult r = groupResults.get(k);
+            results[indices.get(k)] = r;
+            if (events) {
+                NotificationEvent event = r.success()
+                        ? new NotificationEvent.Sent(corrs[k], channel, doneAt, r)
+                        : new NotificationEvent.Failed(corrs[k], channel, doneAt, errorOf(r));
+                eventBus.publish(event);
+            }
+        }
+    }
+
+    private static List<SendResult> sendWholeGroup(BatchNotificationSender sender, List<Notification> group) {
+        try {
+            List<SendResult> results = sender.sendBatch(group);
+            if (results == null || results.size() != group.size()) {
+                throw new SendFailedException("Batch result size mismatch via provider=" + sender.providerName(), null);
+            }
+            return results;
+        } catch (ValidationException e) {
+            return repeat(failure(sender.providerName(), SendResult.ErrorCode.VALIDATION_ERROR, e), group.size());
+        } catch (Exception e) {
+            return repeat(failure(sender.providerName(), SendResult.ErrorCode.PROVIDER_ERROR, e), group.size());
+        }
+    }
+
+    private List<SendResult> sendOneByOne(NotificationSender sender, List<Notification> group) {
+        List<SendResult> results = new ArrayList<>(group.size());
+        for (Notification n : group) {
+            long start = (metrics != null) ? System.nanoTime() : 0;
+            SendResult r;
+            try {
+                r = sender.send(n);
+            } catch (ValidationException e) {
+                r = failure(sender.providerName(), SendResult.ErrorCode.VALIDATION_ERROR, e);
+            } catch (Exception e) {
+                r = failure(sender.providerName(), SendResult.ErrorCode.PROVIDER_ERROR, e);
+            }
+            record(n.channel(), sender, r.success(), elapsedSince(start));
+            results.add(r);
+        }
+        return results;
+    }
+
+    private static SendResult failure(String provider, SendResult.ErrorCode code, Throwable e) {
+        return SendResult.fail(provider, new SendResult.ErrorInfo(code, e.getMessage(), e));
+    }
+
+    private static List<SendResult> repeat(SendResult result, int times) {
+        return new ArrayList<>(Collections.nCopies(times, result));
+    }
+
+    private static Throwable errorOf(SendResult r) {
+        if (r.error() == null) return new SendFailedException("Send failed via provider=" + r.providerName(), null);
+        return (r.error().cause() != null) ? r.error().cause() : new SendFailedException(r.error().message(), null);
+    }
+
+    private static DeadlineExceededException deadlineExceeded(Notification notification, Throwable cause) {
+        return new DeadlineExceededException("Deadline " + notification.metadata().deadline() + " exceeded for "
+                + notification.channel() + " notification", cause);
+    }
+
+    private Object idempotencyKey(Notification notification) {
+        return (idempotency != null) ? idempotency.keys().keyOf(notification) : null;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) e = e.getCause();
+        return e;
+    }
+
+    private static SendResult awaitOriginal(CompletableFuture<SendResult> original) {
+        try {
+            return original.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new SendFailedException("Original send failed", e.getCause());
+        }
+    }
+
+    private String correlationId(Notification notification) {
+        String corr = notification.metadata().correlationId();
+        return (corr == null || corr.isBlank()) ? correlationIds.next() : corr;
+    }
+
+    private boolean eventsEnabled() {
+        return eventBus != null && eventBus.hasSubscribers();
+    }
+
+    private static long elapsedSince(long startNanos) {
+        return (startNanos == 0) ? 0 : System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Un canal con varios providers ya falla nombrando al provider que falló; no se envuelve con el nombre compuesto.
+     */
+    private static SendFailedException sendFailed(NotificationSender sender, Throwable error) {
+        if (error instanceof SendFailedException e && SenderRegistry.isRouted(sender)) return e;
+        return new SendFailedException("Send failed via provider=" + sender.providerName(), error);
+    }
+
+    private void record(Channel channel, NotificationSender sender, boolean success, long elapsedNanos) {
+        // Un canal con varios providers registra cada intento por provider (ver SenderRegistry.metrics).
+        if (metrics == null || SenderRegistry.isRouted(sender)) return;
+        metrics.record(channel, sender.providerName(),
+                success ? SendMetrics.Outcome.SUCCESS : SendMetrics.Outcome.FAILURE, elapsedNanos);
     }
 
     public static Builder builder() {
@@ -91,12 +579,36 @@ public final class NotificationClient {
         private NotificationValidator validator;
         private Executor executor;
         private EventBus eventBus;
+        private boolean virtualThreads;
+        private SendMetrics metrics;
+        private CorrelationIdGenerator correlationIds;
+        private OutboxConfig outboxConfig;
+        private IdempotencyCache idempotency;
+        private DispatchConfig dispatchConfig;
+        private PartitionConfig partitionConfig;
+        private final Map<Channel, Integer> maxConcurrency = new EnumMap<>(Channel.class);
 
+        /**
+         * Registra el sender de su canal; re-registrar un canal reemplaza su sender.
+         */
         public Builder register(NotificationSender sender) {
             registry.register(sender);
             return this;
         }
 
+        /**
+         * Agrega un provider con peso junto a los del canal; varios providers del mismo canal se balancean con failover (ver SenderRegistry).
+         */
+        public Builder register(NotificationSender sender, int weight) {
+            registry.register(sender, weight);
+            return this;
+        }
+
+        public Builder routing(Channel channel, Routing routing) {
+            registry.routing(channel, routing);
+            return this;
+        }
+
         public Builder validator(NotificationValidator validator) {
             this.validator = validator;
             return this;
@@ -112,10 +624,100 @@ public final class NotificationClient {
             return this;
         }
 
+        /**
+         * Habilita enqueue(): outbox durable en disco local con replay de pendientes al construir el cliente.
+         */
+        public Builder outbox(OutboxConfig outboxConfig) {
+            this.outboxConfig = outboxConfig;
+            return this;
+        }
+
+        /**
+         * sendAsync encola en colas acotadas por prioridad (Notification.Metadata.priority) y canal, atendidas
+         * por un pool fijo de workers con weighted round-robin. Reemplaza a executor/virtualThreads para sendAsync.
+         */
+        public Builder dispatcher(DispatchConfig dispatchConfig) {
+            this.dispatchConfig = dispatchConfig;
+            return this;
+        }
+
+        /**
+         * sendAsync encola en carriles elegidos por hash del destinatario, cada uno con un único hilo: los envíos
+         * a un mismo destinatario salen en orden FIFO. Reemplaza a executor/virtualThreads para sendAsync y es
+         * excluyente con dispatcher(...).
+         */
+        public Builder partitioned(PartitionConfig partitionConfig) {
+            this.partitionConfig = partitionConfig;
+            return this;
+        }
+
+        /**
+         * Deduplica send/sendAsync/enqueue por la llave de la cache (por defecto correlationId o contenido).
+         * sendBatch no deduplica.
+         */
+        public Builder idempotency(IdempotencyCache idempotency) {
+            this.idempotency = idempotency;
+            return this;
+        }
+
+        /**
+         * Generador de correlation ids para notificaciones sin uno propio (por defecto, monotonic()).
+         */
+        public Builder correlationIds(CorrelationIdGenerator correlationIds) {
+            this.correlationIds = correlationIds;
+            return this;
+        }
+
+        /**
+         * Registra latencia y resultado de cada llamada al provider (por canal/provider/resultado).
+         */
+        public Builder metrics(SendMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Ejecuta sendAsync en un virtual thread por envío en lugar del commonPool.
+         * Los providers hacen I/O bloqueante, así que miles de envíos en vuelo no requieren miles de hilos de plataforma.
+         * Es excluyente con executor(...).
+         */
+        public Builder virtualThreads() {
+            this.virtualThreads = true;
+            return this;
+        }
+
+        /**
+         * Limita los envíos asíncronos en vuelo para un canal (por ejemplo, para no saturar al provider SMS).
+         * Aplica también a los envíos que pasan por dispatcher(...) o partitioned(...). La espera del permiso no
+         * ocupa hilos del executor.
+         */
+        public Builder maxConcurrency(Channel channel, int maxInFlight) {
+            Objects.requireNonNull(channel);
+            if (maxInFlight < 1) throw new NotificationException("maxInFlight must be >= 1 for channel: " + channel);
+            maxConcurrency.put(channel, maxInFlight);
+            return this;
+        }
+
         public NotificationClient build() {
             NotificationValidator v = (validator != null) ? validator : new com.seek.notifications.validation.DefaultValidator();
-            Executor ex = (executor != null) ? executor : ForkJoinPool.commonPool();
-            return new NotificationClient(registry, v, ex, eventBus);
+            if (virtualThreads && executor != null) {
+                throw new NotificationException("executor(...) and virtualThreads() are mutually exclusive");
+            }
+            if (dispatchConfig != null && partitionConfig != null) {
+                throw new NotificationException("dispatcher(...) and partitioned(...) are mutually exclusive");
+            }
+            ExecutorService owned = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : null;
+            Executor ex = (owned != null) ? owned : (executor != null) ? executor : ForkJoinPool.commonPool();
+            Map<Channel, AsyncSemaphore> permits = new EnumMap<>(Channel.class);
+            maxConcurrency.forEach((channel, max) -> permits.put(channel, new AsyncSemaphore(max)));
+            CorrelationIdGenerator ids = (correlationIds != null) ? correlationIds : CorrelationIdGenerator.monotonic();
+            registry.metrics(metrics);
+            NotificationClient client = new NotificationClient(registry, v, ex, owned, eventBus, permits, metrics, ids, outboxConfig, idempotency, dispatchConfig,
+                    partitionConfig);
+            if (client.outbox != null) client.outbox.start();
+            if (client.dispatcher != null) client.dispatcher.start();
+            if (client.partitions != null) client.partitions.start();
+            return client;
         }
     }
 }
\ No newline at end of file
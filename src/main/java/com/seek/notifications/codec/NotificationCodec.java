@@ -0,0 +1,507 @@
+package com.seek.notifications.codec;
+
+import com.seek.notifications.circuitbreaker.CircuitState;
+import com.seek.notifications.events.NotificationEvent;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.*;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * Codec binario compacto y versionado para Notification y NotificationEvent.
+ * <p>
+ * Escribe y lee directamente sobre ByteBuffer (strings UTF-8 codificados en el buffer, sin byte[] ni objetos
+ * intermedios al escribir; al leer solo se crean los strings y los records resultantes).
+ * <p>
+ * Formato: [magic][versión] seguido de campos (número, tipo, valor) y un tag 0 de cierre.
+ * <p>
+ * Evolución del esquema:
+ * - Agregar un campo = usar un número nuevo; los lectores anteriores lo saltan.
+ * - Un campo ausente se lee como null / valor por defecto, así los lectores nuevos leen datos antiguos.
+ * - Los números de campo nunca se reutilizan ni cambian de tipo.
+ * - La versión es major.minor en nibbles: un cambio de minor es compatible; un major distinto se rechaza.
+ * <p>
+ * Los canales, tipos de destinatario/mensaje y estados se codifican con códigos explícitos, no con ordinal(),
+ * para que reordenar un enum no cambie el formato.
+ */
+public final class NotificationCodec {
+
+    public static final byte VERSION = 0x10;
+
+    private static final byte NOTIFICATION_MAGIC = 'N';
+    private static final byte EVENT_MAGIC = 'E';
+
+    // Campos de Notification
+    private static final int N_CHANNEL = 1;
+    private static final int N_RECIPIENT_KIND = 2;
+    private static final int N_RECIPIENT = 3;
+    private static final int N_MESSAGE_KIND = 4;
+    private static final int N_MESSAGE_A = 5;
+    private static final int N_MESSAGE_B = 6;
+    private static final int N_CORRELATION_ID = 7;
+    private static final int N_CREATED_SECONDS = 8;
+    private static final int N_CREATED_NANOS = 9;
+    private static final int N_PRIORITY = 10;
+    private static final int N_DEADLINE_SECONDS = 11;
+    private static final int N_DEADLINE_NANOS = 12;
+    private static final int N_SEND_AT_SECONDS = 13;
+    private static final int N_SEND_AT_NANOS = 14;
+
+    // Campos de NotificationEvent
+    private static final int E_TYPE = 1;
+    private static final int E_CORRELATION_ID = 2;
+    private static final int E_CHANNEL = 3;
+    private static final int E_AT_SECONDS = 4;
+    private static final int E_AT_NANOS = 5;
+    private static final int E_NOTIFICATION = 10;
+    private static final int E_RESULT = 11;
+    private static final int E_ERROR_TYPE = 12;
+    private static final int E_ERROR_MESSAGE = 13;
+    private static final int E_PROVIDER = 14;
+    private static final int E_FROM_STATE = 15;
+    private static final int E_TO_STATE = 16;
+
+    // Campos de SendResult (anidado en E_RESULT)
+    private static final int R_SUCCESS = 1;
+    private static final int R_PROVIDER = 2;
+    private static final int R_MESSAGE_ID = 3;
+    private static final int R_ERROR_CODE = 4;
+    private static final int R_ERROR_MESSAGE = 5;
+    private static final int R_SECONDS = 6;
+    private static final int R_NANOS = 7;
+
+    private static final int EVENT_REQUESTED = 1;
+    private static final int EVENT_SENT = 2;
+    private static final int EVENT_FAILED = 3;
+    private static final int EVENT_CIRCUIT = 4;
+
+    private NotificationCodec() {
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Notification
+
+    public static void write(Notification n, ByteBuffer out) {
+        out.put(NOTIFICATION_MAGIC);
+        out.put(VERSION);
+        writeNotificationFields(n, out);
+        out.put((byte) Wire.END);
+    }
+
+    public static Notification readNotification(ByteBuffer in) {
+        try {
+            readHeader(in, NOTIFICATION_MAGIC);
+            return readNotificationFields(in, Integer.MAX_VALUE);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new NotificationException("Truncated notification record", e);
+        }
+    }
+
+    public static byte[] toBytes(Notification n) {
+        ByteBuffer buf = ByteBuffer.allocate(encodedSize(n));
+        write(n, buf);
+        return buf.array();
+    }
+
+    public static Notification fromBytes(byte[] bytes) {
+        return readNotification(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Tamaño exacto que ocupará {@code n} al escribirse con write().
+     */
+    public static int encodedSize(Notification n) {
+        return 2 + notificationFieldsSize(n) + 1;
+    }
+
+    private static void writeNotificationFields(Notification n, ByteBuffer out) {
+        Wire.varintField(out, N_CHANNEL, channelCode(n.channel()));
+
+        Recipient r = n.recipient();
+        Wire.varintField(out, N_RECIPIENT_KIND, recipientKind(r));
+        Wire.stringField(out, N_RECIPIENT, recipientValue(r));
+
+        Message m = n.message();
+        Wire.varintField(out, N_MESSAGE_KIND, messageKind(m));
+        if (m instanceof EmailMessage e) {
+            Wire.stringField(out, N_MESSAGE_A, e.subject());
+            Wire.stringField(out, N_MESSAGE_B, e.body());
+        } else if (m instanceof SmsMessage s) {
+            Wire.stringField(out, N_MESSAGE_A, s.text());
+        } else if (m instanceof PushMessage p) {
+            Wire.stringField(out, N_MESSAGE_A, p.title());
+            Wire.stringField(out, N_MESSAGE_B, p.body());
+        }
+
+        Notification.Metadata md = n.metadata();
+        Wire.stringField(out, N_CORRELATION_ID, md.correlationId());
+        if (md.createdAt() != null) {
+            Wire.varintField(out, N_CREATED_SECONDS, Wire.zigzag(md.createdAt().getEpochSecond()));
+            Wire.varintField(out, N_CREATED_NANOS, md.createdAt().getNano());
+        }
+        // NORMAL es el valor por defecto: no se escribe.
+        if (md.priority() != Priority.NORMAL) Wire.varintField(out, N_PRIORITY, priorityCode(md.priority()));
+        if (md.deadline() != null) {
+            Wire.varintField(out, N_DEADLINE_SECONDS, Wire.zigzag(md.deadline().getEpochSecond()));
+            Wire.varintField(out, N_DEADLINE_NANOS, md.deadline().getNano());
+        }
+        if (md.sendAt() != null) {
+            Wire.varintField(out, N_SEND_AT_SECONDS, Wire.zigzag(md.sendAt().getEpochSecond()));
+            Wire.varintField(out, N_SEND_AT_NANOS, md.sendAt().getNano());
+        }
+    }
+
+    private static Notification readNotificationFields(ByteBuffer in, int limit) {
+        Channel channel = null;
+        int recipientKind = 0;
+        int messageKind = 0;
+        String recipient = null;
+        String a = null;
+        String b = null;
+        String corr = null;
+        Long seconds = null;
+        int nanos = 0;
+        Priority priority = Priority.NORMAL;
+        Long deadlineSeconds = null;
+        int deadlineNanos = 0;
+        Long sendAtSeconds = null;
+        int sendAtNanos = 0;
+
+        while (in.position() < limit) {
+            int tag = (int) Wire.readVarint(in);
+            if (tag == Wire.END) break;
+            switch (tag >>> 3) {
+                case N_CHANNEL -> channel = channelOf((int) Wire.readVarint(in));
+                case N_RECIPIENT_KIND -> recipientKind = (int) Wire.readVarint(in);
+                case N_RECIPIENT -> recipient = Wire.readString(in);
+                case N_MESSAGE_KIND -> messageKind = (int) Wire.readVarint(in);
+                case N_MESSAGE_A -> a = Wire.readString(in);
+                case N_MESSAGE_B -> b = Wire.readString(in);
+                case N_CORRELATION_ID -> corr = Wire.readString(in);
+                case N_CREATED_SECONDS -> seconds = Wire.unzigzag(Wire.readVarint(in));
+                case N_CREATED_NANOS -> nanos = (int) Wire.readVarint(in);
+                case N_PRIORITY -> priority = priorityOf((int) Wire.readVarint(in));
+                case N_DEADLINE_SECONDS -> deadlineSeconds = Wire.unzigzag(Wire.readVarint(in));
+                case N_DEADLINE_NANOS -> deadlineNanos = (int) Wire.readVarint(in);
+                case N_SEND_AT_SECONDS -> sendAtSeconds = Wire.unzigzag(Wire.readVarint(in));
+                case N_SEND_AT_NANOS -> sendAtNanos = (int) Wire.readVarint(in);
+                default -> Wire.skip(in, tag & 0x7);
+            }
+        }
+
+        if (channel == null || recipient == null || a == null) throw new NotificationException("Incomplete notification record");
+        Recipient r = switch (recipientKind) {
+            case 1 -> new EmailRecipient(recipient);
+            case 2 -> new PhoneRecipient(recipient);
+            case 3 -> new DeviceRecipient(recipient);
+            default -> throw new NotificationException("Unknown recipient kind: " + recipientKind);
+        };
+        Message m = switch (messageKind) {
+            case 1 -> new EmailMessage(a, b != null ? b : "");
+            case 2 -> new SmsMessage(a);
+            case 3 -> new PushMessage(a, b != null ? b : "");
+            default -> throw new NotificationException("Unknown message kind: " + messageKind);
+        };
+        Instant createdAt = (seconds != null) ? Instant.ofEpochSecond(seconds, nanos) : null;
+        Instant deadline = (deadlineSeconds != null) ? Instant.ofEpochSecond(deadlineSeconds, deadlineNanos) : null;
+        Instant sendAt = (sendAtSeconds != null) ? Instant.ofEpochSecond(sendAtSeconds, sendAtNanos) : null;
+        return new Notification(channel, r, m, new Notification.Metadata(corr, createdAt, priority, deadline, sendAt));
+    }
+
+    private static int notificationFieldsSize(Notification n) {
+        int size = 2 + 2 + stringSize(recipientValue(n.recipient())) + 2;
+        Message m = n.message();
+        if (m instanceof EmailMessage e) {
+            size += stringSize(e.subject()) + stringSize(e.body());
+        } else if (m instanceof SmsMessage s) {
+            size += stringSize(s.text());
+        } else if (m instanceof PushMessage p) {
+            size += stringSize(p.title()) + stringSize(p.body());
+        }
+        Notification.Metadata md = n.metadata();
+        size += stringSize(md.correlationId());
+        if (md.createdAt() != null) {
+            size += 1 + varintSize(Wire.zigzag(md.createdAt().getEpochSecond())) + 1 + varintSize(md.createdAt().getNano());
+        }
+        if (md.priority() != Priority.NORMAL) size += 2;
+        if (md.deadline() != null) {
+            size += 1 + varintSize(Wire.zigzag(md.deadline().getEpochSecond())) + 1 + varintSize(md.deadline().getNano());
+        }
+        if (md.sendAt() != null) {
+            size += 1 + varintSize(Wire.zigzag(md.sendAt().getEpochSecond())) + 1 + varintSize(md.sendAt().getNano());
+        }
+        return size;
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // NotificationEvent
+
+    public static void write(NotificationEvent event, ByteBuffer out) {
+        out.put(EVENT_MAGIC);
+        out.put(VERSION);
+        Wire.varintField(out, E_TYPE, eventType(event));
+        Wire.stringField(out, E_CORRELATION_ID, event.correlationId());
+        Wire.varintField(out, E_CHANNEL, channelCode(event.channel()));
+        writeInstant(out, E_AT_SECONDS, E_AT_NANOS, event.at());
+
+        if (event instanceof NotificationEvent.Requested r) {
+            int at = Wire.beginNested(out, E_NOTIFICATION);
+            writeNotificationFields(r.notification(), out);
+            Wire.endNested(out, at);
+        } else if (event instanceof NotificationEvent.Sent s) {
+            int at = Wire.beginNested(out, E_RESULT);
+            writeResultFields(s.result(), out);
+            Wire.endNested(out, at);
+        } else if (event instanceof NotificationEvent.Failed f) {
+            if (f.error() != null) {
+                Wire.stringField(out, E_ERROR_TYPE, errorType(f.error()));
+                Wire.stringField(out, E_ERROR_MESSAGE, f.error().getMessage());
+            }
+        } else if (event instanceof NotificationEvent.CircuitStateChanged c) {
+            Wire.stringField(out, E_PROVIDER, c.providerName());
+            Wire.varintField(out, E_FROM_STATE, stateCode(c.from()));
+            Wire.varintField(out, E_TO_STATE, stateCode(c.to()));
+        }
+        out.put((byte) Wire.END);
+    }
+
+    public static NotificationEvent readEvent(ByteBuffer in) {
+        try {
+            readHeader(in, EVENT_MAGIC);
+            return readEventFields(in);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new NotificationException("Truncated event record", e);
+        }
+    }
+
+    private static NotificationEvent readEventFields(ByteBuffer in) {
+        int type = 0;
+        String corr = null;
+        Channel channel = null;
+        Long seconds = null;
+        int nanos = 0;
+        Notification notification = null;
+        SendResult result = null;
+        String errorType = null;
+        String errorMessage = null;
+        String provider = null;
+        CircuitState from = null;
+        CircuitState to = null;
+
+        while (true) {
+            int tag = (int) Wire.readVarint(in);
+            if (tag == Wire.END) break;
+            switch (tag >>> 3) {
+                case E_TYPE -> type = (int) Wire.readVarint(in);
+                case E_CORRELATION_ID -> corr = Wire.readString(in);
+                case E_CHANNEL -> channel = channelOf((int) Wire.readVarint(in));
+                case E_AT_SECONDS -> seconds = Wire.unzigzag(Wire.readVarint(in));
+                case E_AT_NANOS -> nanos = (int) Wire.readVarint(in);
+                case E_NOTIFICATION -> {
+                    int len = Wire.length(in);
+                    int end = in.position() + len;
+                    notification = readNotificationFields(in, end);
+                    in.position(end);
+                }
+                case E_RESULT -> {
+                    int len = Wire.length(in);
+                    int end = in.position() + len;
+                    result = readResultFields(in, end);
+                    in.position(end);
+                }
+                case E_ERROR_TYPE -> errorType = Wire.readString(in);
+                case E_ERROR_MESSAGE -> errorMessage = Wire.readString(in);
+                case E_PROVIDER -> provider = Wire.readString(in);
+                case E_FROM_STATE -> from = stateOf((int) Wire.readVarint(in));
+                case E_TO_STATE -> to = stateOf((int) Wire.readVarint(in));
+                default -> Wire.skip(in, tag & 0x7);
+            }
+        }
+
+        Instant at = (seconds != null) ? Instant.ofEpochSecond(seconds, nanos) : null;
+        return switch (type) {
+            case EVENT_REQUESTED -> new NotificationEvent.Requested(corr, channel, at, notification);
+            case EVENT_SENT -> new NotificationEvent.Sent(corr, channel, at, result);
+            case EVENT_FAILED -> new NotificationEvent.Failed(corr, channel, at,
+                    (errorType != null) ? new RemoteError(errorType, errorMessage) : null);
+            case EVENT_CIRCUIT -> new NotificationEvent.CircuitStateChanged(corr, channel, at, provider, from, to);
+            default -> throw new NotificationException("Unknown event type: " + type);
+        };
+    }
+
+    private static void writeResultFields(SendResult r, ByteBuffer out) {
+        Wire.varintField(out, R_SUCCESS, r.success() ? 1 : 0);
+        Wire.stringField(out, R_PROVIDER, r.providerName());
+        Wire.stringField(out, R_MESSAGE_ID, r.providerMessageId());
+        if (r.error() != null) {
+            Wire.varintField(out, R_ERROR_CODE, errorCode(r.error().code()));
+            Wire.stringField(out, R_ERROR_MESSAGE, r.error().message());
+        }
+        writeInstant(out, R_SECONDS, R_NANOS, r.timestamp());
+    }
+
+    private static SendResult readResultFields(ByteBuffer in, int limit) {
+        boolean success = false;
+        String provider = null;
+        String messageId = null;
+        int errorCode = 0;
+        String errorMessage = null;
+        Long seconds = null;
+        int nanos = 0;
+
+        while (in.position() < limit) {
+            int tag = (int) Wire.readVarint(in);
+            switch (tag >>> 3) {
+                case R_SUCCESS -> success = Wire.readVarint(in) == 1;
+                case R_PROVIDER -> provider = Wire.readString(in);
+                case R_MESSAGE_ID -> messageId = Wire.readString(in);
+                case R_ERROR_CODE -> errorCode = (int) Wire.readVarint(in);
+                case R_ERROR_MESSAGE -> errorMessage = Wire.readString(in);
+                case R_SECONDS -> seconds = Wire.unzigzag(Wire.readVarint(in));
+                case R_NANOS -> nanos = (int) Wire.readVarint(in);
+                default -> Wire.skip(in, tag & 0x7);
+            }
+        }
+
+        SendResult.ErrorInfo error = null;
+        if (errorCode > 0) error = new SendResult.ErrorInfo(errorCodeOf(errorCode), errorMessage, null);
+        Instant ts = (seconds != null) ? Instant.ofEpochSecond(seconds, nanos) : null;
+        return new SendResult(success, provider, messageId, error, ts);
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Helpers
+
+    private static void readHeader(ByteBuffer in, byte magic) {
+        byte m = in.get();
+        if (m != magic) throw new NotificationException("Unexpected record type: " + m);
+        byte version = in.get();
+        if ((version & 0xF0) != (VERSION & 0xF0)) {
+            throw new NotificationException("Unsupported codec version: 0x" + Integer.toHexString(version & 0xFF));
+        }
+    }
+
+    private static void writeInstant(ByteBuffer out, int secondsField, int nanosField, Instant at) {
+        if (at == null) return;
+        Wire.varintField(out, secondsField, Wire.zigzag(at.getEpochSecond()));
+        Wire.varintField(out, nanosField, at.getNano());
+    }
+
+    private static int stringSize(String s) {
+        if (s == null) return 0;
+        int len = Wire.utf8Length(s);
+        return 1 + varintSize(len) + len;
+    }
+
+    private static int varintSize(long v) {
+        int size = 1;
+        while ((v & ~0x7FL) != 0) {
+            size++;
+            v >>>= 7;
+        }
+        return size;
+    }
+
+    private static String errorType(Throwable t) {
+        return (t instanceof RemoteError re) ? re.originalType() : t.getClass().getName();
+    }
+
+    private static int channelCode(Channel c) {
+        return switch (c) {
+            case EMAIL -> 1;
+            case SMS -> 2;
+            case PUSH -> 3;
+        };
+    }
+
+    private static Channel channelOf(int code) {
+        return switch (code) {
+            case 1 -> Channel.EMAIL;
+            case 2 -> Channel.SMS;
+            case 3 -> Channel.PUSH;
+            default -> throw new NotificationException("Unknown channel code: " + code);
+        };
+    }
+
+    private static int priorityCode(Priority p) {
+        return switch (p) {
+            case HIGH -> 1;
+            case NORMAL -> 2;
+            case LOW -> 3;
+        };
+    }
+
+    /**
+     * Códigos desconocidos (de una versión más nueva) se leen como NORMAL.
+     */
+    private static Priority priorityOf(int code) {
+        return switch (code) {
+            case 1 -> Priority.HIGH;
+            case 3 -> Priority.LOW;
+            default -> Priority.NORMAL;
+        };
+    }
+
+    private static int recipientKind(Recipient r) {
+        if (r instanceof EmailRecipient) return 1;
+        if (r instanceof PhoneRecipient) return 2;
+        return 3;
+    }
+
+    private static String recipientValue(Recipient r) {
+        if (r instanceof EmailRecipient e) return e.email();
+        if (r instanceof PhoneRecipient p) return p.e164Phone();
+        return ((DeviceRecipient) r).deviceToken();
+    }
+
+    private static int messageKind(Message m) {
+        if (m instanceof EmailMessage) return 1;
+        if (m instanceof SmsMessage) return 2;
+        return 3;
+    }
+
+    private static int eventType(NotificationEvent e) {
+        if (e instanceof NotificationEvent.Requested) return EVENT_REQUESTED;
+        if (e instanceof NotificationEvent.Sent) return EVENT_SENT;
+        if (e instanceof NotificationEvent.Failed) return EVENT_FAILED;
+        return EVENT_CIRCUIT;
+    }
+
+    private static int errorCode(SendResult.ErrorCode c) {
+        return switch (c) {
+            case VALIDATION_ERROR -> 1;
+            case PROVIDER_ERROR -> 2;
+            case TRANSIENT_ERROR -> 3;
+        };
+    }
+
+    /**
+     * Códigos desconocidos (de una versión más nueva) se leen como PROVIDER_ERROR.
+     */
+    private static SendResult.ErrorCode errorCodeOf(int code) {
+        return switch (code) {
+            case 1 -> SendResult.ErrorCode.VALIDATION_ERROR;
+            case 3 -> SendResult.ErrorCode.TRANSIENT_ERROR;
+            default -> SendResult.ErrorCode.PROVIDER_ERROR;
+        };
+    }
+
+    private static int stateCode(CircuitState s) {
+        return switch (s) {
+            case CLOSED -> 1;
+            case OPEN -> 2;
+            case HALF_OPEN -> 3;
+        };
+    }
+
+    private static CircuitState stateOf(int code) {
+        return switch (code) {
+            case 1 -> CircuitState.CLOSED;
+            case 2 -> CircuitState.OPEN;
+            case 3 -> CircuitState.HALF_OPEN;
+            default -> throw new NotificationException("Unknown circuit state code: " + code);
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.seek.notifications.codec;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+/**
+ * Error reconstruido al decodificar un NotificationEvent.Failed: solo viajan el tipo original y el mensaje
+ * (no el stack trace ni la causa).
+ */
+public class RemoteError extends NotificationException {
+    private final String originalType;
+
+    public RemoteError(String originalType, String msg) {
+        super(msg);
+        this.originalType = originalType;
+    }
+
+    public String originalType() {
+        return originalType;
+    }
+}
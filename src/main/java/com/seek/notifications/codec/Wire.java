@@ -0,0 +1,170 @@
+package com.seek.notifications.codec;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Primitivas del formato binario: varints, zigzag y strings UTF-8 con largo.
+ * <p>
+ * Cada campo se escribe como tag = (número << 3) | tipo, con tipo VARINT o LEN. Un lector que no conoce
+ * un número de campo lo salta según su tipo: así se pueden agregar campos sin romper lectores anteriores.
+ * El tag 0 cierra el registro.
+ */
+final class Wire {
+
+    static final int VARINT = 0;
+    static final int LEN = 2;
+    static final int END = 0;
+
+    /**
+     * Largo fijo usado al reservar el largo de un registro anidado (varint de 5 bytes con relleno).
+     */
+    static final int NESTED_LENGTH_BYTES = 5;
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private Wire() {
+    }
+
+    static void tag(ByteBuffer buf, int field, int type) {
+        varint(buf, ((long) field << 3) | type);
+    }
+
+    static void varint(ByteBuffer buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    static long readVarint(ByteBuffer buf) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new NotificationException("Malformed varint");
+    }
+
+    static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    static void varintField(ByteBuffer buf, int field, long value) {
+        tag(buf, field, VARINT);
+        varint(buf, value);
+    }
+
+    /**
+     * Escribe un string como campo LEN codificando UTF-8 directo en el buffer (sin byte[] intermedio).
+     * Strings null no se escriben: la ausencia del campo significa null.
+     */
+    static void stringField(ByteBuffer buf, int field, String s) {
+        if (s == null) return;
+        tag(buf, field, LEN);
+        varint(buf, utf8Length(s));
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buf.put((byte) c);
+            } else if (c < 0x800) {
+                buf.put((byte) (0xC0 | (c >> 6)));
+                buf.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf.put((byte) (0xF0 | (cp >> 18)));
+                buf.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buf.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buf.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buf.put((byte) '?'); // surrogate huérfano: mismo reemplazo que String.getBytes(UTF_8)
+            } else {
+                buf.put((byte) (0xE0 | (c >> 12)));
+                buf.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buf.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    static int utf8Length(String s) {
+        int len = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                len += 1;
+            } else if (c < 0x800) {
+                len += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                len += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                len += 1;
+            } else {
+                len += 3;
+            }
+        }
+        return len;
+    }
+
+    static String readString(ByteBuffer buf) {
+        int len = length(buf);
+        String s;
+        if (buf.hasArray()) {
+            s = new String(buf.array(), buf.arrayOffset() + buf.position(), len, StandardCharsets.UTF_8);
+            buf.position(buf.position() + len);
+        } else {
+            byte[] scratch = SCRATCH.get();
+            if (scratch.length < len) {
+                scratch = new byte[Math.max(len, scratch.length * 2)];
+                SCRATCH.set(scratch);
+            }
+            buf.get(scratch, 0, len);
+            s = new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+        return s;
+    }
+
+    static int length(ByteBuffer buf) {
+        long len = readVarint(buf);
+        if (len < 0 || len > buf.remaining()) throw new NotificationException("Malformed length: " + len);
+        return (int) len;
+    }
+
+    /**
+     * Reserva el largo de un registro anidado; completar con endNested().
+     */
+    static int beginNested(ByteBuffer buf, int field) {
+        tag(buf, field, LEN);
+        int at = buf.position();
+        buf.position(at + NESTED_LENGTH_BYTES);
+        return at;
+    }
+
+    static void endNested(ByteBuffer buf, int at) {
+        int len = buf.position() - at - NESTED_LENGTH_BYTES;
+        for (int i = 0; i < NESTED_LENGTH_BYTES - 1; i++) {
+            buf.put(at + i, (byte) ((len & 0x7F) | 0x80));
+            len >>>= 7;
+        }
+        buf.put(at + NESTED_LENGTH_BYTES - 1, (byte) len);
+    }
+
+    static void skip(ByteBuffer buf, int type) {
+        switch (type) {
+            case VARINT -> readVarint(buf);
+            case LEN -> {
+                int len = length(buf);
+                buf.position(buf.position() + len);
+            }
+            default -> throw new NotificationException("Unknown wire type: " + type);
+        }
+    }
+}
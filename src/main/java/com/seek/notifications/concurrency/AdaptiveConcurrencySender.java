@@ -0,0 +1,387 @@
+package com.seek.notifications.concurrency;
+
+import com.seek.notifications.exceptions.DeadlineExceededException;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.metrics.MetricsSnapshot;
+import com.seek.notifications.metrics.SendMetrics;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+import com.seek.notifications.spi.AsyncNotificationSender;
+import com.seek.notifications.spi.NotificationSender;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorator de límite de concurrencia adaptativo por provider.
+ * <p>
+ * En lugar de un tamaño de executor fijo, el límite de envíos simultáneos se ajusta con cada respuesta
+ * (LimitAlgorithm: AIMD o gradiente de latencia): sube mientras el provider responde rápido y baja cuando la
+ * latencia crece o aparecen TRANSIENT_ERROR / excepciones.
+ * <p>
+ * - Sobre el límite, el envío espera en una cola FIFO acotada (maxQueued) hasta maxWait; si no hay lugar o vence
+ * la espera, se rechaza con un SendResult TRANSIENT_ERROR sin llamar al provider.
+ * - ValidationException no cuenta como sobrecarga; una llamada cancelada, interrumpida o con el deadline vencido
+ * libera su permiso sin ajustar el límite.
+ * - Con un delegate AsyncNotificationSender no bloqueante, sendAsync() espera su permiso sin ocupar hilos.
+ * - limit(), inFlight(), queued() y shedCount() se exponen también como gauge en SendMetrics (Builder.metrics).
+ * <p>
+ * Composición sugerida: AdaptiveConcurrencySender(RetryingSender(provider)) deja los reintentos dentro del permiso;
+ * registrado en SenderRegistry junto a otro provider, un rechazo dispara el failover.
+ */
+public final class AdaptiveConcurrencySender implements AsyncNotificationSender {
+
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private final NotificationSender delegate;
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private final LongAdder shed = new LongAdder();
+    private double limit;
+    private int inFlight;
+
+    private AdaptiveConcurrencySender(Builder b) {
+        this.delegate = b.delegate;
+        this.algorithm = b.algorithm;
+        this.minLimit = b.minLimit;
+        this.maxLimit = b.maxLimit;
+        this.maxQueued = b.maxQueued;
+        this.maxWaitNanos = b.maxWait.toNanos();
+        this.limit = b.initialLimit;
+        if (b.metrics != null) {
+            b.metrics.registerConcurrency(() -> new MetricsSnapshot.Concurrency(channel(), providerName(), limit(),
+                    inFlight(), queued(), shedCount()));
+        }
+    }
+
+    @Override
+    public Channel channel() {
+        return delegate.channel();
+    }
+
+    @Override
+    public String providerName() {
+        return delegate.providerName();
+    }
+
+    @Override
+    public SendResult send(Notification notification) {
+        CompletableFuture<Void> permit = acquire();
+        if (permit == null) return rejected();
+        if (!permit.isDone()) {
+            try {
+                permit.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (abandon(permit)) {
+                    shed.increment();
+                    return rejected();
+                }
+                // el permiso llegó justo al vencer la espera: es nuestro
+            } catch (InterruptedException e) {
+                if (!abandon(permit)) release();
+                Thread.currentThread().interrupt();
+                throw new SendFailedException("Interrupted waiting for concurrency permit", e);
+            } catch (ExecutionException e) {
+                // no ocurre: los permisos solo se completan con éxito
+                throw new IllegalStateException(e);
+            }
+        }
+
+        long start = System.nanoTime();
+        SendResult result = null;
+        Throwable error = null;
+        try {
+            result = delegate.send(notification);
+            return result;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            if (Thread.currentThread().isInterrupted()) release();
+            else finish(System.nanoTime() - start, result, error);
+        }
+    }
+
+    @Override
+    public boolean isNonBlocking() {
+        return delegate instanceof AsyncNotificationSender a && a.isNonBlocking();
+    }
+
+    @Override
+    public CompletableFuture<SendResult> sendAsync(Notification notification) {
+        if (!isNonBlocking()) return CompletableFuture.supplyAsync(() -> send(notification));
+        CompletableFuture<Void> permit = acquire();
+        if (permit == null) return CompletableFuture.completedFuture(rejected());
+
+        CompletableFuture<SendResult> result = new CompletableFuture<>();
+        if (!permit.isDone()) {
+            CompletableFuture.delayedExecutor(maxWaitNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                if (abandon(permit)) {
+                    shed.increment();
+                    result.complete(rejected());
+                }
+            });
+            result.whenComplete((r, e) -> {
+                if (e != null) abandon(permit);
+            });
+        }
+        permit.thenRun(() -> sendWithPermit((AsyncNotificationSender) delegate, notification, result));
+        return result;
+    }
+
+    private void sendWithPermit(AsyncNotificationSender sender, Notification notification, CompletableFuture<SendResult> result) {
+        if (result.isDone()) {
+            // cancelado mientras esperaba
+            release();
+            return;
+        }
+        long start = System.nanoTime();
+        CompletionStage<SendResult> stage;
+        try {
+            stage = sender.sendAsync(notification);
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<SendResult> call = stage.toCompletableFuture();
+        result.whenComplete((r, e) -> {
+            if (e != null) call.cancel(true);
+        });
+        stage.whenComplete((r, e) -> {
+            Throwable error = unwrap(e);
+            finish(System.nanoTime() - start, r, error);
+            if (error != null) result.completeExceptionally(error);
+            else result.complete(r);
+        });
+    }
+
+    /**
+     * Límite actual de envíos simultáneos.
+     */
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Envíos rechazados sin llamar al provider (cola llena o espera vencida).
+     */
+    public long shedCount() {
+        return shed.sum();
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Permisos
+
+    /**
+     * @return GRANTED si hay permiso, un future que se completa al otorgarlo si quedó en cola, o null si se rechaza.
+     */
+    private CompletableFuture<Void> acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit && waiters.isEmpty()) {
+                inFlight++;
+                return GRANTED;
+            }
+            if (waiters.size() >= maxQueued || maxWaitNanos == 0) {
+                shed.increment();
+                return null;
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.addLast(waiter);
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saca al waiter de la cola. false si ya se le otorgó el permiso (quien llama pasa a ser su dueño).
+     */
+    private boolean abandon(CompletableFuture<Void> waiter) {
+        lock.lock();
+        try {
+            return waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        grant(false, 0, false);
+    }
+
+    /**
+     * Devuelve el permiso de una llamada al provider. Una llamada abortada (cancelada, interrumpida o con el deadline
+     * vencido) no dice nada de la carga del provider: se libera sin muestra. El resto es muestra; cuenta como
+     * sobrecarga un TRANSIENT_ERROR o una excepción que no sea ValidationException.
+     */
+    private void finish(long rttNanos, SendResult result, Throwable error) {
+        if (error != null && isAborted(error)) {
+            release();
+            return;
+        }
+        boolean dropped = (error != null) ? !(error instanceof ValidationException) : isTransient(result);
+        complete(rttNanos, dropped);
+    }
+
+    private static boolean isAborted(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof CancellationException || e instanceof InterruptedException
+                    || e instanceof DeadlineExceededException) return true;
+            if (e.getCause() == e) break;
+        }
+        return false;
+    }
+
+    private void complete(long rttNanos, boolean dropped) {
+        grant(true, rttNanos, dropped);
+    }
+
+    /**
+     * Devuelve un permiso (ajustando el límite si hubo llamada al provider) y lo pasa a los primeros de la cola.
+     */
+    private void grant(boolean sample, long rttNanos, boolean dropped) {
+        List<CompletableFuture<Void>> granted = null;
+        lock.lock();
+        try {
+            if (sample) {
+                double updated = algorithm.update(limit, rttNanos, dropped, inFlight);
+                limit = Math.max(minLimit, Math.min(maxLimit, updated));
+            }
+            inFlight--;
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                if (granted == null) granted = new ArrayList<>(2);
+                granted.add(waiters.pollFirst());
+                inFlight++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (granted != null) {
+            for (CompletableFuture<Void> w : granted) w.complete(null);
+        }
+    }
+
+    private static boolean isTransient(SendResult r) {
+        return r != null && !r.success() && r.error() != null && r.error().code() == SendResult.ErrorCode.TRANSIENT_ERROR;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) e = e.getCause();
+        return e;
+    }
+
+    private SendResult rejected() {
+        return SendResult.fail(providerName(), new SendResult.ErrorInfo(SendResult.ErrorCode.TRANSIENT_ERROR,
+                "Concurrency limit exceeded for provider=" + providerName(), null));
+    }
+
+    public static Builder builder(NotificationSender delegate) {
+        return new Builder(delegate);
+    }
+
+    public static final class Builder {
+        private final NotificationSender delegate;
+        private LimitAlgorithm algorithm;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 1000;
+        private int maxQueued;
+        private Duration maxWait = Duration.ZERO;
+        private SendMetrics metrics;
+
+        private Builder(NotificationSender delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        /**
+         * Regla de ajuste (por defecto LimitAlgorithm.gradient()); usar una instancia por sender.
+         */
+        public Builder algorithm(LimitAlgorithm algorithm) {
+            this.algorithm = Objects.requireNonNull(algorithm);
+            return this;
+        }
+
+        /**
+         * Límite inicial (por defecto 20) y rango en el que se ajusta (por defecto 1..1000).
+         */
+        public Builder limits(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Envíos que pueden esperar un permiso y por cuánto tiempo (por defecto ninguno: se rechaza de inmediato).
+         */
+        public Builder queue(int maxQueued, Duration maxWait) {
+            this.maxQueued = maxQueued;
+            this.maxWait = Objects.requireNonNull(maxWait);
+            return this;
+        }
+
+        /**
+         * Publica límite, en curso, en espera y rechazados como gauge en los snapshots de {@code metrics}.
+         */
+        public Builder metrics(SendMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics);
+            return this;
+        }
+
+        public AdaptiveConcurrencySender build() {
+            if (minLimit < 1) throw new NotificationException("minLimit must be >= 1");
+            if (maxLimit < minLimit) throw new NotificationException("maxLimit must be >= minLimit");
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new NotificationException("initialLimit must be between minLimit and maxLimit");
+            }
+            if (maxQueued < 0) throw new NotificationException("maxQueued must be >= 0");
+            if (maxWait.isNegative()) throw new NotificationException("maxWait must not be negative");
+            if (algorithm == null) algorithm = LimitAlgorithm.gradient();
+            return new AdaptiveConcurrencySender(this);
+        }
+    }
+}
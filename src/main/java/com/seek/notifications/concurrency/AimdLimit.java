@@ -0,0 +1,25 @@
+package com.seek.notifications.concurrency;
+
+/**
+ * Additive increase / multiplicative decrease.
+ * <p>
+ * Solo crece si al menos la mitad del límite está en uso: un provider con poco tráfico no acumula un límite
+ * que nunca se probó.
+ */
+final class AimdLimit implements LimitAlgorithm {
+
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    AimdLimit(double backoffRatio, long latencyThresholdNanos) {
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+    }
+
+    @Override
+    public double update(double limit, long rttNanos, boolean dropped, int inFlight) {
+        if (dropped || (latencyThresholdNanos > 0 && rttNanos > latencyThresholdNanos)) return limit * backoffRatio;
+        if (inFlight * 2 >= limit) return limit + 1;
+        return limit;
+    }
+}
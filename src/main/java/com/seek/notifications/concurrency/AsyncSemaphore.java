@@ -0,0 +1,80 @@
+package com.seek.notifications.concurrency;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Semáforo cuyos waiters esperan en un CompletableFuture en lugar de bloquear un hilo.
+ * <p>
+ * - acquire(): future completado si hay permiso; si no, queda en una cola FIFO y se completa al liberarse uno.
+ * - tryAcquire() no se adelanta a la cola: con waiters esperando retorna false.
+ * - Para dejar de esperar se usa abandon(waiter), no cancel: si ya se le otorgó el permiso, es de quien llama.
+ * - El future de un waiter se completa fuera del lock: sus continuaciones pueden volver a adquirir o liberar.
+ */
+public final class AsyncSemaphore {
+
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int available;
+
+    public AsyncSemaphore(int permits) {
+        if (permits < 1) throw new IllegalArgumentException("permits must be >= 1");
+        this.available = permits;
+    }
+
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (available == 0 || !waiters.isEmpty()) return false;
+            available--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CompletableFuture<Void> acquire() {
+        lock.lock();
+        try {
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                return GRANTED;
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.addLast(waiter);
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saca al waiter de la cola. false si ya se le otorgó el permiso (quien llama pasa a ser su dueño).
+     */
+    public boolean abandon(CompletableFuture<Void> waiter) {
+        lock.lock();
+        try {
+            return waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve un permiso; si hay waiters, pasa directo al primero de la cola.
+     */
+    public void release() {
+        CompletableFuture<Void> next;
+        lock.lock();
+        try {
+            next = waiters.pollFirst();
+            if (next == null) available++;
+        } finally {
+            lock.unlock();
+        }
+        if (next != null) next.complete(null);
+    }
+}
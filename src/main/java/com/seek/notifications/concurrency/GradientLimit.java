@@ -0,0 +1,39 @@
+package com.seek.notifications.concurrency;
+
+/**
+ * Límite por gradiente de latencia (estilo TCP Vegas).
+ * <p>
+ * gradient = minRtt / rtt, acotado a [0.5, 1]: 1 si el provider responde como en vacío, menor si hay cola.
+ * nuevo = limit * gradient + sqrt(limit), y el resultado se suaviza con {@code smoothing}. Un fallo por
+ * sobrecarga aplica un backoff de 0.9 directamente.
+ */
+final class GradientLimit implements LimitAlgorithm {
+
+    private final double smoothing;
+    private final int probeEvery;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samples;
+
+    GradientLimit(double smoothing, int probeEvery) {
+        this.smoothing = smoothing;
+        this.probeEvery = probeEvery;
+    }
+
+    @Override
+    public double update(double limit, long rttNanos, boolean dropped, int inFlight) {
+        if (dropped) return limit * 0.9;
+        long rtt = Math.max(1, rttNanos);
+        if (++samples >= probeEvery) {
+            // Olvidar el mínimo permite seguir a un provider que se volvió más lento de forma permanente.
+            samples = 0;
+            minRttNanos = rtt;
+        } else if (rtt < minRttNanos) {
+            minRttNanos = rtt;
+        }
+        // Con poco tráfico la latencia no dice nada sobre el límite.
+        if (inFlight * 2 < limit) return limit;
+        double gradient = Math.max(0.5, Math.min(1.0, (double) minRttNanos / rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        return limit * (1 - smoothing) + target * smoothing;
+    }
+}
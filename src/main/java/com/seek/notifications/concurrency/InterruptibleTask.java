@@ -0,0 +1,44 @@
+package com.seek.notifications.concurrency;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Tarea bloqueante con su resultado expuesto como CompletableFuture, para ejecutar en un executor o en un hilo propio.
+ * <p>
+ * - Al terminar, la tarea completa result() con su valor o su excepción.
+ * - Completar result() desde afuera (cancelación, deadline) cancela la tarea: no empieza si aún no corrió y se
+ * interrumpe el hilo si ya estaba corriendo. CompletableFuture.cancel(true) por sí solo no interrumpe nada.
+ */
+public final class InterruptibleTask<T> extends FutureTask<T> {
+
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    public InterruptibleTask(Callable<T> work) {
+        super(work);
+        // Si la tarea ya terminó (ella misma completó el future), cancel es un no-op.
+        result.whenComplete((r, e) -> cancel(true));
+    }
+
+    public CompletableFuture<T> result() {
+        return result;
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            result.cancel(false);
+            return;
+        }
+        try {
+            result.complete(get());
+        } catch (ExecutionException e) {
+            result.completeExceptionally(e.getCause());
+        } catch (InterruptedException e) {
+            // no ocurre: la tarea ya terminó
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.seek.notifications.concurrency;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Regla que ajusta el límite de concurrencia de un provider a partir de cada envío terminado.
+ * <p>
+ * AdaptiveConcurrencySender la llama con su lock tomado, de a una muestra por vez; una implementación puede tener
+ * estado propio pero no debe compartirse entre senders (cada factory retorna una instancia nueva).
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * @param limit    límite actual.
+     * @param rttNanos duración de la llamada al provider.
+     * @param dropped  true si la llamada falló por sobrecarga (TRANSIENT_ERROR o excepción del provider).
+     * @param inFlight envíos en curso al momento de la llamada (incluida esta).
+     * @return nuevo límite (el sender lo acota a [min, max]).
+     */
+    double update(double limit, long rttNanos, boolean dropped, int inFlight);
+
+    /**
+     * AIMD con backoff de 0.9 y sin umbral de latencia.
+     */
+    static LimitAlgorithm aimd() {
+        return new AimdLimit(0.9, 0);
+    }
+
+    /**
+     * AIMD: +1 por envío exitoso mientras el límite esté en uso, x backoffRatio ante un fallo por sobrecarga
+     * o una llamada más lenta que {@code latencyThreshold} (ZERO = sin umbral).
+     */
+    static LimitAlgorithm aimd(double backoffRatio, Duration latencyThreshold) {
+        Objects.requireNonNull(latencyThreshold);
+        if (backoffRatio <= 0 || backoffRatio >= 1) throw new NotificationException("backoffRatio must be in (0, 1)");
+        return new AimdLimit(backoffRatio, latencyThreshold.toNanos());
+    }
+
+    /**
+     * Gradiente con suavizado 0.2 y re-medición de la latencia mínima cada 1000 muestras.
+     */
+    static LimitAlgorithm gradient() {
+        return new GradientLimit(0.2, 1000);
+    }
+
+    /**
+     * Estilo Vegas: compara la latencia mínima observada con la de cada muestra; si la latencia sube (se forma cola
+     * en el provider) el límite baja en proporción, y si no, crece de a sqrt(límite).
+     *
+     * @param smoothing  peso de cada nuevo cálculo (0..1]; valores bajos reaccionan más lento pero oscilan menos.
+     * @param probeEvery cada cuántas muestras se olvida la latencia mínima, para seguir cambios del provider.
+     */
+    static LimitAlgorithm gradient(double smoothing, int probeEvery) {
+        if (smoothing <= 0 || smoothing > 1) throw new NotificationException("smoothing must be in (0, 1]");
+        if (probeEvery < 1) throw new NotificationException("probeEvery must be >= 1");
+        return new GradientLimit(smoothing, probeEvery);
+    }
+}
@@ -0,0 +1,42 @@
+package com.seek.notifications.digest;
+
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.EmailMessage;
+import com.seek.notifications.models.Message;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.PushMessage;
+import com.seek.notifications.models.SmsMessage;
+
+import java.util.List;
+
+/**
+ * Combina las notificaciones acumuladas para un mismo destinatario y canal en un único mensaje.
+ * Se llama solo con dos o más notificaciones (una sola se envía tal cual).
+ */
+@FunctionalInterface
+public interface DigestMerger {
+
+    Message merge(List<Notification> notifications);
+
+    /**
+     * Resumen simple: título/asunto con la cantidad y los cuerpos uno por línea.
+     */
+    static DigestMerger summary() {
+        return notifications -> {
+            int n = notifications.size();
+            Message first = notifications.get(0).message();
+            StringBuilder body = new StringBuilder();
+            for (Notification item : notifications) {
+                if (!body.isEmpty()) body.append('\n');
+                Message m = item.message();
+                if (m instanceof EmailMessage e) body.append(e.subject()).append(": ").append(e.body());
+                else if (m instanceof PushMessage p) body.append(p.title()).append(": ").append(p.body());
+                else if (m instanceof SmsMessage s) body.append(s.text());
+            }
+            if (first instanceof EmailMessage) return new EmailMessage("Tienes " + n + " notificaciones", body.toString());
+            if (first instanceof PushMessage) return new PushMessage(n + " notificaciones nuevas", body.toString());
+            if (first instanceof SmsMessage) return new SmsMessage(body.toString());
+            throw new NotificationException("Unsupported message type: " + first.getClass().getSimpleName());
+        };
+    }
+}
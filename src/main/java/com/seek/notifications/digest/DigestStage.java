@@ -0,0 +1,288 @@
+package com.seek.notifications.digest;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.Priority;
+import com.seek.notifications.models.Recipient;
+import com.seek.notifications.models.SendResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Etapa de digest delante de NotificationClient: agrupa las notificaciones de un mismo destinatario y canal
+ * durante una ventana y las envía como un único mensaje (DigestMerger).
+ * <p>
+ * - La ventana empieza con la primera notificación del grupo; se envía al vencer la ventana o al llegar a maxBatch.
+ * - Todas las notificaciones del grupo reciben el mismo SendResult.
+ * - Prioridad HIGH y canales no configurados pasan directo, sin esperar.
+ * <p>
+ * Los vencimientos usan una timer wheel con hashing: cada grupo pendiente se enlaza en un slot (lista intrusiva),
+ * sin objetos de timer ni colas ordenadas; insertar es O(1) y cada tick solo recorre su slot. Así millones de
+ * destinatarios pendientes cuestan poco más que sus propias notificaciones.
+ */
+public final class DigestStage implements AutoCloseable {
+
+    private record Key(Recipient recipient, Channel channel) {
+    }
+
+    /**
+     * Grupo pendiente. items/futures se modifican solo dentro de compute() del mapa; next/rounds solo con wheelLock.
+     */
+    private static final class Group {
+        final Key key;
+        final List<Notification> items = new ArrayList<>(4);
+        final List<CompletableFuture<SendResult>> futures = new ArrayList<>(4);
+        Group next;
+        long rounds;
+
+        Group(Key key) {
+            this.key = key;
+        }
+    }
+
+    private final Function<Notification, CompletableFuture<SendResult>> sink;
+    private final DigestMerger merger;
+    private final Set<Channel> channels;
+    private final int maxBatch;
+    private final long ticksPerWindow;
+
+    private final ConcurrentHashMap<Key, Group> pending = new ConcurrentHashMap<>();
+    private final Object wheelLock = new Object();
+    private final Group[] wheel;
+    private final int mask;
+    private long currentTick;
+    private final ScheduledExecutorService ticker;
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    private DigestStage(Builder b) {
+        this.sink = b.sink;
+        this.merger = b.merger;
+        this.channels = EnumSet.copyOf(b.channels);
+        this.maxBatch = b.maxBatch;
+        long tickNanos = b.tick.toNanos();
+        this.ticksPerWindow = Math.max(1, (b.window.toNanos() + tickNanos - 1) / tickNanos);
+        int size = Integer.highestOneBit(Math.max(2, b.wheelSize - 1)) << 1;
+        this.wheel = new Group[size];
+        this.mask = size - 1;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notifications-digest-ticker");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Agrega la notificación a su grupo (o la envía directo si no aplica digest).
+     * El future completa cuando se envía el mensaje combinado.
+     */
+    public CompletableFuture<SendResult> submit(Notification notification) {
+        Objects.requireNonNull(notification);
+        boolean direct = !channels.contains(notification.channel()) || notification.metadata().priority() == Priority.HIGH;
+        CompletableFuture<SendResult> result = new CompletableFuture<>();
+        Key key = new Key(notification.recipient(), notification.channel());
+        Group[] full = new Group[1];
+        // Con el read lock, close() no puede barrer pending entre el chequeo de closed y el alta en el grupo.
+        closeLock.readLock().lock();
+        try {
+            if (closed) throw new NotificationException("Digest stage is closed");
+            if (!direct) {
+                pending.compute(key, (k, group) -> {
+                    if (group == null) {
+                        group = new Group(k);
+                        schedule(group);
+                    }
+                    group.items.add(notification);
+                    group.futures.add(result);
+                    if (group.items.size() >= maxBatch) {
+                        // Lleno: sale del mapa ya; su entrada en la wheel queda huérfana y se ignora al vencer.
+                        full[0] = group;
+                        return null;
+                    }
+                    return group;
+                });
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        if (direct) return sink.apply(notification);
+        if (full[0] != null) flush(full[0]);
+        return result;
+    }
+
+    /**
+     * Grupos (destinatario, canal) esperando su ventana.
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Envía todo lo pendiente y detiene el timer. Un submit concurrente queda en el barrido o falla con
+     * NotificationException; ninguno queda sin enviar.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        ticker.shutdownNow();
+        for (Key key : pending.keySet()) {
+            Group group = pending.remove(key);
+            if (group != null) flush(group);
+        }
+    }
+
+    private void schedule(Group group) {
+        synchronized (wheelLock) {
+            long due = currentTick + ticksPerWindow;
+            int slot = (int) (due & mask);
+            group.rounds = (ticksPerWindow - 1) / wheel.length;
+            group.next = wheel[slot];
+            wheel[slot] = group;
+        }
+    }
+
+    private void tick() {
+        Group expired = null;
+        synchronized (wheelLock) {
+            currentTick++;
+            int slot = (int) (currentTick & mask);
+            Group keep = null;
+            Group g = wheel[slot];
+            while (g != null) {
+                Group next = g.next;
+                if (g.rounds > 0) {
+                    g.rounds--;
+                    g.next = keep;
+                    keep = g;
+                } else {
+                    g.next = expired;
+                    expired = g;
+                }
+                g = next;
+            }
+            wheel[slot] = keep;
+        }
+        for (Group g = expired; g != null; g = g.next) {
+            // false si el grupo ya se envió por tamaño o por close().
+            if (pending.remove(g.key, g)) flush(g);
+        }
+    }
+
+    private void flush(Group group) {
+        CompletableFuture<SendResult> sent;
+        try {
+            sent = sink.apply((group.items.size() == 1) ? group.items.get(0) : merge(group));
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((r, e) -> {
+            for (CompletableFuture<SendResult> f : group.futures) {
+                if (e != null) f.completeExceptionally(e);
+                else f.complete(r);
+            }
+        });
+    }
+
+    private Notification merge(Group group) {
+        Priority priority = Priority.LOW;
+        Instant deadline = null;
+        for (Notification n : group.items) {
+            if (n.metadata().priority().compareTo(priority) < 0) priority = n.metadata().priority();
+            Instant d = n.metadata().deadline();
+            if (d != null && (deadline == null || d.isBefore(deadline))) deadline = d;
+        }
+        return new Notification(group.key.channel(), group.key.recipient(), merger.merge(List.copyOf(group.items)),
+                new Notification.Metadata(null, Instant.now(), priority, deadline));
+    }
+
+    public static Builder builder(NotificationClient client) {
+        Objects.requireNonNull(client);
+        return new Builder(client::sendAsync);
+    }
+
+    /**
+     * Destino genérico (por ejemplo, NotificationClient::enqueue para pasar por el outbox).
+     */
+    public static Builder builder(Function<Notification, CompletableFuture<SendResult>> sink) {
+        return new Builder(sink);
+    }
+
+    public static final class Builder {
+        private final Function<Notification, CompletableFuture<SendResult>> sink;
+        private DigestMerger merger = DigestMerger.summary();
+        private Set<Channel> channels = EnumSet.of(Channel.PUSH, Channel.EMAIL);
+        private Duration window = Duration.ofMinutes(1);
+        private Duration tick = Duration.ofMillis(100);
+        private int wheelSize = 1024;
+        private int maxBatch = 20;
+
+        private Builder(Function<Notification, CompletableFuture<SendResult>> sink) {
+            this.sink = Objects.requireNonNull(sink);
+        }
+
+        public Builder merger(DigestMerger merger) {
+            this.merger = Objects.requireNonNull(merger);
+            return this;
+        }
+
+        /**
+         * Canales que se agrupan (por defecto PUSH y EMAIL); el resto pasa directo.
+         */
+        public Builder channels(Set<Channel> channels) {
+            this.channels = Objects.requireNonNull(channels);
+            return this;
+        }
+
+        public Builder window(Duration window) {
+            this.window = Objects.requireNonNull(window);
+            return this;
+        }
+
+        /**
+         * Máximo de notificaciones por grupo; al alcanzarlo se envía sin esperar la ventana.
+         */
+        public Builder maxBatch(int maxBatch) {
+            this.maxBatch = maxBatch;
+            return this;
+        }
+
+        /**
+         * Resolución del timer y cantidad de slots de la wheel (una vuelta = tick * wheelSize).
+         */
+        public Builder timer(Duration tick, int wheelSize) {
+            this.tick = Objects.requireNonNull(tick);
+            this.wheelSize = wheelSize;
+            return this;
+        }
+
+        public DigestStage build() {
+            if (channels.isEmpty()) throw new NotificationException("At least one channel must be digested");
+            if (maxBatch < 1) throw new NotificationException("maxBatch must be >= 1");
+            if (wheelSize < 2) throw new NotificationException("wheelSize must be >= 2");
+            if (window.isNegative() || window.isZero()) throw new NotificationException("window must be positive");
+            if (tick.isNegative() || tick.isZero()) throw new NotificationException("tick must be positive");
+            return new DigestStage(this);
+        }
+    }
+}
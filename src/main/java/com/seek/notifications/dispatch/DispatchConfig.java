@@ -0,0 +1,55 @@
+package com.seek.notifications.dispatch;
+
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.Priority;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Configuración del dispatcher por prioridad de NotificationClient.
+ * <p>
+ * - workers: hilos que entregan al provider (tope de envíos asíncronos en vuelo).
+ * - queueCapacity: capacidad de cada cola (una por prioridad y canal).
+ * - weights: cuántos envíos toma cada prioridad por ronda cuando todas tienen trabajo (weighted round-robin).
+ * - backpressure: qué hacer con la cola llena (REJECT = SendResult TRANSIENT_ERROR, BLOCK = esperar espacio).
+ */
+public record DispatchConfig(int workers, int queueCapacity, Map<Priority, Integer> weights, Backpressure backpressure) {
+
+    public enum Backpressure {REJECT, BLOCK}
+
+    public DispatchConfig {
+        Objects.requireNonNull(weights);
+        Objects.requireNonNull(backpressure);
+        if (workers < 1) throw new NotificationException("workers must be >= 1");
+        if (queueCapacity < 1) throw new NotificationException("queueCapacity must be >= 1");
+        Map<Priority, Integer> w = new EnumMap<>(Priority.class);
+        for (Priority p : Priority.values()) {
+            Integer weight = weights.get(p);
+            if (weight == null || weight < 1) throw new NotificationException("weight must be >= 1 for priority: " + p);
+            w.put(p, weight);
+        }
+        weights = Map.copyOf(w);
+    }
+
+    /**
+     * Pesos 8/3/1 (HIGH/NORMAL/LOW), colas de 10.000 y REJECT.
+     */
+    public static DispatchConfig of(int workers) {
+        return new DispatchConfig(workers, 10_000,
+                Map.of(Priority.HIGH, 8, Priority.NORMAL, 3, Priority.LOW, 1), Backpressure.REJECT);
+    }
+
+    public DispatchConfig withQueueCapacity(int queueCapacity) {
+        return new DispatchConfig(workers, queueCapacity, weights, backpressure);
+    }
+
+    public DispatchConfig withWeights(Map<Priority, Integer> weights) {
+        return new DispatchConfig(workers, queueCapacity, weights, backpressure);
+    }
+
+    public DispatchConfig withBackpressure(Backpressure backpressure) {
+        return new DispatchConfig(workers, queueCapacity, weights, backpressure);
+    }
+}
@@ -0,0 +1,47 @@
+package com.seek.notifications.dispatch;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cola enlazada lock-free de múltiples productores y un único consumidor (algoritmo de Vyukov).
+ * <p>
+ * offer() es un getAndSet sobre la cola y una escritura volatile: nunca reintenta ni bloquea. poll() solo puede
+ * llamarlo el consumidor; puede retornar null por un instante entre el getAndSet de un productor y el enlace
+ * del nodo, así que quien necesite distinguir "vacía" de "enlazando" debe llevar su propio contador.
+ */
+final class MpscQueue<T> {
+
+    private static final class Node<T> {
+        T value;
+        volatile Node<T> next;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+
+    private final AtomicReference<Node<T>> tail;
+    // Nodo centinela; solo lo toca el consumidor.
+    private Node<T> head;
+
+    MpscQueue() {
+        Node<T> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    void offer(T value) {
+        Node<T> node = new Node<>(value);
+        Node<T> prev = tail.getAndSet(node);
+        prev.next = node;
+    }
+
+    T poll() {
+        Node<T> next = head.next;
+        if (next == null) return null;
+        T value = next.value;
+        next.value = null;
+        head = next;
+        return value;
+    }
+}
@@ -0,0 +1,28 @@
+package com.seek.notifications.dispatch;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+/**
+ * Configuración del dispatch particionado por destinatario de NotificationClient.
+ * <p>
+ * - lanes: carriles, cada uno con un único hilo consumidor (tope de envíos asíncronos en vuelo).
+ * - laneCapacity: envíos encolados por carril; con el carril lleno el future completa con TRANSIENT_ERROR.
+ */
+public record PartitionConfig(int lanes, int laneCapacity) {
+
+    public PartitionConfig {
+        if (lanes < 1) throw new NotificationException("lanes must be >= 1");
+        if (laneCapacity < 1) throw new NotificationException("laneCapacity must be >= 1");
+    }
+
+    /**
+     * Carriles de 10.000 envíos.
+     */
+    public static PartitionConfig of(int lanes) {
+        return new PartitionConfig(lanes, 10_000);
+    }
+
+    public PartitionConfig withLaneCapacity(int laneCapacity) {
+        return new PartitionConfig(lanes, laneCapacity);
+    }
+}
@@ -0,0 +1,230 @@
+package com.seek.notifications.dispatch;
+
+import com.seek.notifications.concurrency.AsyncSemaphore;
+import com.seek.notifications.concurrency.InterruptibleTask;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.Recipient;
+import com.seek.notifications.models.SendResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Dispatcher particionado por destinatario: cada Recipient se asigna por hash a uno de N carriles, y cada carril
+ * tiene un único hilo que envía en orden de llegada.
+ * <p>
+ * - Orden FIFO por destinatario (dos SMS al mismo teléfono llegan en el orden en que se enviaron), incluso entre
+ * canales si el Recipient es el mismo; destinatarios distintos avanzan en paralelo en carriles distintos.
+ * - Encolar no toma locks: cola MPSC por carril y un contador de profundidad; el hilo del carril se estaciona
+ * (LockSupport.park) cuando no hay trabajo y el productor lo despierta solo si está estacionado.
+ * - Carril lleno: el future completa con un SendResult TRANSIENT_ERROR.
+ * <p>
+ * Con tope de concurrencia por canal, una tarea cuyo canal no tiene permisos libres se aparta en una cola del carril
+ * para ese canal (detrás quedan las siguientes del mismo canal, así se mantiene el orden) y el carril sigue con los
+ * demás canales; el carril no se bloquea esperando un permiso y se despierta cuando otro carril libera uno.
+ * <p>
+ * Un destinatario lento retrasa a los demás de su carril (es el costo del orden); más carriles lo diluyen.
+ * Cancelaciones y close() se comportan como en PriorityDispatcher.
+ */
+public final class PartitionedDispatcher implements AutoCloseable {
+
+    private record Task(InterruptibleTask<SendResult> work, int channel, AsyncSemaphore permit) {
+        CompletableFuture<SendResult> result() {
+            return work.result();
+        }
+    }
+
+    private static final int CHANNELS = Channel.values().length;
+
+    private static final class Lane {
+        final MpscQueue<Task> queue = new MpscQueue<>();
+        // Encolados y aún no tomados; se incrementa antes de offer(), así que >= a lo visible en la cola.
+        final AtomicInteger depth = new AtomicInteger();
+        // Tareas apartadas por canal esperando permiso; solo las toca el hilo del carril.
+        final List<ArrayDeque<Task>> deferred = new ArrayList<>(CHANNELS);
+        // Tamaño total de deferred; quien libera un permiso despierta a los carriles con tareas apartadas.
+        volatile int deferredCount;
+        volatile boolean parked;
+        Thread thread;
+
+        Lane() {
+            for (int c = 0; c < CHANNELS; c++) deferred.add(new ArrayDeque<>());
+        }
+    }
+
+    private final PartitionConfig config;
+    private final Function<Notification, SendResult> delivery;
+    private final Map<Channel, AsyncSemaphore> permits;
+    private final Lane[] lanes;
+    private volatile boolean closed;
+    private boolean started;
+
+    public PartitionedDispatcher(PartitionConfig config, Function<Notification, SendResult> delivery) {
+        this(config, delivery, Map.of());
+    }
+
+    /**
+     * @param permits tope de envíos en vuelo por canal; los permisos se toman sin bloquear al carril.
+     */
+    public PartitionedDispatcher(PartitionConfig config, Function<Notification, SendResult> delivery, Map<Channel, AsyncSemaphore> permits) {
+        this.config = Objects.requireNonNull(config);
+        this.delivery = Objects.requireNonNull(delivery);
+        this.permits = Map.copyOf(permits);
+        this.lanes = new Lane[config.lanes()];
+        for (int i = 0; i < lanes.length; i++) lanes[i] = new Lane();
+    }
+
+    public synchronized void start() {
+        if (started) return;
+        started = true;
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = lanes[i];
+            Thread t = new Thread(() -> workLoop(lane), "notifications-lane-" + (i + 1));
+            t.setDaemon(true);
+            lane.thread = t;
+            t.start();
+        }
+    }
+
+    public CompletableFuture<SendResult> submit(Notification notification) {
+        Objects.requireNonNull(notification);
+        int index = laneOf(notification.recipient());
+        Lane lane = lanes[index];
+        if (lane.depth.incrementAndGet() + lane.deferredCount > config.laneCapacity()) {
+            lane.depth.decrementAndGet();
+            return CompletableFuture.completedFuture(SendResult.fail(null, new SendResult.ErrorInfo(
+                    SendResult.ErrorCode.TRANSIENT_ERROR, "Dispatch lane " + index + " is full", null)));
+        }
+        // El carril solo termina con closed y depth == 0; haber incrementado antes de mirar closed evita
+        // encolar en un carril que ya terminó.
+        if (closed) {
+            lane.depth.decrementAndGet();
+            throw new NotificationException("Dispatcher is closed");
+        }
+        Task task = newTask(notification);
+        lane.queue.offer(task);
+        if (lane.parked) LockSupport.unpark(lane.thread);
+        return task.result();
+    }
+
+    public int lanes() {
+        return lanes.length;
+    }
+
+    /**
+     * Carril asignado al destinatario (estable mientras no cambie la cantidad de carriles).
+     */
+    public int laneOf(Recipient recipient) {
+        int h = recipient.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), lanes.length);
+    }
+
+    /**
+     * Envíos encolados en el carril que aún no empezaron (incluye los que esperan permiso de su canal).
+     */
+    public int laneDepth(int lane) {
+        return lanes[lane].depth.get() + lanes[lane].deferredCount;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        for (Lane lane : lanes) {
+            if (lane.thread == null) continue;
+            LockSupport.unpark(lane.thread);
+            try {
+                lane.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void workLoop(Lane lane) {
+        while (true) {
+            Task task = takeDeferred(lane);
+            if (task != null) {
+                run(task);
+                continue;
+            }
+            task = lane.queue.poll();
+            if (task == null) {
+                if (lane.depth.get() > 0) {
+                    // Un productor ya reservó lugar pero aún no enlazó su nodo.
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (closed && lane.deferredCount == 0) return;
+                lane.parked = true;
+                // Con tareas apartadas se duerme hasta que se libere un permiso (releasePermit despierta al carril).
+                if (lane.depth.get() == 0 && (lane.deferredCount > 0 || !closed)) LockSupport.park(this);
+                lane.parked = false;
+                // Una cancelación tardía puede dejar el flag de interrupción: park() retornaría siempre.
+                Thread.interrupted();
+                continue;
+            }
+            lane.depth.decrementAndGet();
+            ArrayDeque<Task> waiting = lane.deferred.get(task.channel());
+            // Canal sin permiso, o con tareas ya apartadas delante: se aparta sin perder el orden del canal.
+            // Se reintenta en la próxima vuelta (takeDeferred) antes de estacionarse, así no se pierde un release.
+            if (task.permit() != null && (!waiting.isEmpty() || !task.permit().tryAcquire())) {
+                waiting.addLast(task);
+                lane.deferredCount++;
+                continue;
+            }
+            run(task);
+        }
+    }
+
+    /**
+     * Primera tarea apartada cuyo canal tiene ahora un permiso libre (ya tomado), o null.
+     */
+    private static Task takeDeferred(Lane lane) {
+        if (lane.deferredCount == 0) return null;
+        for (ArrayDeque<Task> waiting : lane.deferred) {
+            Task head = waiting.peekFirst();
+            if (head != null && head.permit().tryAcquire()) {
+                waiting.pollFirst();
+                lane.deferredCount--;
+                return head;
+            }
+        }
+        return null;
+    }
+
+    private void run(Task task) {
+        try {
+            // Si el future ya está completo la tarea está cancelada y run() no hace nada.
+            task.work().run();
+        } finally {
+            Thread.interrupted();
+            if (task.permit() != null) releasePermit(task.permit());
+        }
+    }
+
+    private void releasePermit(AsyncSemaphore permit) {
+        permit.release();
+        for (Lane lane : lanes) {
+            if (lane.deferredCount > 0 && lane.thread != null) LockSupport.unpark(lane.thread);
+        }
+    }
+
+    private Task newTask(Notification notification) {
+        InterruptibleTask<SendResult> work = new InterruptibleTask<>(() -> delivery.apply(notification));
+        Channel channel = notification.channel();
+        return new Task(work, channel.ordinal(), permits.get(channel));
+    }
+}
@@ -0,0 +1,244 @@
+package com.seek.notifications.dispatch;
+
+import com.seek.notifications.concurrency.AsyncSemaphore;
+import com.seek.notifications.concurrency.InterruptibleTask;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.Priority;
+import com.seek.notifications.models.SendResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Dispatcher con colas acotadas por prioridad y canal, atendidas por un pool fijo de workers.
+ * <p>
+ * - Entre prioridades: weighted round-robin (por ronda, hasta weights[p] envíos de cada prioridad con trabajo).
+ * Es work-conserving: si solo hay LOW, LOW usa todos los workers.
+ * - Dentro de una prioridad: round-robin entre canales, para que una campaña de PUSH no retrase los EMAIL.
+ * - Cola llena: REJECT completa el future con un SendResult TRANSIENT_ERROR; BLOCK bloquea a quien envía.
+ * <p>
+ * Con tope de concurrencia por canal, un canal sin permisos libres se salta (sus tareas siguen en cola) y los workers
+ * atienden otros canales y prioridades; ningún worker se bloquea esperando un permiso.
+ * <p>
+ * Un future completado desde afuera (cancelado o con el deadline vencido) se descarta al llegar a la cabeza
+ * de su cola sin llamar al provider; si ya se estaba enviando, se interrumpe el worker.
+ * <p>
+ * close() deja de aceptar, entrega lo que ya estaba encolado y detiene los workers.
+ */
+public final class PriorityDispatcher implements AutoCloseable {
+
+    // permit: permisos de maxConcurrency del canal (null sin tope); el worker lo toma al sacar la tarea de la cola.
+    private record Task(InterruptibleTask<SendResult> work, AsyncSemaphore permit) {
+        CompletableFuture<SendResult> result() {
+            return work.result();
+        }
+    }
+
+    private static final int PRIORITIES = Priority.values().length;
+    private static final int CHANNELS = Channel.values().length;
+
+    private final DispatchConfig config;
+    private final Function<Notification, SendResult> delivery;
+    private final Map<Channel, AsyncSemaphore> permits;
+    private final int[] weights = new int[PRIORITIES];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    // [prioridad][canal], protegidas por lock.
+    private final List<List<ArrayDeque<Task>>> queues = new ArrayList<>(PRIORITIES);
+    private final int[] nextChannel = new int[PRIORITIES];
+    private int current;
+    private int served;
+    private boolean closed;
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    public PriorityDispatcher(DispatchConfig config, Function<Notification, SendResult> delivery) {
+        this(config, delivery, Map.of());
+    }
+
+    /**
+     * @param permits tope de envíos en vuelo por canal; los permisos se toman sin bloquear al sacar cada tarea.
+     */
+    public PriorityDispatcher(DispatchConfig config, Function<Notification, SendResult> delivery, Map<Channel, AsyncSemaphore> permits) {
+        this.config = Objects.requireNonNull(config);
+        this.delivery = Objects.requireNonNull(delivery);
+        this.permits = Map.copyOf(permits);
+        for (Priority p : Priority.values()) {
+            weights[p.ordinal()] = config.weights().get(p);
+            List<ArrayDeque<Task>> byChannel = new ArrayList<>(CHANNELS);
+            for (int c = 0; c < CHANNELS; c++) byChannel.add(new ArrayDeque<>());
+            queues.add(byChannel);
+        }
+    }
+
+    public synchronized void start() {
+        if (!workers.isEmpty()) return;
+        for (int i = 0; i < config.workers(); i++) {
+            Thread t = new Thread(this::workLoop, "notifications-dispatch-" + (i + 1));
+            t.setDaemon(true);
+            workers.add(t);
+            t.start();
+        }
+    }
+
+    public CompletableFuture<SendResult> submit(Notification notification) {
+        Objects.requireNonNull(notification);
+        Priority priority = notification.metadata().priority();
+        ArrayDeque<Task> queue = queues.get(priority.ordinal()).get(notification.channel().ordinal());
+        Task task = newTask(notification);
+
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) throw new NotificationException("Dispatcher is closed");
+                if (queue.size() < config.queueCapacity()) break;
+                if (config.backpressure() == DispatchConfig.Backpressure.REJECT) {
+                    return CompletableFuture.completedFuture(SendResult.fail(null, new SendResult.ErrorInfo(
+                            SendResult.ErrorCode.TRANSIENT_ERROR,
+                            "Dispatch queue full for priority=" + priority + ", channel=" + notification.channel(), null)));
+                }
+                notFull.await();
+            }
+            queue.addLast(task);
+            notEmpty.signal();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SendFailedException("Interrupted waiting for dispatch queue space", e);
+        } finally {
+            lock.unlock();
+        }
+        return task.result();
+    }
+
+    /**
+     * Envíos encolados (aún no tomados por un worker) para la prioridad y canal.
+     */
+    public int queueDepth(Priority priority, Channel channel) {
+        lock.lock();
+        try {
+            return queues.get(priority.ordinal()).get(channel.ordinal()).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Thread> started;
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        synchronized (this) {
+            started = List.copyOf(workers);
+        }
+        for (Thread t : started) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void workLoop() {
+        while (true) {
+            Task task;
+            lock.lock();
+            try {
+                while ((task = pollLocked()) == null) {
+                    // Al cerrar se termina solo sin pendientes: lo saltado por falta de permiso se entrega igual.
+                    if (closed && isEmptyLocked()) return;
+                    notEmpty.await();
+                }
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            // Si el future ya está completo la FutureTask está cancelada y run() no hace nada.
+            try {
+                task.work().run();
+            } finally {
+                // Una cancelación que llegó tarde no debe afectar al siguiente envío de este worker.
+                Thread.interrupted();
+                if (task.permit() != null) releasePermit(task.permit());
+            }
+        }
+    }
+
+    /**
+     * Libera el permiso y despierta a un worker: puede haber tareas de ese canal que se saltaron por falta de permiso.
+     */
+    private void releasePermit(AsyncSemaphore permit) {
+        lock.lock();
+        try {
+            permit.release();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Task newTask(Notification notification) {
+        InterruptibleTask<SendResult> work = new InterruptibleTask<>(() -> delivery.apply(notification));
+        return new Task(work, permits.get(notification.channel()));
+    }
+
+    private boolean isEmptyLocked() {
+        for (List<ArrayDeque<Task>> byChannel : queues) {
+            for (ArrayDeque<Task> queue : byChannel) {
+                if (!queue.isEmpty()) return false;
+            }
+        }
+        return true;
+    }
+
+    private Task pollLocked() {
+        // A lo sumo una vuelta completa: la prioridad actual y luego cada una de las demás.
+        for (int i = 0; i <= PRIORITIES; i++) {
+            if (served < weights[current]) {
+                Task t = pollPriority(current);
+                if (t != null) {
+                    served++;
+                    return t;
+                }
+            }
+            current = (current + 1) % PRIORITIES;
+            served = 0;
+        }
+        return null;
+    }
+
+    private Task pollPriority(int priority) {
+        for (int i = 0; i < CHANNELS; i++) {
+            int c = (nextChannel[priority] + i) % CHANNELS;
+            ArrayDeque<Task> queue = queues.get(priority).get(c);
+            Task head = queue.peekFirst();
+            // Canal saturado: se salta sin bloquear; su tarea sigue primera en la cola.
+            if (head == null || (head.permit() != null && !head.permit().tryAcquire())) continue;
+            nextChannel[priority] = (c + 1) % CHANNELS;
+            return queue.pollFirst();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,248 @@
+package com.seek.notifications.events;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bus de eventos asíncrono.
+ * <p>
+ * publish() solo encola el evento en un buffer circular acotado (ArrayBlockingQueue); uno o más hilos
+ * dispatcher lo entregan a los listeners. Así un listener lento (auditoría, métricas) no agrega latencia al envío.
+ * <p>
+ * - OverflowPolicy define qué pasa con el buffer lleno: bloquear, descartar el más antiguo o el más nuevo.
+ * - Los NotificationEventBatchListener reciben lotes de hasta maxBatchSize eventos.
+ * - close() deja de aceptar eventos y espera a que se entreguen los pendientes, incluidos los de publish() que
+ * ya pasaron el chequeo de cerrado: los dispatchers no terminan mientras haya publicaciones en curso.
+ * <p>
+ * Con un solo dispatcher el orden de entrega es FIFO; con varios, el orden entre eventos no está garantizado.
+ */
+public final class AsyncEventBus implements EventBus, AutoCloseable {
+
+    public enum OverflowPolicy {BLOCK, DROP_OLDEST, DROP_NEWEST}
+
+    private static final long POLL_MILLIS = 50;
+
+    private final ArrayBlockingQueue<NotificationEvent> buffer;
+    private final CopyOnWriteArrayList<NotificationEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final OverflowPolicy overflowPolicy;
+    private final int maxBatchSize;
+    private final List<Thread> dispatchers;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong listenerErrors = new AtomicLong();
+    // publish() en curso; un dispatcher no termina mientras sea > 0.
+    private final AtomicInteger publishing = new AtomicInteger();
+    private volatile boolean closed;
+
+    private AsyncEventBus(Builder b) {
+        this.buffer = new ArrayBlockingQueue<>(b.capacity);
+        this.overflowPolicy = b.overflowPolicy;
+        this.maxBatchSize = b.maxBatchSize;
+        this.dispatchers = new ArrayList<>(b.dispatchers);
+        for (int i = 0; i < b.dispatchers; i++) {
+            Thread t = b.threadFactory.newThread(this::dispatchLoop);
+            dispatchers.add(t);
+            t.start();
+        }
+    }
+
+    @Override
+    public void publish(NotificationEvent event) {
+        Objects.requireNonNull(event);
+        // Se anuncia la publicación antes de leer closed: si close() ya fue visto por un dispatcher que vio
+        // publishing == 0, este publish ve closed y descarta; si no, el dispatcher espera a que encole.
+        publishing.incrementAndGet();
+        try {
+            if (closed) {
+                dropped.incrementAndGet();
+                return;
+            }
+            enqueue(event);
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+
+    private void enqueue(NotificationEvent event) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    buffer.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                }
+            }
+            case DROP_NEWEST -> {
+                if (!buffer.offer(event)) dropped.incrementAndGet();
+            }
+            case DROP_OLDEST -> {
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) dropped.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(NotificationEventListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public boolean hasSubscribers() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Eventos descartados por buffer lleno, interrupción o publicación después de close().
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Excepciones lanzadas por listeners (se capturan para no detener al dispatcher).
+     */
+    public long listenerErrorCount() {
+        return listenerErrors.get();
+    }
+
+    public int pendingCount() {
+        return buffer.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread t : dispatchers) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Igual que close() pero con espera acotada. Retorna false si quedaron eventos sin entregar.
+     */
+    public boolean close(Duration timeout) {
+        closed = true;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Thread t : dispatchers) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining > 0) TimeUnit.NANOSECONDS.timedJoin(t, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (t.isAlive()) return false;
+        }
+        return true;
+    }
+
+    private void dispatchLoop() {
+        List<NotificationEvent> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            NotificationEvent first;
+            try {
+                first = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // El dispatcher solo termina vía close(), tras vaciar el buffer.
+                continue;
+            }
+            if (first == null) {
+                if (closed && publishing.get() == 0 && buffer.isEmpty()) return;
+                continue;
+            }
+            batch.add(first);
+            if (maxBatchSize > 1) buffer.drainTo(batch, maxBatchSize - 1);
+            deliver(batch);
+            batch.clear();
+        }
+    }
+
+    private void deliver(List<NotificationEvent> batch) {
+        List<NotificationEvent> view = (batch.size() == 1) ? List.of(batch.get(0)) : List.copyOf(batch);
+        for (var l : listeners) {
+            try {
+                if (l instanceof NotificationEventBatchListener bl) {
+                    bl.onEvents(view);
+                } else {
+                    for (var e : view) l.onEvent(e);
+                }
+            } catch (RuntimeException e) {
+                listenerErrors.incrementAndGet();
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int capacity = 8192;
+        private int dispatchers = 1;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private int maxBatchSize = 1;
+        private ThreadFactory threadFactory;
+
+        public Builder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder dispatchers(int dispatchers) {
+            this.dispatchers = dispatchers;
+            return this;
+        }
+
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+            return this;
+        }
+
+        /**
+         * Tamaño máximo del lote entregado a NotificationEventBatchListener (1 = sin batching).
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder threadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        public AsyncEventBus build() {
+            if (capacity < 1) throw new NotificationException("capacity must be >= 1");
+            if (dispatchers < 1) throw new NotificationException("dispatchers must be >= 1");
+            if (maxBatchSize < 1) throw new NotificationException("maxBatchSize must be >= 1");
+            if (threadFactory == null) threadFactory = daemonThreads();
+            return new AsyncEventBus(this);
+        }
+
+        private static ThreadFactory daemonThreads() {
+            AtomicInteger seq = new AtomicInteger();
+            return r -> {
+                Thread t = new Thread(r, "notifications-eventbus-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+        }
+    }
+}
@@ -8,4 +8,12 @@ public interface EventBus {
     void publish(NotificationEvent event);
 
     void subscribe(NotificationEventListener listener);
+
+    /**
+     * Permite al cliente omitir la construcción de eventos cuando nadie los escucha.
+     * Por defecto se asume que sí hay suscriptores.
+     */
+    default boolean hasSubscribers() {
+        return true;
+    }
 }
\ No newline at end of file
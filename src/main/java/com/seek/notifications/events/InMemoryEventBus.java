@@ -19,4 +19,9 @@ public final class InMemoryEventBus implements EventBus {
     public void subscribe(NotificationEventListener listener) {
         listeners.add(listener);
     }
+
+    @Override
+    public boolean hasSubscribers() {
+        return !listeners.isEmpty();
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.seek.notifications.events;
 
+import com.seek.notifications.circuitbreaker.CircuitState;
 import com.seek.notifications.models.Channel;
 import com.seek.notifications.models.Notification;
 import com.seek.notifications.models.SendResult;
@@ -11,8 +12,11 @@ import java.time.Instant;
  * - Requested: antes del envío
  * - Sent: envío exitoso
  * - Failed: envío fallido
+ * - CircuitStateChanged: el circuit breaker de un provider cambió de estado
+ *   (correlationId es el de la notificación que provocó la transición)
  */
-public sealed interface NotificationEvent permits NotificationEvent.Requested, NotificationEvent.Sent, NotificationEvent.Failed {
+public sealed interface NotificationEvent permits NotificationEvent.Requested, NotificationEvent.Sent, NotificationEvent.Failed,
+        NotificationEvent.CircuitStateChanged {
 
     String correlationId();
 
@@ -29,4 +33,8 @@ public sealed interface NotificationEvent permits NotificationEvent.Requested, N
 
     record Failed(String correlationId, Channel channel, Instant at, Throwable error) implements NotificationEvent {
     }
+
+    record CircuitStateChanged(String correlationId, Channel channel, Instant at, String providerName,
+                               CircuitState from, CircuitState to) implements NotificationEvent {
+    }
 }
@@ -0,0 +1,18 @@
+package com.seek.notifications.events;
+
+import java.util.List;
+
+/**
+ * Listener que recibe eventos en lote.
+ * <p>
+ * AsyncEventBus entrega lotes completos a estos listeners (por ejemplo, para escribir auditoría en bloque).
+ * Con un bus síncrono se recibe un evento por llamada.
+ */
+public interface NotificationEventBatchListener extends NotificationEventListener {
+    void onEvents(List<NotificationEvent> events);
+
+    @Override
+    default void onEvent(NotificationEvent event) {
+        onEvents(List.of(event));
+    }
+}
@@ -0,0 +1,11 @@
+package com.seek.notifications.exceptions;
+
+/**
+ * El envío no se hizo (o se abandonó) porque venció el deadline de la notificación.
+ * No debe reintentarse: el resultado ya no le sirve al caller.
+ */
+public class DeadlineExceededException extends SendFailedException {
+    public DeadlineExceededException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+}
@@ -0,0 +1,20 @@
+package com.seek.notifications.fanout;
+
+/**
+ * Cómo se combina el resultado de los envíos por canal de un fan-out.
+ */
+public enum Aggregation {
+    /**
+     * Espera todos los canales; exitoso solo si todos los envíos lo fueron.
+     */
+    ALL,
+    /**
+     * Espera todos los canales; exitoso si al menos uno lo fue.
+     */
+    ANY,
+    /**
+     * Completa con el primer éxito y cancela los envíos que sigan en vuelo (sirve para "avisar por donde llegue
+     * primero"). Si todos fallan, completa al terminar el último.
+     */
+    FIRST_SUCCESS
+}
@@ -0,0 +1,42 @@
+package com.seek.notifications.fanout;
+
+import com.seek.notifications.models.Channel;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Canales habilitados por un usuario. Un fan-out solo envía las variantes de estos canales.
+ */
+public record ChannelPreferences(Set<Channel> enabled) {
+
+    private static final ChannelPreferences ALL = new ChannelPreferences(EnumSet.allOf(Channel.class));
+    private static final ChannelPreferences NONE = new ChannelPreferences(EnumSet.noneOf(Channel.class));
+
+    public ChannelPreferences {
+        Objects.requireNonNull(enabled);
+        enabled = enabled.isEmpty() ? Set.of() : Set.copyOf(EnumSet.copyOf(enabled));
+    }
+
+    public static ChannelPreferences all() {
+        return ALL;
+    }
+
+    public static ChannelPreferences none() {
+        return NONE;
+    }
+
+    public static ChannelPreferences of(Channel... channels) {
+        return of(Set.of(channels));
+    }
+
+    public static ChannelPreferences of(Collection<Channel> channels) {
+        return new ChannelPreferences(channels.isEmpty() ? EnumSet.noneOf(Channel.class) : EnumSet.copyOf(channels));
+    }
+
+    public boolean allows(Channel channel) {
+        return enabled.contains(channel);
+    }
+}
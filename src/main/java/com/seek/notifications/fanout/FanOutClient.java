@@ -0,0 +1,193 @@
+package com.seek.notifications.fanout;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Fan-out multi-canal: envía las variantes de una FanOutNotification a los canales que el usuario tiene habilitados,
+ * todas a la vez, y combina los resultados según una Aggregation.
+ * <p>
+ * - Las preferencias se leen de un PreferenceCache (sin cache, se envían todas las variantes).
+ * - Los envíos usan sendAsync del cliente: corren concurrentes en lugar de un send() por canal en secuencia.
+ * - Un error al leer preferencias completa el future con esa excepción, sin enviar nada.
+ */
+public final class FanOutClient {
+
+    private final Function<Notification, CompletableFuture<SendResult>> sink;
+    private final PreferenceCache preferences;
+    private final Aggregation aggregation;
+
+    private FanOutClient(Builder b) {
+        this.sink = b.sink;
+        this.preferences = b.preferences;
+        this.aggregation = b.aggregation;
+    }
+
+    public CompletableFuture<FanOutResult> send(FanOutNotification notification) {
+        return send(notification, aggregation);
+    }
+
+    public CompletableFuture<FanOutResult> send(FanOutNotification notification, Aggregation aggregation) {
+        Objects.requireNonNull(notification);
+        Objects.requireNonNull(aggregation);
+        ChannelPreferences prefs;
+        try {
+            prefs = (preferences != null) ? preferences.get(notification.userId()) : ChannelPreferences.all();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        List<Notification> selected = new ArrayList<>(notification.variants().size());
+        Set<Channel> skipped = EnumSet.noneOf(Channel.class);
+        for (Notification n : notification.variants()) {
+            if (prefs.allows(n.channel())) selected.add(n);
+            else skipped.add(n.channel());
+        }
+        if (selected.isEmpty()) {
+            return CompletableFuture.completedFuture(new FanOutResult(aggregation, false, Map.of(), Map.of(), skipped));
+        }
+        return new Aggregate(aggregation, selected, skipped).start();
+    }
+
+    /**
+     * Estado de un fan-out en curso. Los callbacks de cada canal actualizan los mapas bajo el monitor del objeto.
+     */
+    private final class Aggregate {
+        final Aggregation aggregation;
+        final List<Notification> selected;
+        final Set<Channel> skipped;
+        final Map<Channel, SendResult> results = new EnumMap<>(Channel.class);
+        final Map<Channel, Throwable> errors = new EnumMap<>(Channel.class);
+        final List<CompletableFuture<SendResult>> inFlight;
+        final CompletableFuture<FanOutResult> result = new CompletableFuture<>();
+        int remaining;
+        int succeeded;
+
+        Aggregate(Aggregation aggregation, List<Notification> selected, Set<Channel> skipped) {
+            this.aggregation = aggregation;
+            this.selected = selected;
+            this.skipped = skipped;
+            this.inFlight = new ArrayList<>(selected.size());
+            this.remaining = selected.size();
+        }
+
+        CompletableFuture<FanOutResult> start() {
+            for (Notification n : selected) {
+                // Con FIRST_SUCCESS ya resuelto, los canales restantes no se envían (quedan como cancelados).
+                if (result.isDone()) break;
+                CompletableFuture<SendResult> f;
+                try {
+                    f = sink.apply(n);
+                } catch (RuntimeException e) {
+                    f = CompletableFuture.failedFuture(e);
+                }
+                synchronized (this) {
+                    inFlight.add(f);
+                }
+                f.whenComplete((r, e) -> onComplete(n.channel(), r, e));
+                if (result.isDone() && !f.isDone()) f.cancel(true);
+            }
+            return result;
+        }
+
+        private void onComplete(Channel channel, SendResult r, Throwable e) {
+            FanOutResult done = null;
+            List<CompletableFuture<SendResult>> toCancel = List.of();
+            synchronized (this) {
+                if (e == null) {
+                    results.put(channel, r);
+                    if (r.success()) succeeded++;
+                } else {
+                    errors.put(channel, unwrap(e));
+                }
+                remaining--;
+                if (result.isDone()) return;
+                if (aggregation == Aggregation.FIRST_SUCCESS && e == null && r.success()) {
+                    toCancel = new ArrayList<>(inFlight);
+                    done = snapshot(true);
+                } else if (remaining == 0) {
+                    boolean ok = (aggregation == Aggregation.ALL) ? succeeded == selected.size() : succeeded > 0;
+                    done = snapshot(ok);
+                }
+            }
+            if (done == null) return;
+            for (CompletableFuture<SendResult> f : toCancel) {
+                if (!f.isDone()) f.cancel(true);
+            }
+            result.complete(done);
+        }
+
+        /**
+         * Con lock tomado. Con FIRST_SUCCESS, los canales aún en vuelo se reportan como cancelados.
+         */
+        private FanOutResult snapshot(boolean ok) {
+            Map<Channel, Throwable> errs = new EnumMap<>(errors);
+            if (remaining > 0) {
+                for (Notification n : selected) {
+                    Channel c = n.channel();
+                    if (!results.containsKey(c) && !errs.containsKey(c)) {
+                        errs.put(c, new CancellationException("Cancelled after first success"));
+                    }
+                }
+            }
+            return new FanOutResult(aggregation, ok, results, errs, skipped);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+    }
+
+    public static Builder builder(NotificationClient client) {
+        Objects.requireNonNull(client);
+        return new Builder(client::sendAsync);
+    }
+
+    /**
+     * Con un destino propio (por ejemplo, DigestStage::submit).
+     */
+    public static Builder builder(Function<Notification, CompletableFuture<SendResult>> sink) {
+        return new Builder(sink);
+    }
+
+    public static final class Builder {
+        private final Function<Notification, CompletableFuture<SendResult>> sink;
+        private PreferenceCache preferences;
+        private Aggregation aggregation = Aggregation.ALL;
+
+        private Builder(Function<Notification, CompletableFuture<SendResult>> sink) {
+            this.sink = Objects.requireNonNull(sink);
+        }
+
+        public Builder preferences(PreferenceCache preferences) {
+            this.preferences = Objects.requireNonNull(preferences);
+            return this;
+        }
+
+        /**
+         * Agregación por defecto de send(notification) (ALL si no se configura).
+         */
+        public Builder aggregation(Aggregation aggregation) {
+            this.aggregation = Objects.requireNonNull(aggregation);
+            return this;
+        }
+
+        public FanOutClient build() {
+            return new FanOutClient(this);
+        }
+    }
+}
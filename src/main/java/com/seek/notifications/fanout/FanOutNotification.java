@@ -0,0 +1,33 @@
+package com.seek.notifications.fanout;
+
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Una notificación lógica ("pedido enviado") para un usuario, con una variante por canal.
+ * <p>
+ * Cada variante es una Notification completa (destinatario y mensaje propios del canal); las variantes de canales
+ * que el usuario no tiene habilitados no se envían.
+ */
+public record FanOutNotification(String userId, List<Notification> variants) {
+
+    public FanOutNotification {
+        Objects.requireNonNull(userId);
+        variants = List.copyOf(variants);
+        if (variants.isEmpty()) throw new NotificationException("At least one variant is required");
+        Set<Channel> seen = EnumSet.noneOf(Channel.class);
+        for (Notification n : variants) {
+            if (!seen.add(n.channel())) throw new NotificationException("Duplicate variant for channel: " + n.channel());
+        }
+    }
+
+    public static FanOutNotification of(String userId, Notification... variants) {
+        return new FanOutNotification(userId, List.of(variants));
+    }
+}
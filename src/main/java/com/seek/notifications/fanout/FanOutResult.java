@@ -0,0 +1,27 @@
+package com.seek.notifications.fanout;
+
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.SendResult;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resultado agregado de un fan-out.
+ * <p>
+ * - results: canales que terminaron con un SendResult (exitoso o no).
+ * - errors: canales cuyo envío lanzó una excepción; con FIRST_SUCCESS, los cancelados llevan CancellationException.
+ * - skipped: canales con variante que el usuario no tiene habilitados.
+ * <p>
+ * success depende de la agregación: ALL exige que todos los canales enviados lo logren, ANY y FIRST_SUCCESS
+ * que al menos uno lo logre. Sin ningún canal enviado, success es false.
+ */
+public record FanOutResult(Aggregation aggregation, boolean success, Map<Channel, SendResult> results,
+                           Map<Channel, Throwable> errors, Set<Channel> skipped) {
+
+    public FanOutResult {
+        results = Map.copyOf(results);
+        errors = Map.copyOf(errors);
+        skipped = Set.copyOf(skipped);
+    }
+}
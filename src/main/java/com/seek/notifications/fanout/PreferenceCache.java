@@ -0,0 +1,76 @@
+package com.seek.notifications.fanout;
+
+import com.seek.notifications.cache.BoundedTtlCache;
+import com.seek.notifications.exceptions.NotificationException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Cache concurrente, acotada y con TTL delante de un PreferenceStore.
+ * <p>
+ * - Lecturas concurrentes del mismo usuario comparten una sola consulta al store (las demás esperan su resultado).
+ * - Los usuarios sin preferencias también se cachean, para no consultar el store por cada envío.
+ * - Un error del store no se cachea: se propaga y la siguiente lectura vuelve a consultar.
+ * <p>
+ * La expiración y el desalojo por maxEntries los resuelve BoundedTtlCache, igual que en IdempotencyCache.
+ */
+public final class PreferenceCache {
+
+    private final BoundedTtlCache<String, CompletableFuture<ChannelPreferences>> entries;
+    private final PreferenceStore store;
+
+    public PreferenceCache(PreferenceStore store, int maxEntries, Duration ttl) {
+        this.entries = new BoundedTtlCache<>(maxEntries, ttl);
+        this.store = Objects.requireNonNull(store);
+    }
+
+    /**
+     * Preferencias del usuario, consultando el store solo si no hay una entrada vigente.
+     *
+     * @throws NotificationException si el store falla.
+     */
+    public ChannelPreferences get(String userId) {
+        Objects.requireNonNull(userId);
+        CompletableFuture<ChannelPreferences> current = entries.get(userId);
+        return await(userId, (current != null) ? current : load(userId));
+    }
+
+    /**
+     * Descarta la entrada del usuario (por ejemplo, al cambiar sus preferencias).
+     */
+    public void invalidate(String userId) {
+        entries.remove(userId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private CompletableFuture<ChannelPreferences> load(String userId) {
+        CompletableFuture<ChannelPreferences> mine = new CompletableFuture<>();
+        CompletableFuture<ChannelPreferences> current = entries.putIfAbsent(userId, mine);
+        if (current != null) return current;
+        try {
+            ChannelPreferences loaded = store.load(userId);
+            mine.complete((loaded != null) ? loaded : ChannelPreferences.all());
+        } catch (RuntimeException e) {
+            entries.remove(userId, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    private static ChannelPreferences await(String userId, CompletableFuture<ChannelPreferences> value) {
+        try {
+            return value.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NotificationException("Interrupted loading preferences for " + userId, e);
+        } catch (ExecutionException e) {
+            throw new NotificationException("Cannot load preferences for " + userId, e.getCause());
+        }
+    }
+}
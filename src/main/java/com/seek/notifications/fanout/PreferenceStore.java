@@ -0,0 +1,15 @@
+package com.seek.notifications.fanout;
+
+/**
+ * Fuente de preferencias de canal (base de datos, servicio de perfiles, ...).
+ * <p>
+ * Puede bloquear; FanOutClient la consulta a través de PreferenceCache para no llamarla en cada envío.
+ */
+@FunctionalInterface
+public interface PreferenceStore {
+
+    /**
+     * @return preferencias del usuario, o null si no tiene (se usan todos los canales).
+     */
+    ChannelPreferences load(String userId);
+}
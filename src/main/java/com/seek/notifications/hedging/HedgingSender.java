@@ -0,0 +1,281 @@
+package com.seek.notifications.hedging;
+
+import com.seek.notifications.client.CorrelationIdGenerator;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.metrics.LatencyHistogram;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+import com.seek.notifications.spi.NotificationSender;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator de hedging (envío de respaldo) para canales sensibles a latencia, como OTP por SMS.
+ * <p>
+ * Si el intento principal no respondió tras el percentil configurado de la latencia observada (por ejemplo, p95),
+ * lanza un segundo intento (al mismo provider o a uno alternativo) y retorna el primer resultado exitoso.
+ * <p>
+ * Resguardos contra duplicados y sobrecarga:
+ * - A lo sumo un intento extra por envío; ambos llevan el mismo correlationId (se genera si falta) para que
+ * el provider pueda deduplicar con su idempotency key.
+ * - Al ganar un intento, el otro se cancela (interrumpiendo su hilo); su resultado se descarta. Si el cancelado es
+ * el principal, su espera hasta la cancelación entra al percentil como muestra censurada.
+ * - Presupuesto: los hedges no superan la fracción {@code budget} de los envíos (más una ráfaga pequeña).
+ * <p>
+ * Los intentos corren en {@code executor}; send() bloquea al llamador hasta el resultado.
+ */
+public final class HedgingSender implements NotificationSender {
+
+    // Créditos en milésimas de hedge: cada envío deposita budget * 1000, un hedge cuesta 1000.
+    private static final long HEDGE_COST = 1000;
+    private static final long REFRESH_EVERY = 128;
+    private static final long RESET_AFTER = 10_000;
+
+    private final NotificationSender primary;
+    private final NotificationSender alternate;
+    private final Executor executor;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long minSamples;
+    private final long creditPerSend;
+    private final long maxCredits;
+    private final CorrelationIdGenerator correlationIds = CorrelationIdGenerator.monotonic();
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLong sends = new AtomicLong();
+    private final AtomicLong credits = new AtomicLong();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private volatile long delayNanos;
+
+    private HedgingSender(Builder b) {
+        this.primary = b.primary;
+        this.alternate = (b.alternate != null) ? b.alternate : b.primary;
+        this.executor = b.executor;
+        this.percentile = b.percentile;
+        this.minDelayNanos = b.minDelay.toNanos();
+        this.minSamples = b.minSamples;
+        this.creditPerSend = Math.round(b.budget * HEDGE_COST);
+        this.maxCredits = b.maxBurst * HEDGE_COST;
+        this.delayNanos = Math.max(minDelayNanos, b.initialDelay.toNanos());
+        // Se parte con la ráfaga completa disponible.
+        this.credits.set(maxCredits);
+    }
+
+    @Override
+    public Channel channel() {
+        return primary.channel();
+    }
+
+    @Override
+    public String providerName() {
+        return primary.providerName();
+    }
+
+    /**
+     * Hedges lanzados desde la creación.
+     */
+    public long hedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * Veces que el intento de respaldo respondió primero.
+     */
+    public long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Espera actual antes de lanzar un hedge.
+     */
+    public Duration hedgeDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    @Override
+    public SendResult send(Notification notification) {
+        Notification n = withCorrelationId(notification);
+        long delay = nextDelay();
+        deposit();
+
+        ExecutorCompletionService<SendResult> attempts = new ExecutorCompletionService<>(executor);
+        long start = System.nanoTime();
+        Future<SendResult> first = attempts.submit(() -> timed(primary, n));
+        Future<SendResult> hedge = null;
+        try {
+            Future<SendResult> done = attempts.poll(delay, TimeUnit.NANOSECONDS);
+            if (done == null && tryWithdraw()) {
+                hedge = attempts.submit(() -> timed(alternate, n));
+                hedges.increment();
+            }
+            if (done == null) done = attempts.take();
+
+            Future<SendResult> other = (done == first) ? hedge : first;
+            Outcome outcome = outcomeOf(done);
+            if (other != null && !outcome.succeeded()) {
+                // El primero en responder falló: se espera al otro antes de rendirse.
+                done = attempts.take();
+                other = null;
+                outcome = outcomeOf(done);
+            }
+            if (other != null && other.cancel(true) && other == first) {
+                // El principal perdió contra el hedge: lo que lleva esperando es una cota inferior de su latencia.
+                // Sin esta muestra el percentil solo vería a los ganadores y la espera se acortaría sola.
+                latencies.record(System.nanoTime() - start);
+            }
+            if (done == hedge && outcome.succeeded()) hedgeWins.increment();
+            return outcome.get();
+        } catch (InterruptedException e) {
+            first.cancel(true);
+            if (hedge != null) hedge.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SendFailedException("Interrupted waiting for hedged send", e);
+        }
+    }
+
+    private SendResult timed(NotificationSender sender, Notification n) {
+        long start = System.nanoTime();
+        SendResult result = sender.send(n);
+        // Solo intentos completos y exitosos alimentan el percentil (un fallo rápido no debe acortar la espera).
+        // Un intento cancelado ya quedó registrado por send() al cancelarlo.
+        if (result.success() && !Thread.currentThread().isInterrupted()) latencies.record(System.nanoTime() - start);
+        return result;
+    }
+
+    private long nextDelay() {
+        if (sends.incrementAndGet() % REFRESH_EVERY == 0 && latencies.count() >= minSamples) {
+            delayNanos = Math.max(minDelayNanos, latencies.percentile(percentile));
+            // Reiniciar de vez en cuando mantiene el percentil sobre latencias recientes.
+            if (latencies.count() >= RESET_AFTER) latencies.reset();
+        }
+        return delayNanos;
+    }
+
+    private void deposit() {
+        long c = credits.get();
+        while (c < maxCredits && !credits.compareAndSet(c, Math.min(maxCredits, c + creditPerSend))) c = credits.get();
+    }
+
+    private boolean tryWithdraw() {
+        long c = credits.get();
+        while (c >= HEDGE_COST) {
+            if (credits.compareAndSet(c, c - HEDGE_COST)) return true;
+            c = credits.get();
+        }
+        return false;
+    }
+
+    private Notification withCorrelationId(Notification n) {
+        String corr = n.metadata().correlationId();
+        if (corr != null && !corr.isBlank()) return n;
+        return new Notification(n.channel(), n.recipient(), n.message(), n.metadata().withCorrelationId(correlationIds.next()));
+    }
+
+    private record Outcome(SendResult result, RuntimeException error) {
+        boolean succeeded() {
+            return result != null && result.success();
+        }
+
+        SendResult get() {
+            if (error != null) throw error;
+            return result;
+        }
+    }
+
+    private static Outcome outcomeOf(Future<SendResult> done) throws InterruptedException {
+        try {
+            return new Outcome(done.get(), null);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            RuntimeException error = (cause instanceof RuntimeException re) ? re
+                    : new SendFailedException("Hedged attempt failed", cause);
+            return new Outcome(null, error);
+        }
+    }
+
+    public static Builder builder(NotificationSender primary, Executor executor) {
+        return new Builder(primary, executor);
+    }
+
+    public static final class Builder {
+        private final NotificationSender primary;
+        private final Executor executor;
+        private NotificationSender alternate;
+        private double percentile = 95;
+        private Duration initialDelay = Duration.ofSeconds(1);
+        private Duration minDelay = Duration.ofMillis(1);
+        private long minSamples = 100;
+        private double budget = 0.05;
+        private int maxBurst = 10;
+
+        private Builder(NotificationSender primary, Executor executor) {
+            this.primary = Objects.requireNonNull(primary);
+            this.executor = Objects.requireNonNull(executor);
+        }
+
+        /**
+         * Provider para el intento de respaldo (por defecto, el mismo). Debe ser del mismo canal.
+         */
+        public Builder hedgeTo(NotificationSender alternate) {
+            this.alternate = Objects.requireNonNull(alternate);
+            return this;
+        }
+
+        /**
+         * Percentil (0..100) de la latencia observada tras el cual se lanza el hedge.
+         */
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Espera usada hasta tener {@code minSamples} mediciones.
+         */
+        public Builder initialDelay(Duration initialDelay, long minSamples) {
+            this.initialDelay = Objects.requireNonNull(initialDelay);
+            this.minSamples = minSamples;
+            return this;
+        }
+
+        /**
+         * Piso de la espera, para no duplicar envíos cuando el provider es muy rápido.
+         */
+        public Builder minDelay(Duration minDelay) {
+            this.minDelay = Objects.requireNonNull(minDelay);
+            return this;
+        }
+
+        /**
+         * Fracción máxima de envíos que pueden tener hedge (0.05 = 5%) y ráfaga máxima acumulable.
+         */
+        public Builder budget(double budget, int maxBurst) {
+            this.budget = budget;
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        public HedgingSender build() {
+            if (alternate != null && alternate.channel() != primary.channel())
+                throw new NotificationException("Hedge provider must serve channel: " + primary.channel());
+            if (percentile <= 0 || percentile > 100) throw new NotificationException("percentile must be in (0, 100]");
+            if (budget < 0 || budget > 1) throw new NotificationException("budget must be in [0, 1]");
+            if (maxBurst < 1) throw new NotificationException("maxBurst must be >= 1");
+            if (minSamples < 1) throw new NotificationException("minSamples must be >= 1");
+            if (minDelay.isNegative() || initialDelay.isNegative())
+                throw new NotificationException("delays must not be negative");
+            return new HedgingSender(this);
+        }
+    }
+}
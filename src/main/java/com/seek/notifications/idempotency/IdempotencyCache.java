@@ -0,0 +1,62 @@
+package com.seek.notifications.idempotency;
+
+import com.seek.notifications.cache.BoundedTtlCache;
+import com.seek.notifications.models.SendResult;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cache concurrente, acotada y con TTL de envíos recientes (llave -> resultado).
+ * <p>
+ * Se guarda el CompletableFuture del envío, no solo el resultado: un duplicado que llega mientras el original
+ * está en vuelo espera ese mismo future en lugar de llamar otra vez al provider.
+ * <p>
+ * La expiración y el desalojo por maxEntries los resuelve BoundedTtlCache.
+ */
+public final class IdempotencyCache {
+
+    private final BoundedTtlCache<Object, CompletableFuture<SendResult>> entries;
+    private final IdempotencyKey keys;
+
+    public IdempotencyCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, IdempotencyKey.byCorrelationIdOrContent());
+    }
+
+    public IdempotencyCache(int maxEntries, Duration ttl, IdempotencyKey keys) {
+        this.entries = new BoundedTtlCache<>(maxEntries, ttl);
+        this.keys = Objects.requireNonNull(keys);
+    }
+
+    public IdempotencyKey keys() {
+        return keys;
+    }
+
+    /**
+     * Registra {@code pending} para la llave si no hay una entrada vigente.
+     *
+     * @return el future de la entrada vigente (duplicado), o null si {@code pending} quedó registrado.
+     */
+    public CompletableFuture<SendResult> putIfAbsent(Object key, CompletableFuture<SendResult> pending) {
+        return entries.putIfAbsent(key, pending);
+    }
+
+    /**
+     * Future vigente para la llave, o null.
+     */
+    public CompletableFuture<SendResult> get(Object key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Quita la entrada solo si sigue siendo {@code pending} (por ejemplo, si el envío falló y debe poder reintentarse).
+     */
+    public void remove(Object key, CompletableFuture<SendResult> pending) {
+        entries.remove(key, pending);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
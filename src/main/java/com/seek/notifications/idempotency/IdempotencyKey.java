@@ -0,0 +1,55 @@
+package com.seek.notifications.idempotency;
+
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Message;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.Recipient;
+
+/**
+ * Estrategia para obtener la llave de deduplicación de una notificación.
+ * Retornar null significa "no deduplicar esta notificación".
+ */
+@FunctionalInterface
+public interface IdempotencyKey {
+
+    Object keyOf(Notification notification);
+
+    /**
+     * Llave por contenido: mismo canal, destinatario y mensaje. Se compara por igualdad exacta (records),
+     * no por hash, así que no hay colisiones.
+     */
+    record Content(Channel channel, Recipient recipient, Message message) {
+    }
+
+    /**
+     * Llave por correlationId dentro de un canal: las variantes de una misma notificación lógica (fan-out) comparten
+     * correlationId pero no son duplicados entre sí.
+     */
+    record CorrelationId(Channel channel, String correlationId) {
+    }
+
+    /**
+     * Solo deduplica notificaciones que traen correlationId; la llave es (canal, correlationId).
+     */
+    static IdempotencyKey byCorrelationId() {
+        return n -> {
+            String corr = n.metadata().correlationId();
+            return (corr == null || corr.isBlank()) ? null : new CorrelationId(n.channel(), corr);
+        };
+    }
+
+    static IdempotencyKey byContent() {
+        return n -> new Content(n.channel(), n.recipient(), n.message());
+    }
+
+    /**
+     * correlationId si existe; si no, el contenido.
+     */
+    static IdempotencyKey byCorrelationIdOrContent() {
+        IdempotencyKey corr = byCorrelationId();
+        return n -> {
+            Object key = corr.keyOf(n);
+            return (key != null) ? key : new Content(n.channel(), n.recipient(), n.message());
+        };
+    }
+}
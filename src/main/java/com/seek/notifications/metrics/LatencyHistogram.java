@@ -0,0 +1,91 @@
+package com.seek.notifications.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias log-lineal (estilo HDR), lock-free y sin asignaciones al registrar.
+ * <p>
+ * Cada potencia de dos se divide en 32 sub-buckets, lo que da un error relativo máximo de ~3%
+ * en cualquier rango (de nanosegundos a horas) con un arreglo fijo de ~1.9k contadores.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(v));
+        total.increment();
+        sum.add(v);
+        long current = max.get();
+        while (v > current && !max.compareAndSet(current, v)) current = max.get();
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = total.sum();
+        return (n == 0) ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Valor aproximado del percentil {@code p} (0..100). Con escrituras concurrentes el resultado es
+     * consistente "a grandes rasgos", suficiente para monitoreo.
+     */
+    public long percentile(double p) {
+        long n = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(representative(i), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    static int indexOf(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        int shift = msb - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((v >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Punto medio del rango de valores que caen en el bucket.
+     */
+    static long representative(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+        long lower = sub << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+}
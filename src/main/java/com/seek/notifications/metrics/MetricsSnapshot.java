@@ -0,0 +1,39 @@
+package com.seek.notifications.metrics;
+
+import com.seek.notifications.models.Channel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Foto inmutable de SendMetrics. Las latencias están en nanosegundos.
+ * window: tiempo transcurrido desde la creación o el último reset(), usado para el throughput.
+ * concurrency: estado de los limitadores de concurrencia registrados (valores instantáneos, no acumulados).
+ */
+public record MetricsSnapshot(Instant takenAt, Duration window, List<Series> series, List<Concurrency> concurrency) {
+
+    public MetricsSnapshot {
+        series = List.copyOf(series);
+        concurrency = List.copyOf(concurrency);
+    }
+
+    public MetricsSnapshot(Instant takenAt, Duration window, List<Series> series) {
+        this(takenAt, window, series, List.of());
+    }
+
+    public record Series(Channel channel, String provider, SendMetrics.Outcome outcome, long count,
+                         double meanNanos, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+    }
+
+    /**
+     * limit: envíos simultáneos permitidos ahora; shed: rechazados desde la creación del limitador.
+     */
+    public record Concurrency(Channel channel, String provider, int limit, int inFlight, int queued, long shed) {
+    }
+
+    public double throughputPerSecond(Series s) {
+        long nanos = window.toNanos();
+        return (nanos == 0) ? 0 : s.count() * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,91 @@
+package com.seek.notifications.metrics;
+
+import com.seek.notifications.models.Channel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de envío por canal / provider / resultado: conteos, throughput y latencias (p50/p99/p999).
+ * <p>
+ * NotificationClient la alimenta directamente (Builder.metrics) midiendo con System.nanoTime() la llamada
+ * al provider; no depende del EventBus ni de los Instant de los eventos.
+ * <p>
+ * record() no toma locks ni asigna objetos una vez que la serie existe (la primera vez por provider crea la serie).
+ * <p>
+ * Los limitadores de concurrencia (AdaptiveConcurrencySender) se registran como gauges: el snapshot incluye
+ * su límite actual, envíos en curso y en espera.
+ */
+public final class SendMetrics {
+
+    public enum Outcome {SUCCESS, FAILURE}
+
+    private final Map<Channel, ConcurrentHashMap<String, LatencyHistogram[]>> byChannel = new EnumMap<>(Channel.class);
+    private final List<Supplier<MetricsSnapshot.Concurrency>> concurrencyGauges = new CopyOnWriteArrayList<>();
+    private volatile long startedAtNanos = System.nanoTime();
+
+    public SendMetrics() {
+        for (Channel c : Channel.values()) byChannel.put(c, new ConcurrentHashMap<>());
+    }
+
+    public void record(Channel channel, String provider, Outcome outcome, long latencyNanos) {
+        ConcurrentHashMap<String, LatencyHistogram[]> byProvider = byChannel.get(channel);
+        LatencyHistogram[] series = byProvider.get(provider);
+        if (series == null) series = byProvider.computeIfAbsent(provider, p -> newSeries());
+        series[outcome.ordinal()].record(latencyNanos);
+    }
+
+    /**
+     * Registra un gauge de concurrencia; se consulta en cada snapshot().
+     */
+    public void registerConcurrency(Supplier<MetricsSnapshot.Concurrency> gauge) {
+        concurrencyGauges.add(gauge);
+    }
+
+    /**
+     * Foto de las series con al menos un envío registrado y de los gauges de concurrencia.
+     */
+    public MetricsSnapshot snapshot() {
+        Duration window = Duration.ofNanos(System.nanoTime() - startedAtNanos);
+        List<MetricsSnapshot.Series> series = new ArrayList<>();
+        for (var channel : byChannel.entrySet()) {
+            for (var provider : channel.getValue().entrySet()) {
+                for (Outcome outcome : Outcome.values()) {
+                    LatencyHistogram h = provider.getValue()[outcome.ordinal()];
+                    long count = h.count();
+                    if (count == 0) continue;
+                    series.add(new MetricsSnapshot.Series(channel.getKey(), provider.getKey(), outcome, count,
+                            h.mean(), h.percentile(50), h.percentile(99), h.percentile(99.9), h.max()));
+                }
+            }
+        }
+        List<MetricsSnapshot.Concurrency> concurrency = new ArrayList<>(concurrencyGauges.size());
+        for (Supplier<MetricsSnapshot.Concurrency> gauge : concurrencyGauges) concurrency.add(gauge.get());
+        return new MetricsSnapshot(Instant.now(), window, series, concurrency);
+    }
+
+    /**
+     * Reinicia contadores y la ventana de throughput (por ejemplo, después de exportar un snapshot).
+     */
+    public void reset() {
+        for (var byProvider : byChannel.values()) {
+            for (LatencyHistogram[] series : byProvider.values()) {
+                for (LatencyHistogram h : series) h.reset();
+            }
+        }
+        startedAtNanos = System.nanoTime();
+    }
+
+    private static LatencyHistogram[] newSeries() {
+        LatencyHistogram[] series = new LatencyHistogram[Outcome.values().length];
+        for (int i = 0; i < series.length; i++) series[i] = new LatencyHistogram();
+        return series;
+    }
+}
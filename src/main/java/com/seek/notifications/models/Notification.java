@@ -1,5 +1,6 @@
 package com.seek.notifications.models;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
 
@@ -10,7 +11,7 @@ import java.util.Objects;
  * - channel: canal de envío (EMAIL, SMS, PUSH, etc.)
  * - recipient: destinatario tipado (EmailRecipient, PhoneRecipient, DeviceRecipient)
  * - message: payload tipado del canal (EmailMessage, SmsMessage, PushMessage)
- * - metadata: datos de trazabilidad (correlationId, createdAt)
+ * - metadata: datos de trazabilidad y entrega (correlationId, createdAt, priority, deadline, sendAt)
  * <p>
  * Nota: La librería usa tipos específicos por canal para evitar mapas genéricos y errores en runtime.
  */
@@ -56,9 +57,68 @@ public record Notification(Channel channel, Recipient recipient, Message message
         }
     }
 
-    public record Metadata(String correlationId, Instant createdAt) {
+    /**
+     * deadline: instante después del cual el envío ya no sirve (por ejemplo, un OTP). null = sin deadline.
+     * Pasado el deadline no se llama al provider, los reintentos se detienen y sendAsync falla con
+     * DeadlineExceededException.
+     * <p>
+     * sendAt: instante programado de envío, usado por NotificationScheduler. null = inmediato.
+     * NotificationClient no lo interpreta: envía en el momento en que se le pide.
+     */
+    public record Metadata(String correlationId, Instant createdAt, Priority priority, Instant deadline, Instant sendAt) {
+        public Metadata {
+            priority = (priority == null) ? Priority.NORMAL : priority;
+        }
+
+        public Metadata(String correlationId, Instant createdAt) {
+            this(correlationId, createdAt, Priority.NORMAL, null, null);
+        }
+
+        public Metadata(String correlationId, Instant createdAt, Priority priority) {
+            this(correlationId, createdAt, priority, null, null);
+        }
+
+        public Metadata(String correlationId, Instant createdAt, Priority priority, Instant deadline) {
+            this(correlationId, createdAt, priority, deadline, null);
+        }
+
         public static Metadata empty() {
             return new Metadata(null, Instant.now());
         }
+
+        public Metadata withCorrelationId(String correlationId) {
+            return new Metadata(correlationId, createdAt, priority, deadline, sendAt);
+        }
+
+        public Metadata withPriority(Priority priority) {
+            return new Metadata(correlationId, createdAt, priority, deadline, sendAt);
+        }
+
+        public Metadata withDeadline(Instant deadline) {
+            return new Metadata(correlationId, createdAt, priority, deadline, sendAt);
+        }
+
+        public Metadata withSendAt(Instant sendAt) {
+            return new Metadata(correlationId, createdAt, priority, deadline, sendAt);
+        }
+
+        public Metadata withDelay(Duration delay) {
+            return withSendAt(Instant.now().plus(delay));
+        }
+
+        public Metadata withTimeout(Duration timeout) {
+            return withDeadline(Instant.now().plus(timeout));
+        }
+
+        /**
+         * Tiempo hasta el deadline (cero o negativo si ya venció); null si no hay deadline.
+         */
+        public Duration remaining() {
+            return (deadline == null) ? null : Duration.between(Instant.now(), deadline);
+        }
+
+        public boolean expired() {
+            return deadline != null && !Instant.now().isBefore(deadline);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.seek.notifications.models;
+
+/**
+ * Prioridad de entrega. Con un dispatcher configurado en NotificationClient, HIGH (por ejemplo, reset de contraseña)
+ * no espera detrás de LOW (campañas).
+ */
+public enum Priority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,148 @@
+package com.seek.notifications.outbox;
+
+import com.seek.notifications.codec.NotificationCodec;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Outbox durable con entrega at-least-once.
+ * <p>
+ * submit() persiste la notificación en el OutboxLog (con fsync agrupado) antes de aceptarla; los workers
+ * la entregan y luego registran el ACK. Si el proceso muere entre ambos pasos, la entrada se re-entrega
+ * al reabrir el outbox (por eso es at-least-once: el provider puede recibir duplicados).
+ * <p>
+ * Se marca como completada cualquier entrega que termine (exitosa, SendResult fallido o excepción):
+ * los reintentos ante errores transitorios son responsabilidad del sender (RetryingSender).
+ */
+public final class DurableOutbox implements AutoCloseable {
+
+    private record Task(long seq, Notification notification, CompletableFuture<SendResult> result) {
+    }
+
+    private static final Task STOP = new Task(-1, null, null);
+
+    private final OutboxConfig config;
+    private final OutboxLog log;
+    private final Function<Notification, SendResult> delivery;
+    private final LinkedBlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    // submit() toma la lectura (concurrentes entre sí) y close() la escritura: ningún submit queda a medias
+    // cuando close() vacía la cola, encola los STOP y cierra el log.
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    /**
+     * Abre (o crea) el log y encola las entradas pendientes de una ejecución anterior.
+     * Los workers no arrancan hasta start().
+     */
+    public DurableOutbox(OutboxConfig config, Function<Notification, SendResult> delivery) {
+        this.config = Objects.requireNonNull(config);
+        this.delivery = Objects.requireNonNull(delivery);
+        this.log = new OutboxLog(config);
+        for (OutboxLog.Recovered r : log.recovered()) {
+            queue.add(new Task(r.seq(), NotificationCodec.fromBytes(r.payload()), new CompletableFuture<>()));
+        }
+    }
+
+    public synchronized void start() {
+        if (!workers.isEmpty() || closed) return;
+        for (int i = 0; i < config.workers(); i++) {
+            Thread t = new Thread(this::workLoop, "notifications-outbox-" + (i + 1));
+            t.setDaemon(true);
+            workers.add(t);
+            t.start();
+        }
+    }
+
+    /**
+     * Persiste la notificación y la encola para entrega. Retorna cuando la entrada ya es durable.
+     * El future completa con el resultado de la entrega.
+     */
+    public CompletableFuture<SendResult> submit(Notification notification) {
+        Objects.requireNonNull(notification);
+        byte[] payload = NotificationCodec.toBytes(notification);
+        closeLock.readLock().lock();
+        try {
+            if (closed) throw new NotificationException("Outbox is closed");
+            long seq = log.append(payload);
+            CompletableFuture<SendResult> result = new CompletableFuture<>();
+            queue.add(new Task(seq, notification, result));
+            return result;
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Entradas aceptadas que aún no tienen ACK (en cola o en entrega).
+     */
+    public int pendingCount() {
+        return log.pendingCount();
+    }
+
+    int segmentCount() {
+        return log.segmentCount();
+    }
+
+    /**
+     * Detiene los workers tras la entrega en curso; lo que quede en cola permanece en el log
+     * y se re-entrega al reabrir.
+     */
+    @Override
+    public void close() {
+        List<Thread> started;
+        List<Task> abandoned = new ArrayList<>();
+        closeLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                if (closed) return;
+                closed = true;
+                started = List.copyOf(workers);
+            }
+            queue.drainTo(abandoned);
+            for (int i = 0; i < started.size(); i++) queue.add(STOP);
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        for (Task t : abandoned) {
+            if (t != STOP) t.result().completeExceptionally(
+                    new NotificationException("Outbox closed; entry " + t.seq() + " will be redelivered on restart"));
+        }
+        for (Thread t : started) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.close();
+    }
+
+    private void workLoop() {
+        while (true) {
+            Task task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == STOP) return;
+            try {
+                task.result().complete(delivery.apply(task.notification()));
+            } catch (RuntimeException e) {
+                task.result().completeExceptionally(e);
+            }
+            log.ack(task.seq());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.seek.notifications.outbox;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuración del outbox durable.
+ * <p>
+ * - directory: carpeta local donde viven los segmentos del log.
+ * - segmentBytes: tamaño fijo de cada segmento memory-mapped.
+ * - workers: hilos que entregan las notificaciones al provider.
+ * - flushLinger: espera opcional antes de cada fsync para agrupar más escrituras (ZERO = fsync en cuanto se pueda).
+ * - maxSegments: segmentos retenidos antes de compactar moviendo los pendientes del más antiguo al activo.
+ */
+public record OutboxConfig(Path directory, int segmentBytes, int workers, Duration flushLinger, int maxSegments) {
+
+    public OutboxConfig {
+        Objects.requireNonNull(directory);
+        Objects.requireNonNull(flushLinger);
+        if (segmentBytes < 4096) throw new NotificationException("segmentBytes must be >= 4096");
+        if (workers < 1) throw new NotificationException("workers must be >= 1");
+        if (maxSegments < 2) throw new NotificationException("maxSegments must be >= 2");
+        if (flushLinger.isNegative()) throw new NotificationException("flushLinger must not be negative");
+    }
+
+    public static OutboxConfig of(Path directory) {
+        return new OutboxConfig(directory, 16 * 1024 * 1024, 4, Duration.ZERO, 8);
+    }
+
+    public OutboxConfig withSegmentBytes(int segmentBytes) {
+        return new OutboxConfig(directory, segmentBytes, workers, flushLinger, maxSegments);
+    }
+
+    public OutboxConfig withWorkers(int workers) {
+        return new OutboxConfig(directory, segmentBytes, workers, flushLinger, maxSegments);
+    }
+
+    public OutboxConfig withFlushLinger(Duration flushLinger) {
+        return new OutboxConfig(directory, segmentBytes, workers, flushLinger, maxSegments);
+    }
+
+    public OutboxConfig withMaxSegments(int maxSegments) {
+        return new OutboxConfig(directory, segmentBytes, workers, flushLinger, maxSegments);
+    }
+}
@@ -0,0 +1,365 @@
+package com.seek.notifications.outbox;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log append-only del outbox, en segmentos de tamaño fijo memory-mapped.
+ * <p>
+ * Registro: [int largo][int crc32][byte tipo][long seq][payload]. Un largo 0 marca el fin del segmento
+ * (el archivo mapeado viene en ceros) y un CRC inválido marca una escritura incompleta (se descarta la cola).
+ * <p>
+ * - ENTRY: notificación aceptada; append() retorna solo cuando el registro está en disco.
+ * - ACK: la entrada {@code seq} terminó; no se espera su fsync (perderlo solo provoca una re-entrega).
+ * <p>
+ * Group commit: un hilo flusher hace un único force() por cada tanda de appends concurrentes y luego
+ * despierta a todos los que esperaban, en lugar de un fsync por notificación.
+ * <p>
+ * Compactación: se borran segmentos completos desde el más antiguo (un ACK siempre vive en el mismo segmento
+ * que su ENTRY o en uno más nuevo, así que borrar en orden nunca "resucita" entradas). Si hay más de
+ * maxSegments, los pendientes del segmento más antiguo se copian al activo antes de borrarlo.
+ */
+final class OutboxLog implements AutoCloseable {
+
+    private static final byte ENTRY = 1;
+    private static final byte ACK = 2;
+    private static final int HEADER = 4 + 4;
+    private static final int BODY_HEADER = 1 + 8;
+
+    record Recovered(long seq, byte[] payload) {
+    }
+
+    private static final class Segment {
+        final long id;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int pending;
+
+        Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private static final class Entry {
+        Segment segment;
+        final byte[] payload;
+
+        Entry(Segment segment, byte[] payload) {
+            this.segment = segment;
+            this.payload = payload;
+        }
+    }
+
+    private final OutboxConfig config;
+    private final Object lock = new Object();
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final Map<Long, Entry> pending = new HashMap<>();
+    private final List<Recovered> recovered;
+    private final Thread flusher;
+    private final CRC32 crc = new CRC32();
+
+    private Segment active;
+    private long nextSeq = 1;
+    private long lastEntrySeq;
+    private long durableSeq;
+    private boolean dirty;
+    private boolean closed;
+
+    OutboxLog(OutboxConfig config) {
+        this.config = config;
+        try {
+            Files.createDirectories(config.directory());
+            this.recovered = replay();
+            this.active = openSegment(nextSegmentId(), true);
+        } catch (IOException e) {
+            throw new NotificationException("Cannot open outbox at " + config.directory(), e);
+        }
+        synchronized (lock) {
+            compactLocked();
+        }
+        this.durableSeq = nextSeq - 1;
+        this.lastEntrySeq = durableSeq;
+        this.flusher = new Thread(this::flushLoop, "notifications-outbox-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Entradas sin ACK encontradas al abrir el log, en orden de seq.
+     */
+    List<Recovered> recovered() {
+        return recovered;
+    }
+
+    int pendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    int segmentCount() {
+        synchronized (lock) {
+            return segments.size();
+        }
+    }
+
+    /**
+     * Agrega una entrada y espera a que sea durable (fsync agrupado).
+     *
+     * @return seq asignado a la entrada.
+     */
+    long append(byte[] payload) {
+        long seq;
+        synchronized (lock) {
+            ensureOpen();
+            seq = nextSeq++;
+            write(ENTRY, seq, payload);
+            pending.put(seq, new Entry(active, payload));
+            active.pending++;
+            lastEntrySeq = seq;
+            lock.notifyAll();
+
+            while (durableSeq < seq) {
+                ensureOpen();
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new NotificationException("Interrupted waiting for outbox fsync", e);
+                }
+            }
+        }
+        return seq;
+    }
+
+    void ack(long seq) {
+        synchronized (lock) {
+            if (closed) return;
+            Entry entry = pending.remove(seq);
+            if (entry == null) return;
+            write(ACK, seq, null);
+            entry.segment.pending--;
+            dirty = true;
+            lock.notifyAll();
+            compactLocked();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            for (Segment s : segments) {
+                s.buffer.force();
+                try {
+                    s.channel.close();
+                } catch (IOException ignored) {
+                    // el contenido ya está en disco; cerrar el canal es best-effort
+                }
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target;
+            Segment segment;
+            synchronized (lock) {
+                while (!closed && lastEntrySeq == durableSeq && !dirty) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // solo se termina vía close()
+                    }
+                }
+                if (closed) return;
+            }
+            lingerIfConfigured();
+            synchronized (lock) {
+                target = lastEntrySeq;
+                segment = active;
+                dirty = false;
+            }
+            // Los segmentos anteriores se forzaron al rotar; basta con el activo.
+            segment.buffer.force();
+            synchronized (lock) {
+                if (target > durableSeq) durableSeq = target;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void lingerIfConfigured() {
+        if (config.flushLinger().isZero()) return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(config.flushLinger().toNanos());
+        } catch (InterruptedException ignored) {
+            // el flush se hace de todos modos
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new NotificationException("Outbox is closed");
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Escritura (siempre con lock tomado)
+
+    private void write(byte type, long seq, byte[] payload) {
+        int payloadLen = (payload != null) ? payload.length : 0;
+        int bodyLen = BODY_HEADER + payloadLen;
+        int recordLen = HEADER + bodyLen;
+        if (recordLen + 4 > config.segmentBytes()) {
+            throw new NotificationException("Outbox entry of " + payloadLen + " bytes does not fit in a segment");
+        }
+        if (active.buffer.remaining() < recordLen + 4) roll();
+
+        MappedByteBuffer buf = active.buffer;
+        int start = buf.position();
+        buf.position(start + HEADER);
+        buf.put(type);
+        buf.putLong(seq);
+        if (payload != null) buf.put(payload);
+
+        crc.reset();
+        crc.update(buf.duplicate().position(start + HEADER).limit(start + recordLen));
+        buf.putInt(start, bodyLen);
+        buf.putInt(start + 4, (int) crc.getValue());
+    }
+
+    private void roll() {
+        active.buffer.force();
+        try {
+            active = openSegment(active.id + 1, true);
+        } catch (IOException e) {
+            throw new NotificationException("Cannot create outbox segment", e);
+        }
+    }
+
+    private void compactLocked() {
+        while (segments.size() > 1 && segments.peekFirst() != active) {
+            Segment oldest = segments.peekFirst();
+            if (oldest.pending > 0) {
+                if (segments.size() <= config.maxSegments()) return;
+                copyForward(oldest);
+            }
+            segments.pollFirst();
+            try {
+                oldest.channel.close();
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException e) {
+                throw new NotificationException("Cannot delete outbox segment " + oldest.path, e);
+            }
+        }
+    }
+
+    private void copyForward(Segment oldest) {
+        for (var e : pending.entrySet()) {
+            Entry entry = e.getValue();
+            if (entry.segment != oldest) continue;
+            write(ENTRY, e.getKey(), entry.payload);
+            entry.segment = active;
+            active.pending++;
+            oldest.pending--;
+        }
+        // La copia debe ser durable antes de borrar el original.
+        active.buffer.force();
+    }
+
+    private Segment openSegment(long id, boolean create) throws IOException {
+        Path path = config.directory().resolve(String.format("outbox-%020d.seg", id));
+        FileChannel ch = create
+                ? FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = create ? config.segmentBytes() : ch.size();
+        MappedByteBuffer buffer = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        Segment segment = new Segment(id, path, ch, buffer);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private long nextSegmentId() {
+        return segments.isEmpty() ? 1 : segments.peekLast().id + 1;
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Replay
+
+    private List<Recovered> replay() throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> list = Files.list(config.directory())) {
+            list.forEach(p -> {
+                String name = p.getFileName().toString();
+                if (name.startsWith("outbox-") && name.endsWith(".seg")) {
+                    files.put(Long.parseLong(name.substring(7, name.length() - 4)), p);
+                }
+            });
+        }
+
+        Set<Long> acked = new HashSet<>();
+        long maxSeq = 0;
+        for (var f : files.entrySet()) {
+            Segment segment = openSegment(f.getKey(), false);
+            MappedByteBuffer buf = segment.buffer;
+            while (buf.remaining() >= HEADER) {
+                int start = buf.position();
+                int bodyLen = buf.getInt(start);
+                if (bodyLen < BODY_HEADER || bodyLen > buf.remaining() - HEADER) break;
+                crc.reset();
+                crc.update(buf.duplicate().position(start + HEADER).limit(start + HEADER + bodyLen));
+                if ((int) crc.getValue() != buf.getInt(start + 4)) break; // escritura incompleta
+
+                byte type = buf.get(start + HEADER);
+                long seq = buf.getLong(start + HEADER + 1);
+                maxSeq = Math.max(maxSeq, seq);
+                if (type == ENTRY) {
+                    byte[] payload = new byte[bodyLen - BODY_HEADER];
+                    buf.get(start + HEADER + BODY_HEADER, payload);
+                    // Una copia posterior (compactación) reemplaza a la anterior.
+                    pending.put(seq, new Entry(segment, payload));
+                } else if (type == ACK) {
+                    acked.add(seq);
+                }
+                buf.position(start + HEADER + bodyLen);
+            }
+        }
+
+        acked.forEach(pending::remove);
+        for (Entry e : pending.values()) e.segment.pending++;
+        nextSeq = maxSeq + 1;
+
+        List<Recovered> result = new ArrayList<>(pending.size());
+        new TreeMap<>(pending).forEach((seq, e) -> result.add(new Recovered(seq, e.payload)));
+        return List.copyOf(result);
+    }
+}
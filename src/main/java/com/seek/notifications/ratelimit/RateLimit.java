@@ -0,0 +1,25 @@
+package com.seek.notifications.ratelimit;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Límite de tasa: como máximo {@code permits} envíos por {@code period}, permitiendo ráfagas de hasta {@code permits}.
+ */
+public record RateLimit(int permits, Duration period) {
+    public RateLimit {
+        Objects.requireNonNull(period);
+        if (permits < 1) throw new NotificationException("permits must be >= 1");
+        if (period.isZero() || period.isNegative()) throw new NotificationException("period must be positive");
+    }
+
+    public static RateLimit perSecond(int permits) {
+        return new RateLimit(permits, Duration.ofSeconds(1));
+    }
+
+    public static RateLimit perMinute(int permits) {
+        return new RateLimit(permits, Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,184 @@
+package com.seek.notifications.ratelimit;
+
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+import com.seek.notifications.spi.NotificationSender;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator de rate limiting.
+ * <p>
+ * Aplica un token bucket al provider y, opcionalmente, uno por destinatario (por ejemplo, máximo 5 SMS por
+ * teléfono por minuto). Así las ráfagas se contienen antes de recibir 429 del provider.
+ * <p>
+ * - send(): espera (bloqueando) hasta maxWait por un permiso; con maxWait = 0 rechaza de inmediato.
+ * - sendAsync(): nunca bloquea; agenda el envío para cuando haya permiso o completa con el rechazo.
+ * <p>
+ * Un rechazo es un SendResult con SendResult.ErrorCode.TRANSIENT_ERROR (no se llama al provider).
+ * Composición sugerida: RateLimitedSender(CircuitBreakerSender(provider)), para que los rechazos
+ * locales no cuenten como fallas del provider.
+ */
+public final class RateLimitedSender implements NotificationSender {
+
+    private final NotificationSender delegate;
+    private final TokenBucket providerBucket;
+    private final RecipientBuckets recipientBuckets;
+    private final long maxWaitNanos;
+
+    private RateLimitedSender(Builder b) {
+        this.delegate = b.delegate;
+        this.providerBucket = (b.providerLimit != null) ? new TokenBucket(b.providerLimit) : null;
+        this.recipientBuckets = (b.recipientLimit != null) ? new RecipientBuckets(b.recipientLimit, b.maxRecipients) : null;
+        this.maxWaitNanos = b.maxWait.toNanos();
+    }
+
+    @Override
+    public Channel channel() {
+        return delegate.channel();
+    }
+
+    @Override
+    public String providerName() {
+        return delegate.providerName();
+    }
+
+    @Override
+    public SendResult send(Notification notification) {
+        long wait = reserve(notification);
+        if (wait < 0) return rejected();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SendFailedException("Interrupted waiting for rate limit permit", e);
+            }
+        }
+        return delegate.send(notification);
+    }
+
+    /**
+     * Variante no bloqueante: el envío corre en {@code executor} cuando hay permiso; si hay que esperar,
+     * se agenda en {@code scheduler}. Si la espera supera maxWait, el future completa con el rechazo.
+     */
+    public CompletableFuture<SendResult> sendAsync(Notification notification, ScheduledExecutorService scheduler, Executor executor) {
+        Objects.requireNonNull(scheduler);
+        Objects.requireNonNull(executor);
+        long wait = reserve(notification);
+        if (wait < 0) return CompletableFuture.completedFuture(rejected());
+
+        CompletableFuture<SendResult> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            if (result.isDone()) return;
+            try {
+                result.complete(delegate.send(notification));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+        try {
+            if (wait == 0) {
+                executor.execute(task);
+            } else {
+                scheduler.schedule(() -> {
+                    try {
+                        executor.execute(task);
+                    } catch (RejectedExecutionException e) {
+                        result.completeExceptionally(new SendFailedException("Send rejected by executor", e));
+                    }
+                }, wait, TimeUnit.NANOSECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new SendFailedException("Send rejected by executor", e));
+        }
+        return result;
+    }
+
+    /**
+     * Reserva permisos en todos los buckets aplicables.
+     *
+     * @return espera en nanos (0 = inmediato) o -1 si algún límite rechaza.
+     */
+    private long reserve(Notification notification) {
+        TokenBucket recipientBucket = (recipientBuckets != null) ? recipientBuckets.get(notification.recipient()) : null;
+
+        long recipientWait = 0;
+        if (recipientBucket != null) {
+            recipientWait = recipientBucket.reserve(maxWaitNanos);
+            if (recipientWait < 0) return -1;
+        }
+        long providerWait = 0;
+        if (providerBucket != null) {
+            providerWait = providerBucket.reserve(maxWaitNanos);
+            if (providerWait < 0) {
+                if (recipientBucket != null) recipientBucket.refund();
+                return -1;
+            }
+        }
+        return Math.max(recipientWait, providerWait);
+    }
+
+    private SendResult rejected() {
+        return SendResult.fail(providerName(), new SendResult.ErrorInfo(SendResult.ErrorCode.TRANSIENT_ERROR,
+                "Rate limit exceeded for provider=" + providerName(), null));
+    }
+
+    public static Builder builder(NotificationSender delegate) {
+        return new Builder(delegate);
+    }
+
+    public static final class Builder {
+        private final NotificationSender delegate;
+        private RateLimit providerLimit;
+        private RateLimit recipientLimit;
+        private int maxRecipients = 100_000;
+        private Duration maxWait = Duration.ZERO;
+
+        private Builder(NotificationSender delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        /**
+         * Límite global del provider (cuota de la API).
+         */
+        public Builder limit(RateLimit limit) {
+            this.providerLimit = Objects.requireNonNull(limit);
+            return this;
+        }
+
+        /**
+         * Límite por destinatario; se guardan como máximo {@code maxRecipients} buckets en memoria.
+         */
+        public Builder perRecipient(RateLimit limit, int maxRecipients) {
+            this.recipientLimit = Objects.requireNonNull(limit);
+            this.maxRecipients = maxRecipients;
+            return this;
+        }
+
+        /**
+         * Espera máxima por un permiso antes de rechazar (ZERO = rechazar de inmediato).
+         */
+        public Builder maxWait(Duration maxWait) {
+            this.maxWait = Objects.requireNonNull(maxWait);
+            return this;
+        }
+
+        public RateLimitedSender build() {
+            if (providerLimit == null && recipientLimit == null)
+                throw new NotificationException("At least one rate limit must be configured");
+            if (maxRecipients < 1) throw new NotificationException("maxRecipients must be >= 1");
+            if (maxWait.isNegative()) throw new NotificationException("maxWait must not be negative");
+            return new RateLimitedSender(this);
+        }
+    }
+}
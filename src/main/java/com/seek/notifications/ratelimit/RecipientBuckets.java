@@ -0,0 +1,48 @@
+package com.seek.notifications.ratelimit;
+
+import com.seek.notifications.models.Recipient;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buckets por destinatario en un mapa acotado.
+ * <p>
+ * Una entrada "expira" cuando su bucket vuelve a estar lleno (el destinatario no envió durante el periodo):
+ * descartarla es equivalente a conservarla. Al llegar a maxRecipients se purgan esas entradas; si aún no hay
+ * espacio suficiente se descartan entradas arbitrarias, lo que en el peor caso relaja el límite de esos destinatarios.
+ */
+final class RecipientBuckets {
+
+    private final RateLimit limit;
+    private final int maxRecipients;
+    private final ConcurrentHashMap<Recipient, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    RecipientBuckets(RateLimit limit, int maxRecipients) {
+        this.limit = limit;
+        this.maxRecipients = maxRecipients;
+    }
+
+    TokenBucket get(Recipient recipient) {
+        TokenBucket bucket = buckets.get(recipient);
+        if (bucket != null) return bucket;
+        if (buckets.size() >= maxRecipients) evict();
+        return buckets.computeIfAbsent(recipient, r -> new TokenBucket(limit));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(b -> b.isIdle(now));
+        // Se libera ~10% para no recorrer el mapa completo en cada destinatario nuevo.
+        int target = maxRecipients - Math.max(1, maxRecipients / 10);
+        Iterator<TokenBucket> it = buckets.values().iterator();
+        while (buckets.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
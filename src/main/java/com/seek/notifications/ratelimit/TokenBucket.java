@@ -0,0 +1,60 @@
+package com.seek.notifications.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket lock-free.
+ * <p>
+ * Se implementa como GCRA (equivalente a un token bucket): en lugar de contar tokens se guarda un único
+ * "tiempo teórico de llegada" (tat) en un AtomicLong y se actualiza con CAS. Cada permiso avanza tat en
+ * {@code period / permits}; se acepta mientras tat no supere "ahora + ráfaga".
+ * <p>
+ * reserve() permite reservar un permiso futuro y retorna cuánto hay que esperar, lo que habilita
+ * tanto el modo bloqueante (dormir) como el no bloqueante (agendar).
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(RateLimit limit) {
+        this.intervalNanos = Math.max(1, limit.period().toNanos() / limit.permits());
+        this.burstNanos = intervalNanos * (limit.permits() - 1);
+    }
+
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Reserva un permiso si la espera necesaria no supera {@code maxWaitNanos}.
+     *
+     * @return nanosegundos a esperar antes de usar el permiso (0 = inmediato), o -1 si se rechaza.
+     */
+    public long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long start = (current == Long.MIN_VALUE || current - now < 0) ? now : current;
+            long wait = start - burstNanos - now;
+            if (wait > maxWaitNanos) return -1;
+            if (tat.compareAndSet(current, start + intervalNanos)) return Math.max(0, wait);
+        }
+    }
+
+    /**
+     * Devuelve un permiso reservado que no se usó (por ejemplo, cuando otro límite rechazó el envío).
+     */
+    void refund() {
+        tat.getAndAdd(-intervalNanos);
+    }
+
+    /**
+     * true si el bucket está lleno (sin uso reciente): puede descartarse sin perder información.
+     */
+    boolean isIdle(long now) {
+        long current = tat.get();
+        return current == Long.MIN_VALUE || current - now <= 0;
+    }
+}
@@ -0,0 +1,301 @@
+package com.seek.notifications.registry;
+
+import com.seek.notifications.concurrency.InterruptibleTask;
+import com.seek.notifications.exceptions.DeadlineExceededException;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.metrics.SendMetrics;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+import com.seek.notifications.spi.AsyncNotificationSender;
+import com.seek.notifications.spi.NotificationSender;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Sender compuesto: varios providers para un mismo canal, con balanceo y failover.
+ * <p>
+ * - La elección del provider no toma locks: contadores atómicos y arrays inmutables.
+ * - Failover: si el elegido lanza una excepción (salvo ValidationException o DeadlineExceededException) o retorna
+ * TRANSIENT_ERROR, se prueba el siguiente provider; cada uno a lo sumo una vez por envío. Se retorna el último
+ * resultado, o una SendFailedException con el nombre del último provider que falló.
+ * - No hay failover si el envío fue cancelado: hilo interrumpido en send(), future ya completado en sendAsync().
+ * - Con SendMetrics, cada intento se registra con el nombre de su provider (no con el nombre compuesto).
+ * - Si todos los providers son AsyncNotificationSender no bloqueantes, sendAsync() encadena el failover sobre
+ * sus CompletionStage sin ocupar hilos; si no, sendAsync() ejecuta send() en el common pool (cancelar lo interrumpe).
+ * - SenderRegistry lo construye al registrar más de un sender para un canal (se reemplaza completo en cada registro).
+ */
+final class RoutedSender implements AsyncNotificationSender {
+
+    // Peso del nuevo valor en el promedio móvil de latencia (1/8).
+    private static final int EWMA_SHIFT = 3;
+
+    static final class Route {
+        final NotificationSender sender;
+        final int weight;
+        final AtomicInteger outstanding = new AtomicInteger();
+        final AtomicLong ewmaNanos = new AtomicLong();
+
+        Route(NotificationSender sender, int weight) {
+            this.sender = Objects.requireNonNull(sender);
+            if (weight < 1) throw new NotificationException("weight must be >= 1 for provider: " + sender.providerName());
+            this.weight = weight;
+        }
+    }
+
+    private final Channel channel;
+    private final String providerName;
+    private final Routing routing;
+    private final Route[] routes;
+    private final int[] schedule;
+    private final AtomicLong cursor = new AtomicLong();
+    private final boolean nonBlocking;
+    private final SendMetrics metrics;
+
+    RoutedSender(Channel channel, Routing routing, List<Route> routes, SendMetrics metrics) {
+        this.channel = Objects.requireNonNull(channel);
+        this.routing = Objects.requireNonNull(routing);
+        this.metrics = metrics;
+        this.routes = routes.toArray(Route[]::new);
+        this.providerName = routes.stream().map(r -> r.sender.providerName()).collect(Collectors.joining("|"));
+        this.schedule = smoothSchedule(this.routes);
+        boolean allAsync = true;
+        for (Route r : this.routes) {
+            allAsync &= r.sender instanceof AsyncNotificationSender a && a.isNonBlocking();
+        }
+        this.nonBlocking = allAsync;
+    }
+
+    @Override
+    public Channel channel() {
+        return channel;
+    }
+
+    /**
+     * Nombres de los providers separados por '|'. Cada SendResult trae el nombre del provider que lo atendió.
+     */
+    @Override
+    public String providerName() {
+        return providerName;
+    }
+
+    @Override
+    public SendResult send(Notification notification) {
+        int first = select();
+        RuntimeException lastError = null;
+        Route lastRoute = null;
+        SendResult lastResult = null;
+        for (int i = 0; i < routes.length; i++) {
+            // Interrumpido (cancelación o deadline del caller): no se prueba otro provider.
+            if (i > 0 && Thread.currentThread().isInterrupted()) break;
+            Route route = routes[(first + i) % routes.length];
+            try {
+                SendResult result = sendVia(route, notification);
+                if (!isTransient(result)) return result;
+                lastResult = result;
+                lastError = null;
+            } catch (ValidationException | DeadlineExceededException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                lastError = e;
+                lastRoute = route;
+                lastResult = null;
+            }
+        }
+        if (lastError != null) throw failed(lastRoute, lastError);
+        return lastResult;
+    }
+
+    /**
+     * La excepción final nombra al provider que falló; ValidationException y DeadlineExceededException se propagan tal cual.
+     */
+    private static RuntimeException failed(Route route, Throwable error) {
+        if (error instanceof ValidationException v) return v;
+        if (error instanceof DeadlineExceededException d) return d;
+        return new SendFailedException("Send failed via provider=" + route.sender.providerName(), error);
+    }
+
+    @Override
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    @Override
+    public CompletableFuture<SendResult> sendAsync(Notification notification) {
+        if (!nonBlocking) {
+            // Cancelar el future interrumpe send(), que deja de hacer failover.
+            InterruptibleTask<SendResult> task = new InterruptibleTask<>(() -> send(notification));
+            ForkJoinPool.commonPool().execute(task);
+            return task.result();
+        }
+        CompletableFuture<SendResult> result = new CompletableFuture<>();
+        attemptAsync(notification, select(), 0, result, null, null, null);
+        return result;
+    }
+
+    /**
+     * Intento {@code i} del failover asíncrono; cada provider se encadena al completar el anterior.
+     */
+    private void attemptAsync(Notification notification, int first, int i, CompletableFuture<SendResult> result,
+                              SendResult lastResult, Throwable lastError, Route lastRoute) {
+        if (result.isDone()) return;
+        if (i == routes.length) {
+            if (lastError != null) result.completeExceptionally(failed(lastRoute, lastError));
+            else result.complete(lastResult);
+            return;
+        }
+        Route route = routes[(first + i) % routes.length];
+        route.outstanding.incrementAndGet();
+        long start = System.nanoTime();
+        CompletionStage<SendResult> stage;
+        try {
+            stage = ((AsyncNotificationSender) route.sender).sendAsync(notification);
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<SendResult> inFlight = stage.toCompletableFuture();
+        result.whenComplete((r, e) -> {
+            if (e != null) inFlight.cancel(true);
+        });
+        stage.whenComplete((r, e) -> {
+            route.outstanding.decrementAndGet();
+            long elapsed = System.nanoTime() - start;
+            boolean ok = e == null && r.success();
+            if (routing == Routing.LATENCY_EWMA) recordLatency(route, elapsed, ok);
+            record(route, ok, elapsed);
+            Throwable error = unwrap(e);
+            if (error == null && !isTransient(r)) {
+                result.complete(r);
+            } else if (error instanceof ValidationException || error instanceof DeadlineExceededException) {
+                result.completeExceptionally(error);
+            } else {
+                attemptAsync(notification, first, i + 1, result, r, error, route);
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) e = e.getCause();
+        return e;
+    }
+
+    private SendResult sendVia(Route route, Notification notification) {
+        route.outstanding.incrementAndGet();
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            SendResult result = route.sender.send(notification);
+            ok = result.success();
+            return result;
+        } finally {
+            route.outstanding.decrementAndGet();
+            long elapsed = System.nanoTime() - start;
+            if (routing == Routing.LATENCY_EWMA) recordLatency(route, elapsed, ok);
+            record(route, ok, elapsed);
+        }
+    }
+
+    private void record(Route route, boolean success, long elapsedNanos) {
+        if (metrics == null) return;
+        metrics.record(channel, route.sender.providerName(),
+                success ? SendMetrics.Outcome.SUCCESS : SendMetrics.Outcome.FAILURE, elapsedNanos);
+    }
+
+    private int select() {
+        return switch (routing) {
+            case WEIGHTED_ROUND_ROBIN -> schedule[(int) Long.remainderUnsigned(cursor.getAndIncrement(), schedule.length)];
+            case LEAST_OUTSTANDING -> leastOutstanding();
+            case LATENCY_EWMA -> lowestLatency();
+        };
+    }
+
+    /**
+     * Menor outstanding / weight. Los empates se rompen rotando el inicio para no cargar siempre al primero.
+     */
+    private int leastOutstanding() {
+        int start = (int) Long.remainderUnsigned(cursor.getAndIncrement(), routes.length);
+        int best = start;
+        long bestLoad = routes[start].outstanding.get();
+        for (int i = 1; i < routes.length; i++) {
+            int idx = (start + i) % routes.length;
+            long load = routes[idx].outstanding.get();
+            // load / weight < bestLoad / bestWeight, sin divisiones
+            if (load * routes[best].weight < bestLoad * routes[idx].weight) {
+                best = idx;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Menor ewma * (outstanding + 1) / weight; un provider sin mediciones (ewma 0) gana siempre.
+     */
+    private int lowestLatency() {
+        int start = (int) Long.remainderUnsigned(cursor.getAndIncrement(), routes.length);
+        int best = start;
+        double bestCost = cost(routes[start]);
+        for (int i = 1; i < routes.length; i++) {
+            int idx = (start + i) % routes.length;
+            double c = cost(routes[idx]);
+            if (c < bestCost) {
+                best = idx;
+                bestCost = c;
+            }
+        }
+        return best;
+    }
+
+    private static double cost(Route r) {
+        return (double) r.ewmaNanos.get() * (r.outstanding.get() + 1) / r.weight;
+    }
+
+    /**
+     * Un fallo cuenta como el doble de lento (al menos), para que un provider que falla rápido no atraiga tráfico.
+     */
+    private static void recordLatency(Route route, long elapsedNanos, boolean success) {
+        long sample = Math.max(1, elapsedNanos);
+        while (true) {
+            long old = route.ewmaNanos.get();
+            long s = success ? sample : Math.max(sample, old) * 2;
+            long updated = (old == 0) ? s : old + ((s - old) >> EWMA_SHIFT);
+            if (route.ewmaNanos.compareAndSet(old, Math.max(1, updated))) return;
+        }
+    }
+
+    private static boolean isTransient(SendResult r) {
+        return !r.success() && r.error() != null && r.error().code() == SendResult.ErrorCode.TRANSIENT_ERROR;
+    }
+
+    /**
+     * Smooth weighted round-robin precalculado: un ciclo de largo sum(weights) con los providers intercalados.
+     */
+    private static int[] smoothSchedule(Route[] routes) {
+        int total = 0;
+        for (Route r : routes) total += r.weight;
+        if (total > 100_000) throw new NotificationException("Sum of weights must be <= 100000");
+        int[] schedule = new int[total];
+        long[] current = new long[routes.length];
+        for (int k = 0; k < total; k++) {
+            int best = 0;
+            for (int i = 0; i < routes.length; i++) {
+                current[i] += routes[i].weight;
+                if (current[i] > current[best]) best = i;
+            }
+            current[best] -= total;
+            schedule[k] = best;
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,15 @@
+package com.seek.notifications.registry;
+
+/**
+ * Estrategia para elegir entre varios senders registrados para el mismo canal.
+ * <p>
+ * - WEIGHTED_ROUND_ROBIN: reparte según el peso, intercalado (pesos 3 y 1 -> a, a, b, a, ...).
+ * - LEAST_OUTSTANDING: el que tiene menos envíos en vuelo en relación a su peso.
+ * - LATENCY_EWMA: el de menor latencia promedio móvil (EWMA) ponderada por sus envíos en vuelo;
+ * un sender sin mediciones se prueba primero.
+ */
+public enum Routing {
+    WEIGHTED_ROUND_ROBIN,
+    LEAST_OUTSTANDING,
+    LATENCY_EWMA
+}
@@ -1,10 +1,13 @@
 package com.seek.notifications.registry;
 
 import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.metrics.SendMetrics;
 import com.seek.notifications.models.Channel;
 import com.seek.notifications.spi.NotificationSender;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -13,19 +16,73 @@ import java.util.Objects;
  * <p>
  * Permite mapear un Channel -> NotificationSender, evitando if/switch en el cliente.
  * Agregar o cambiar un provider no requiere modificar NotificationClient.
+ * <p>
+ * Un canal puede tener varios providers (por ejemplo, dos proveedores SMS) registrados con
+ * register(sender, weight): get() retorna entonces un sender
+ * compuesto que balancea según la Routing del canal (por defecto WEIGHTED_ROUND_ROBIN) y hace failover
+ * ante errores transitorios. Con un único provider, get() retorna ese sender tal cual.
  */
 public final class SenderRegistry {
     private final Map<Channel, NotificationSender> byChannel = new EnumMap<>(Channel.class);
+    private final Map<Channel, List<RoutedSender.Route>> routes = new EnumMap<>(Channel.class);
+    private final Map<Channel, Routing> routing = new EnumMap<>(Channel.class);
+    private SendMetrics metrics;
 
+    /**
+     * Registra el sender de su canal, reemplazando cualquier provider registrado antes para ese canal.
+     */
     public SenderRegistry register(NotificationSender sender) {
         Objects.requireNonNull(sender);
-        byChannel.put(sender.channel(), sender);
+        routes.put(sender.channel(), new ArrayList<>(List.of(new RoutedSender.Route(sender, 1))));
+        resolve(sender.channel());
+        return this;
+    }
+
+    /**
+     * Agrega un provider a su canal junto a los ya registrados; el peso se usa para repartir tráfico entre
+     * providers del mismo canal.
+     */
+    public SenderRegistry register(NotificationSender sender, int weight) {
+        Objects.requireNonNull(sender);
+        routes.computeIfAbsent(sender.channel(), c -> new ArrayList<>()).add(new RoutedSender.Route(sender, weight));
+        resolve(sender.channel());
+        return this;
+    }
+
+    public SenderRegistry routing(Channel channel, Routing strategy) {
+        routing.put(Objects.requireNonNull(channel), Objects.requireNonNull(strategy));
+        if (routes.containsKey(channel)) resolve(channel);
         return this;
     }
 
+    /**
+     * Métricas para los canales con varios providers: cada intento se registra con el provider que lo atendió.
+     */
+    public SenderRegistry metrics(SendMetrics metrics) {
+        this.metrics = metrics;
+        routes.keySet().forEach(this::resolve);
+        return this;
+    }
+
+    /**
+     * true si el sender es el compuesto de un canal con varios providers; ese sender registra sus propias métricas
+     * por provider y nombra en sus errores al provider que falló.
+     */
+    public static boolean isRouted(NotificationSender sender) {
+        return sender instanceof RoutedSender;
+    }
+
     public NotificationSender get(Channel channel) {
         NotificationSender sender = byChannel.get(channel);
         if (sender == null) throw new NotificationException("No sender registered for channel: " + channel);
         return sender;
     }
-}
\ No newline at end of file
+
+    private void resolve(Channel channel) {
+        List<RoutedSender.Route> channelRoutes = routes.get(channel);
+        NotificationSender sender = (channelRoutes.size() == 1)
+                ? channelRoutes.get(0).sender
+                : new RoutedSender(channel, routing.getOrDefault(channel, Routing.WEIGHTED_ROUND_ROBIN), List.copyOf(channelRoutes), metrics);
+        byChannel.put(channel, sender);
+    }
+}
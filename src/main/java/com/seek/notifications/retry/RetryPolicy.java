@@ -0,0 +1,59 @@
+package com.seek.notifications.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Política de reintentos usada por RetryingSender.
+ * <p>
+ * - maxAttempts: intentos totales (incluye el primero).
+ * - initialBackoff / multiplier / maxBackoff: backoff exponencial acotado (multiplier = 1 equivale a backoff fijo).
+ * - jitter: fracción aleatoria (0..1) que se resta al backoff para evitar reintentos sincronizados entre instancias.
+ * - maxTotalTime: deadline total desde el primer intento; null significa sin deadline.
+ */
+public record RetryPolicy(int maxAttempts, Duration initialBackoff, double multiplier, Duration maxBackoff,
+                          double jitter, Duration maxTotalTime) {
+
+    public RetryPolicy {
+        maxAttempts = Math.max(1, maxAttempts);
+        initialBackoff = (initialBackoff == null || initialBackoff.isNegative()) ? Duration.ZERO : initialBackoff;
+        multiplier = Math.max(1.0, multiplier);
+        maxBackoff = (maxBackoff == null || maxBackoff.compareTo(initialBackoff) < 0) ? initialBackoff : maxBackoff;
+        jitter = Math.min(1.0, Math.max(0.0, jitter));
+    }
+
+    public static RetryPolicy fixed(int maxAttempts, Duration backoff) {
+        return new RetryPolicy(maxAttempts, backoff, 1.0, backoff, 0.0, null);
+    }
+
+    public static RetryPolicy exponential(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        return new RetryPolicy(maxAttempts, initialBackoff, 2.0, maxBackoff, 0.0, null);
+    }
+
+    public RetryPolicy withJitter(double jitter) {
+        return new RetryPolicy(maxAttempts, initialBackoff, multiplier, maxBackoff, jitter, maxTotalTime);
+    }
+
+    public RetryPolicy withMaxTotalTime(Duration maxTotalTime) {
+        return new RetryPolicy(maxAttempts, initialBackoff, multiplier, maxBackoff, jitter, maxTotalTime);
+    }
+
+    /**
+     * Espera antes del siguiente intento, después de que falló el intento número {@code failedAttempt} (1-based).
+     */
+    public Duration backoffAfter(int failedAttempt) {
+        if (initialBackoff.isZero()) return Duration.ZERO;
+        double nanos = initialBackoff.toNanos() * Math.pow(multiplier, failedAttempt - 1);
+        nanos = Math.min(nanos, maxBackoff.toNanos());
+        if (jitter > 0) nanos -= nanos * jitter * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofNanos((long) nanos);
+    }
+
+    /**
+     * true si esperar {@code delay} desde ahora supera el deadline total iniciado en {@code startNanos}.
+     */
+    public boolean exceedsDeadline(long startNanos, Duration delay) {
+        if (maxTotalTime == null) return false;
+        return System.nanoTime() - startNanos + delay.toNanos() > maxTotalTime.toNanos();
+    }
+}
@@ -3,31 +3,52 @@ package com.seek.notifications.retry;
 import com.seek.notifications.models.Channel;
 import com.seek.notifications.models.Notification;
 import com.seek.notifications.models.SendResult;
+import com.seek.notifications.spi.AsyncNotificationSender;
 import com.seek.notifications.spi.NotificationSender;
+import com.seek.notifications.exceptions.DeadlineExceededException;
 import com.seek.notifications.exceptions.SendFailedException;
 import com.seek.notifications.exceptions.ValidationException;
 
 import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Decorator de reintentos.
  * <p>
  * Envuelve un NotificationSender y reintenta el envío ante errores transitorios.
  * No reintenta ValidationException (porque es error del input).
+ * Tampoco reintenta si el siguiente intento empezaría después del deadline de la notificación
+ * (falla con DeadlineExceededException) ni si el hilo fue interrumpido (envío cancelado).
+ * <p>
+ * - send(): ruta síncrona, duerme el hilo actual entre intentos.
+ * - sendAsync(): agenda cada reintento en un ScheduledExecutorService, sin ocupar hilos durante el backoff.
+ * - Si el delegate es un AsyncNotificationSender no bloqueante, los intentos usan su sendAsync() y ningún
+ *   hilo queda ocupado mientras el provider responde.
  * <p>
  * Patrón: Decorator (añade comportamiento sin modificar el sender original).
  */
 
-public final class RetryingSender implements NotificationSender {
+public final class RetryingSender implements AsyncNotificationSender {
 
     private final NotificationSender delegate;
-    private final int maxAttempts;
-    private final Duration backoff;
+    private final RetryPolicy policy;
 
     public RetryingSender(NotificationSender delegate, int maxAttempts, Duration backoff) {
-        this.delegate = delegate;
-        this.maxAttempts = Math.max(1, maxAttempts);
-        this.backoff = (backoff == null) ? Duration.ZERO : backoff;
+        this(delegate, RetryPolicy.fixed(maxAttempts, backoff));
+    }
+
+    public RetryingSender(NotificationSender delegate, RetryPolicy policy) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.policy = Objects.requireNonNull(policy);
     }
 
     @Override
@@ -43,15 +64,26 @@ public final class RetryingSender implements NotificationSender {
     @Override
     public SendResult send(Notification notification) {
         RuntimeException last = null;
+        int maxAttempts = policy.maxAttempts();
+        long start = System.nanoTime();
 
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
             try {
                 return delegate.send(notification);
-            } catch (ValidationException e) {
+            } catch (ValidationException | DeadlineExceededException e) {
                 throw e;
             } catch (RuntimeException e) {
                 last = e;
-                if (attempt < maxAttempts && !backoff.isZero()) {
+                if (attempt == maxAttempts) break;
+                if (Thread.currentThread().isInterrupted()) throw new SendFailedException("Retry interrupted", e);
+                Duration backoff = policy.backoffAfter(attempt);
+                if (policy.exceedsDeadline(start, backoff)) {
+                    throw new SendFailedException("Retry deadline exceeded after " + attempt + " attempts", e);
+                }
+                if (expiresWithin(notification, backoff)) {
+                    throw new DeadlineExceededException("Notification deadline exceeded after " + attempt + " attempts", e);
+                }
+                if (!backoff.isZero()) {
                     try {
                         Thread.sleep(backoff.toMillis());
                     } catch (InterruptedException ie) {
@@ -63,4 +95,163 @@ public final class RetryingSender implements NotificationSender {
         }
         throw new SendFailedException("Send failed after " + maxAttempts + " attempts", last);
     }
+
+    /**
+     * Ruta asíncrona del SPI: backoff con CompletableFuture.delayedExecutor; si el delegate no es asíncrono,
+     * los intentos corren en el common pool.
+     */
+    @Override
+    public CompletableFuture<SendResult> sendAsync(Notification notification) {
+        Objects.requireNonNull(notification);
+        AsyncAttempt run = new AsyncAttempt(notification, null, ForkJoinPool.commonPool());
+        run.submit(Duration.ZERO);
+        return run.result;
+    }
+
+    @Override
+    public boolean isNonBlocking() {
+        return delegate instanceof AsyncNotificationSender a && a.isNonBlocking();
+    }
+
+    /**
+     * Ejecuta los intentos en el propio scheduler. Útil cuando el delegate es rápido o ya no bloquea.
+     */
+    public CompletableFuture<SendResult> sendAsync(Notification notification, ScheduledExecutorService scheduler) {
+        return sendAsync(notification, scheduler, scheduler);
+    }
+
+    /**
+     * Ruta asíncrona: los intentos corren en {@code executor} y el backoff se agenda en {@code scheduler},
+     * por lo que ningún hilo queda dormido esperando el siguiente intento.
+     * <p>
+     * El future falla con ValidationException (sin reintentos) o SendFailedException al agotar intentos/deadline.
+     * Cancelar el future evita que se agenden nuevos intentos.
+     */
+    public CompletableFuture<SendResult> sendAsync(Notification notification, ScheduledExecutorService scheduler, Executor executor) {
+        Objects.requireNonNull(notification);
+        Objects.requireNonNull(scheduler);
+        Objects.requireNonNull(executor);
+        AsyncAttempt run = new AsyncAttempt(notification, scheduler, executor);
+        run.submit(Duration.ZERO);
+        return run.result;
+    }
+
+    /**
+     * true si la notificación tiene deadline y vence antes de que termine {@code delay}.
+     */
+    private static boolean expiresWithin(Notification notification, Duration delay) {
+        Duration remaining = notification.metadata().remaining();
+        return remaining != null && remaining.compareTo(delay) <= 0;
+    }
+
+    private final class AsyncAttempt implements Runnable {
+        private final Notification notification;
+        private final ScheduledExecutorService scheduler;
+        private final Executor executor;
+        private final CompletableFuture<SendResult> result = new CompletableFuture<>();
+        private final AsyncNotificationSender nativeDelegate;
+        private final long start = System.nanoTime();
+        private int attempt = 0;
+        private volatile CompletableFuture<SendResult> inFlight;
+
+        /**
+         * @param scheduler null para agendar el backoff con CompletableFuture.delayedExecutor.
+         */
+        private AsyncAttempt(Notification notification, ScheduledExecutorService scheduler, Executor executor) {
+            this.notification = notification;
+            this.scheduler = scheduler;
+            this.executor = executor;
+            this.nativeDelegate = isNonBlocking() ? (AsyncNotificationSender) delegate : null;
+            if (nativeDelegate != null) {
+                // Cancelar el resultado aborta la llamada en curso.
+                result.whenComplete((r, e) -> {
+                    CompletableFuture<SendResult> current = inFlight;
+                    if (e != null && current != null) current.cancel(true);
+                });
+            }
+        }
+
+        private void submit(Duration backoff) {
+            try {
+                if (backoff.isZero()) {
+                    attemptNow();
+                } else if (scheduler == null) {
+                    CompletableFuture.delayedExecutor(backoff.toNanos(), TimeUnit.NANOSECONDS).execute(this::attemptNow);
+                } else if (executor == scheduler && nativeDelegate == null) {
+                    scheduler.schedule(this, backoff.toNanos(), TimeUnit.NANOSECONDS);
+                } else {
+                    scheduler.schedule(() -> submit(Duration.ZERO), backoff.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(new SendFailedException("Retry rejected by executor", e));
+            }
+        }
+
+        private void attemptNow() {
+            if (nativeDelegate == null) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    result.completeExceptionally(new SendFailedException("Retry rejected by executor", e));
+                }
+                return;
+            }
+            if (result.isDone()) return;
+            attempt++;
+            CompletionStage<SendResult> stage;
+            try {
+                stage = nativeDelegate.sendAsync(notification);
+            } catch (RuntimeException e) {
+                onFailure(e);
+                return;
+            }
+            inFlight = stage.toCompletableFuture();
+            stage.whenComplete((r, e) -> {
+                if (e == null) {
+                    result.complete(r);
+                } else {
+                    onFailure(unwrap(e));
+                }
+            });
+            if (result.isDone()) inFlight.cancel(true);
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) return;
+            attempt++;
+            try {
+                result.complete(delegate.send(notification));
+            } catch (RuntimeException e) {
+                onFailure(e);
+            }
+        }
+
+        private void onFailure(Throwable e) {
+            if (result.isDone()) return;
+            if (e instanceof ValidationException || e instanceof DeadlineExceededException) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (attempt >= policy.maxAttempts()) {
+                result.completeExceptionally(new SendFailedException("Send failed after " + attempt + " attempts", e));
+                return;
+            }
+            Duration backoff = policy.backoffAfter(attempt);
+            if (policy.exceedsDeadline(start, backoff)) {
+                result.completeExceptionally(new SendFailedException("Retry deadline exceeded after " + attempt + " attempts", e));
+                return;
+            }
+            if (expiresWithin(notification, backoff)) {
+                result.completeExceptionally(new DeadlineExceededException("Notification deadline exceeded after " + attempt + " attempts", e));
+                return;
+            }
+            submit(backoff);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) e = e.getCause();
+        return e;
+    }
 }
@@ -0,0 +1,434 @@
+package com.seek.notifications.schedule;
+
+import com.seek.notifications.client.CorrelationIdGenerator;
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.codec.NotificationCodec;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Envíos programados ("mañana a las 9", "recordar en 24 h") sobre una timer wheel jerárquica.
+ * <p>
+ * - Niveles de 64 slots: el nivel 0 cubre 64 ticks, el 1 cubre 64², etc. Cada entrada va al nivel más bajo que
+ * alcanza su vencimiento y, cuando ese slot llega, baja (cascada) a un nivel inferior hasta vencer en el nivel 0.
+ * - Los slots son listas doblemente enlazadas intrusivas: programar y cancelar son O(1), sin colas ordenadas ni
+ * objetos de timer, así millones de envíos pendientes cuestan poco más que sus propias notificaciones.
+ * - Cancelación por correlationId (O(1) vía índice) o cancelando el future retornado. Sin correlationId se asigna uno.
+ * - Persistencia opcional: el conjunto pendiente se guarda en un archivo (periódicamente y en close()) y se recarga
+ * al construir; lo que venció mientras el proceso estaba detenido sale en el primer tick.
+ * <p>
+ * La precisión es de un tick (por defecto 1 s). Para "a las 9 hora local" se programa con
+ * {@code ZonedDateTime.of(fecha, LocalTime.of(9, 0), zona).toInstant()}.
+ */
+public final class NotificationScheduler implements AutoCloseable {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int SNAPSHOT_MAGIC = 0x4E534348; // "NSCH"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * Envío pendiente. prev/next/level/slot solo se tocan con wheelLock.
+     */
+    private static final class Entry {
+        final Notification notification;
+        final String id;
+        final long dueTick;
+        final CompletableFuture<SendResult> result = new CompletableFuture<>();
+        Entry prev;
+        Entry next;
+        int level = -1;
+        int slot;
+
+        Entry(Notification notification, String id, long dueTick) {
+            this.notification = notification;
+            this.id = id;
+            this.dueTick = dueTick;
+        }
+    }
+
+    private final Function<Notification, CompletableFuture<SendResult>> sink;
+    private final CorrelationIdGenerator correlationIds;
+    private final long tickNanos;
+    private final long maxTicks;
+    private final Path persistence;
+    private final Instant epoch;
+    private final long epochNanos;
+
+    private final Object wheelLock = new Object();
+    // [nivel][slot] -> cabeza de la lista
+    private final Entry[][] wheel;
+    private final Map<String, Entry> byId = new HashMap<>();
+    private long currentTick;
+    private boolean closed;
+    private final ScheduledExecutorService ticker;
+
+    private NotificationScheduler(Builder b) {
+        this.sink = b.sink;
+        this.correlationIds = b.correlationIds;
+        this.tickNanos = b.tick.toNanos();
+        this.persistence = b.persistence;
+        long horizonTicks = Math.max(1, b.horizon.toNanos() / tickNanos);
+        int levels = 1;
+        while (levels * SLOT_BITS < 62 && (1L << (levels * SLOT_BITS)) <= horizonTicks) levels++;
+        this.wheel = new Entry[levels][SLOTS];
+        this.maxTicks = (levels * SLOT_BITS >= 62) ? Long.MAX_VALUE : (1L << (levels * SLOT_BITS)) - 1;
+        this.epoch = Instant.now();
+        this.epochNanos = System.nanoTime();
+        if (persistence != null) restore();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notifications-scheduler-ticker");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        if (persistence != null && !b.snapshotInterval.isZero()) {
+            long every = b.snapshotInterval.toNanos();
+            ticker.scheduleAtFixedRate(this::snapshotQuietly, every, every, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Programa la notificación para metadata().sendAt().
+     */
+    public CompletableFuture<SendResult> schedule(Notification notification) {
+        Objects.requireNonNull(notification);
+        Instant sendAt = notification.metadata().sendAt();
+        if (sendAt == null) throw new NotificationException("Notification has no sendAt (use Metadata.withSendAt)");
+        return schedule(notification, sendAt);
+    }
+
+    /**
+     * Programa la notificación para {@code sendAt} (un instante pasado sale en el próximo tick).
+     *
+     * @throws NotificationException si el correlationId ya está programado o sendAt supera el horizonte.
+     */
+    public CompletableFuture<SendResult> schedule(Notification notification, Instant sendAt) {
+        Objects.requireNonNull(notification);
+        Objects.requireNonNull(sendAt);
+        Notification.Metadata md = notification.metadata();
+        String id = md.correlationId();
+        if (id == null || id.isBlank()) id = correlationIds.next();
+        Notification scheduled = (id.equals(md.correlationId()) && sendAt.equals(md.sendAt())) ? notification
+                : new Notification(notification.channel(), notification.recipient(), notification.message(),
+                md.withCorrelationId(id).withSendAt(sendAt));
+
+        Entry entry;
+        synchronized (wheelLock) {
+            if (closed) throw new NotificationException("Scheduler is closed");
+            long due = tickOf(sendAt);
+            if (due - currentTick > maxTicks) throw new NotificationException("sendAt " + sendAt + " is beyond the scheduler horizon");
+            if (byId.containsKey(id)) throw new NotificationException("Notification already scheduled: " + id);
+            entry = new Entry(scheduled, id, Math.max(due, currentTick + 1));
+            byId.put(id, entry);
+            place(entry);
+        }
+        // Cancelar el future desprograma el envío.
+        entry.result.whenComplete((r, e) -> {
+            if (entry.result.isCancelled()) remove(entry);
+        });
+        return entry.result;
+    }
+
+    public CompletableFuture<SendResult> scheduleIn(Notification notification, Duration delay) {
+        return schedule(notification, Instant.now().plus(delay));
+    }
+
+    /**
+     * Desprograma el envío con ese correlationId; su future queda cancelado.
+     *
+     * @return false si no estaba pendiente (ya salió o no existe).
+     */
+    public boolean cancel(String correlationId) {
+        Entry entry;
+        synchronized (wheelLock) {
+            entry = byId.get(correlationId);
+            if (entry == null) return false;
+            unlink(entry);
+            byId.remove(correlationId);
+        }
+        entry.result.cancel(false);
+        return true;
+    }
+
+    public int pendingCount() {
+        synchronized (wheelLock) {
+            return byId.size();
+        }
+    }
+
+    /**
+     * Guarda el conjunto pendiente en el archivo de persistencia (escritura atómica: archivo temporal + move).
+     */
+    public void snapshot() {
+        if (persistence == null) throw new NotificationException("Persistence not configured (use Builder.persistence(...))");
+        List<Notification> pending;
+        synchronized (wheelLock) {
+            pending = new ArrayList<>(byId.size());
+            for (Entry e : byId.values()) pending.add(e.notification);
+        }
+        Path tmp = persistence.resolveSibling(persistence.getFileName() + ".tmp");
+        try {
+            Path dir = persistence.toAbsolutePath().getParent();
+            if (dir != null) Files.createDirectories(dir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(pending.size());
+                for (Notification n : pending) {
+                    byte[] bytes = NotificationCodec.toBytes(n);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            Files.move(tmp, persistence, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new NotificationException("Cannot write scheduler snapshot to " + persistence, e);
+        }
+    }
+
+    /**
+     * Detiene el timer sin enviar lo pendiente: con persistencia queda guardado para la próxima ejecución;
+     * los futures pendientes se cancelan.
+     */
+    @Override
+    public void close() {
+        List<Entry> pending;
+        synchronized (wheelLock) {
+            if (closed) return;
+            closed = true;
+        }
+        ticker.shutdownNow();
+        if (persistence != null) snapshot();
+        synchronized (wheelLock) {
+            pending = new ArrayList<>(byId.values());
+            byId.clear();
+            for (Entry[] level : wheel) Arrays.fill(level, null);
+        }
+        for (Entry e : pending) e.result.cancel(false);
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Wheel (siempre con wheelLock)
+
+    private long tickOf(Instant at) {
+        long nanos = Duration.between(epoch, at).toNanos();
+        return (nanos <= 0) ? 0 : (nanos + tickNanos - 1) / tickNanos;
+    }
+
+    private void place(Entry e) {
+        long delta = e.dueTick - currentTick;
+        int level = 0;
+        while (level < wheel.length - 1 && delta >= (1L << ((level + 1) * SLOT_BITS))) level++;
+        int slot = (int) ((e.dueTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        e.level = level;
+        e.slot = slot;
+        e.prev = null;
+        e.next = wheel[level][slot];
+        if (e.next != null) e.next.prev = e;
+        wheel[level][slot] = e;
+    }
+
+    private void unlink(Entry e) {
+        if (e.level < 0) return;
+        if (e.prev != null) e.prev.next = e.next;
+        else wheel[e.level][e.slot] = e.next;
+        if (e.next != null) e.next.prev = e.prev;
+        e.prev = null;
+        e.next = null;
+        e.level = -1;
+    }
+
+    /**
+     * Quita la lista completa del slot y la retorna (enlazada por next).
+     */
+    private Entry takeSlot(int level, int slot) {
+        Entry head = wheel[level][slot];
+        wheel[level][slot] = null;
+        for (Entry e = head; e != null; e = e.next) e.level = -1;
+        return head;
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+
+    private void remove(Entry entry) {
+        synchronized (wheelLock) {
+            if (byId.get(entry.id) != entry) return;
+            unlink(entry);
+            byId.remove(entry.id);
+        }
+    }
+
+    /**
+     * Avanza la wheel hasta el tick actual (recupera ticks atrasados si el hilo se demoró).
+     */
+    private void advance() {
+        long target = (System.nanoTime() - epochNanos) / tickNanos;
+        List<Entry> due = new ArrayList<>();
+        synchronized (wheelLock) {
+            while (currentTick < target && !closed) {
+                currentTick++;
+                // Cascada: en cada múltiplo de 64^nivel, el slot correspondiente baja de nivel.
+                for (int level = wheel.length - 1; level >= 1; level--) {
+                    if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) != 0) continue;
+                    int slot = (int) ((currentTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+                    Entry e = takeSlot(level, slot);
+                    while (e != null) {
+                        Entry next = e.next;
+                        if (e.dueTick <= currentTick) {
+                            byId.remove(e.id);
+                            due.add(e);
+                        } else {
+                            place(e);
+                        }
+                        e = next;
+                    }
+                }
+                Entry e = takeSlot(0, (int) (currentTick & SLOT_MASK));
+                while (e != null) {
+                    Entry next = e.next;
+                    byId.remove(e.id);
+                    due.add(e);
+                    e = next;
+                }
+            }
+        }
+        for (Entry e : due) fire(e);
+    }
+
+    private void fire(Entry entry) {
+        if (entry.result.isDone()) return;
+        CompletableFuture<SendResult> sent;
+        try {
+            sent = sink.apply(entry.notification);
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((r, e) -> {
+            if (e != null) entry.result.completeExceptionally(e);
+            else entry.result.complete(r);
+        });
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (NotificationException ignored) {
+            // se reintenta en el siguiente intervalo y en close()
+        }
+    }
+
+    private void restore() {
+        if (!Files.exists(persistence)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(persistence)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new NotificationException("Unsupported scheduler snapshot: " + persistence);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                Notification n = NotificationCodec.fromBytes(bytes);
+                synchronized (wheelLock) {
+                    String id = n.metadata().correlationId();
+                    if (byId.containsKey(id)) continue;
+                    // Lo vencido sale en el primer tick; lo más allá del horizonte se acerca al límite.
+                    Entry entry = new Entry(n, id, Math.min(Math.max(tickOf(n.metadata().sendAt()), 1), maxTicks));
+                    byId.put(id, entry);
+                    place(entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new NotificationException("Cannot read scheduler snapshot from " + persistence, e);
+        }
+    }
+
+    public static Builder builder(NotificationClient client) {
+        Objects.requireNonNull(client);
+        return new Builder(client::sendAsync);
+    }
+
+    /**
+     * Destino genérico (por ejemplo, NotificationClient::enqueue para pasar por el outbox al vencer).
+     */
+    public static Builder builder(Function<Notification, CompletableFuture<SendResult>> sink) {
+        return new Builder(sink);
+    }
+
+    public static final class Builder {
+        private final Function<Notification, CompletableFuture<SendResult>> sink;
+        private Duration tick = Duration.ofSeconds(1);
+        private Duration horizon = Duration.ofDays(400);
+        private Path persistence;
+        private Duration snapshotInterval = Duration.ZERO;
+        private CorrelationIdGenerator correlationIds = CorrelationIdGenerator.monotonic();
+
+        private Builder(Function<Notification, CompletableFuture<SendResult>> sink) {
+            this.sink = Objects.requireNonNull(sink);
+        }
+
+        /**
+         * Resolución del timer (por defecto 1 s).
+         */
+        public Builder tick(Duration tick) {
+            this.tick = Objects.requireNonNull(tick);
+            return this;
+        }
+
+        /**
+         * Máxima anticipación admitida (por defecto 400 días); define la cantidad de niveles de la wheel.
+         */
+        public Builder horizon(Duration horizon) {
+            this.horizon = Objects.requireNonNull(horizon);
+            return this;
+        }
+
+        /**
+         * Guarda lo pendiente en {@code file} cada {@code interval} (ZERO = solo en close()) y lo recarga al construir.
+         */
+        public Builder persistence(Path file, Duration interval) {
+            this.persistence = Objects.requireNonNull(file);
+            this.snapshotInterval = Objects.requireNonNull(interval);
+            return this;
+        }
+
+        /**
+         * Generador para notificaciones sin correlationId (por defecto, monotonic()).
+         */
+        public Builder correlationIds(CorrelationIdGenerator correlationIds) {
+            this.correlationIds = Objects.requireNonNull(correlationIds);
+            return this;
+        }
+
+        public NotificationScheduler build() {
+            if (tick.isNegative() || tick.isZero()) throw new NotificationException("tick must be positive");
+            if (horizon.compareTo(tick) < 0) throw new NotificationException("horizon must be >= tick");
+            if (snapshotInterval.isNegative()) throw new NotificationException("snapshot interval must not be negative");
+            return new NotificationScheduler(this);
+        }
+    }
+}
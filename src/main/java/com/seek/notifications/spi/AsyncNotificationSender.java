@@ -0,0 +1,87 @@
+package com.seek.notifications.spi;
+
+import com.seek.notifications.concurrency.InterruptibleTask;
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Provider con API asíncrona nativa (por ejemplo, sobre java.net.http.HttpClient.sendAsync).
+ * <p>
+ * NotificationClient, RetryingSender y SenderRegistry lo usan sin ocupar un hilo por envío en vuelo:
+ * miles de llamadas pueden estar pendientes sobre unos pocos hilos del cliente HTTP.
+ * <p>
+ * Adaptadores:
+ * - async -> bloqueante: send() por defecto espera a sendAsync() (cancelándolo si el hilo se interrumpe).
+ * - bloqueante -> async: from(sender, executor) ejecuta send() en un executor propio del provider.
+ * <p>
+ * Errores: el stage puede fallar con las mismas excepciones que send() (ValidationException no se reintenta).
+ * Cancelar el future retornado debería abortar la llamada en curso.
+ */
+public interface AsyncNotificationSender extends NotificationSender {
+
+    CompletionStage<SendResult> sendAsync(Notification notification);
+
+    /**
+     * false si sendAsync() termina bloqueando un hilo compartido (por ejemplo, un decorator sobre un sender
+     * bloqueante); en ese caso NotificationClient prefiere su propio executor.
+     */
+    default boolean isNonBlocking() {
+        return true;
+    }
+
+    @Override
+    default SendResult send(Notification notification) {
+        CompletableFuture<SendResult> future = sendAsync(notification).toCompletableFuture();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SendFailedException("Interrupted waiting for provider=" + providerName(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new SendFailedException("Send failed via provider=" + providerName(), e.getCause());
+        }
+    }
+
+    /**
+     * Expone un sender bloqueante como asíncrono ejecutándolo en {@code executor} (que actúa de bulkhead:
+     * los hilos bloqueados son los del provider, no los del cliente). Cancelar el future retornado (o completarlo
+     * desde afuera, como hace el deadline de NotificationClient) interrumpe el send() en curso.
+     */
+    static AsyncNotificationSender from(NotificationSender sender, Executor executor) {
+        Objects.requireNonNull(sender);
+        Objects.requireNonNull(executor);
+        return new AsyncNotificationSender() {
+            @Override
+            public Channel channel() {
+                return sender.channel();
+            }
+
+            @Override
+            public String providerName() {
+                return sender.providerName();
+            }
+
+            @Override
+            public SendResult send(Notification notification) {
+                return sender.send(notification);
+            }
+
+            @Override
+            public CompletionStage<SendResult> sendAsync(Notification notification) {
+                InterruptibleTask<SendResult> task = new InterruptibleTask<>(() -> sender.send(notification));
+                executor.execute(task);
+                return task.result();
+            }
+        };
+    }
+}
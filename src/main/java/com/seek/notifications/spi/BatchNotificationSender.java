@@ -0,0 +1,18 @@
+package com.seek.notifications.spi;
+
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+
+import java.util.List;
+
+/**
+ * Extensión opcional para providers que soportan envío en lote (por ejemplo, APIs bulk de SendGrid/FCM).
+ * <p>
+ * NotificationClient.sendBatch detecta esta interfaz y entrega cada grupo por canal en una sola llamada.
+ * Si el sender no la implementa, se usa send() item por item.
+ * <p>
+ * Contrato: el resultado debe tener el mismo tamaño y orden que la lista recibida.
+ */
+public interface BatchNotificationSender extends NotificationSender {
+    List<SendResult> sendBatch(List<Notification> notifications);
+}
@@ -0,0 +1,22 @@
+package com.seek.notifications.spi;
+
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Message;
+import com.seek.notifications.models.Recipient;
+
+/**
+ * Validación de un canal, registrada en ChannelValidatorRegistry (Channel -> ChannelValidator).
+ * <p>
+ * Destinatario y mensaje se validan por separado para que el registry pueda cachear los destinatarios
+ * ya validados. Ambos métodos lanzan ValidationException.
+ */
+public interface ChannelValidator {
+    Channel channel();
+
+    /**
+     * Tipo y formato del destinatario. Debe depender solo del destinatario (el resultado se puede cachear).
+     */
+    void validateRecipient(Recipient recipient);
+
+    void validateMessage(Message message);
+}
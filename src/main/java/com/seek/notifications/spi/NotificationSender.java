@@ -4,6 +4,13 @@ import com.seek.notifications.models.Channel;
 import com.seek.notifications.models.Notification;
 import com.seek.notifications.models.SendResult;
 
+/**
+ * Provider de un canal.
+ * <p>
+ * Si la notificación trae deadline (Notification.Metadata.deadline), el provider debería acotar sus timeouts
+ * de I/O a metadata().remaining(). Cancelar un sendAsync interrumpe el hilo que ejecuta send(): un provider
+ * que bloquea debe responder a la interrupción abortando la llamada.
+ */
 public interface NotificationSender {
     Channel channel();
 
@@ -1,7 +1,29 @@
 package com.seek.notifications.spi;
 
+import com.seek.notifications.exceptions.ValidationException;
 import com.seek.notifications.models.Notification;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface NotificationValidator {
     void validate(Notification notification);
-}
\ No newline at end of file
+
+    /**
+     * Valida un lote sin detenerse en el primer inválido.
+     *
+     * @return lista del mismo tamaño y orden: null para los válidos, la excepción para los inválidos.
+     */
+    default List<ValidationException> validateAll(List<Notification> notifications) {
+        List<ValidationException> errors = new ArrayList<>(notifications.size());
+        for (Notification n : notifications) {
+            try {
+                validate(n);
+                errors.add(null);
+            } catch (ValidationException e) {
+                errors.add(e);
+            }
+        }
+        return errors;
+    }
+}
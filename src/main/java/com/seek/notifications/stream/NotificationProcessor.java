@@ -0,0 +1,421 @@
+package com.seek.notifications.stream;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.Recipient;
+import com.seek.notifications.models.SendResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Flow.Processor sobre NotificationClient: consume notificaciones de un stream y emite un SendResult por cada una,
+ * con backpressure de punta a punta.
+ * <p>
+ * - Demanda hacia arriba: solo se piden notificaciones mientras haya lugar en el buffer (bufferSize) y ningún canal
+ * tenga su cola de espera llena; así un canal lento frena la ingesta en vez de acumular sin límite.
+ * - Por canal hay a lo sumo maxInFlight envíos en curso; el resto espera en una cola acotada del mismo tamaño.
+ * - Un lugar del buffer se libera recién cuando su resultado se entrega abajo: si el consumidor no pide,
+ * tampoco se piden ni se envían más notificaciones.
+ * - Con orderedPerRecipient, las notificaciones de un mismo destinatario se envían de a una y en orden de llegada.
+ * <p>
+ * Los resultados salen en orden de finalización. Un envío que falla con excepción se emite como SendResult fallido
+ * (VALIDATION_ERROR o PROVIDER_ERROR): un mensaje malo no corta el stream. Un error del upstream se propaga abajo
+ * después de emitir los resultados pendientes.
+ */
+public final class NotificationProcessor implements Flow.Processor<Notification, SendResult> {
+
+    private static final int CHANNELS = Channel.values().length;
+
+    private final Function<Notification, CompletableFuture<SendResult>> sink;
+    private final int bufferSize;
+    private final int[] limits;
+    private final boolean orderedPerRecipient;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int[] inFlight = new int[CHANNELS];
+    private final List<ArrayDeque<Notification>> waiting = new ArrayList<>(CHANNELS);
+    // Destinatarios con un envío en curso o en espera -> notificaciones que van detrás (solo con orderedPerRecipient).
+    private final Map<Recipient, ArrayDeque<Notification>> busyRecipients = new HashMap<>();
+    private final ArrayDeque<SendResult> ready = new ArrayDeque<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super SendResult> downstream;
+    private long requested;
+    private long demand;
+    private int occupied;
+    private boolean upstreamDone;
+    private Throwable upstreamError;
+    private boolean terminated;
+    private boolean cancelled;
+
+    private NotificationProcessor(Builder b) {
+        this.sink = b.sink;
+        this.bufferSize = b.bufferSize;
+        this.orderedPerRecipient = b.orderedPerRecipient;
+        this.limits = new int[CHANNELS];
+        for (Channel c : Channel.values()) {
+            limits[c.ordinal()] = b.limits.getOrDefault(c, b.maxInFlight);
+            waiting.add(new ArrayDeque<>());
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Subscriber (upstream)
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        lock.lock();
+        try {
+            if (upstream != null || cancelled) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+        } finally {
+            lock.unlock();
+        }
+        requestMore();
+    }
+
+    @Override
+    public void onNext(Notification notification) {
+        Objects.requireNonNull(notification);
+        List<Notification> toSend;
+        lock.lock();
+        try {
+            if (cancelled || upstreamDone) return;
+            requested--;
+            occupied++;
+            toSend = new ArrayList<>(1);
+            accept(notification, toSend);
+        } finally {
+            lock.unlock();
+        }
+        dispatch(toSend);
+        requestMore();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        lock.lock();
+        try {
+            if (upstreamDone) return;
+            upstreamDone = true;
+            upstreamError = throwable;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        lock.lock();
+        try {
+            upstreamDone = true;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Publisher (downstream)
+
+    /**
+     * Admite un único suscriptor; los siguientes reciben onError.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super SendResult> subscriber) {
+        Objects.requireNonNull(subscriber);
+        lock.lock();
+        try {
+            if (downstream == null) {
+                downstream = subscriber;
+                subscriber = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (subscriber != null) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("NotificationProcessor supports a single subscriber"));
+            return;
+        }
+        downstream.onSubscribe(new Downstream());
+        drain();
+    }
+
+    private final class Downstream implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+            Flow.Subscription s = null;
+            lock.lock();
+            try {
+                if (n <= 0) {
+                    // Regla 3.9 de Reactive Streams: se señala como error y se corta el upstream.
+                    upstreamDone = true;
+                    upstreamError = new IllegalArgumentException("request must be > 0, was " + n);
+                    ready.clear();
+                    occupied = 0;
+                    s = upstream;
+                } else {
+                    demand = (demand + n < 0) ? Long.MAX_VALUE : demand + n;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (s != null) s.cancel();
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription s;
+            lock.lock();
+            try {
+                if (cancelled) return;
+                cancelled = true;
+                s = upstream;
+                ready.clear();
+                for (ArrayDeque<Notification> q : waiting) q.clear();
+                busyRecipients.clear();
+            } finally {
+                lock.unlock();
+            }
+            if (s != null) s.cancel();
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Envío
+
+    /**
+     * Con lock tomado. Decide si la notificación sale ahora (se agrega a {@code toSend}) o espera su turno.
+     */
+    private void accept(Notification n, List<Notification> toSend) {
+        if (orderedPerRecipient) {
+            ArrayDeque<Notification> behind = busyRecipients.get(n.recipient());
+            if (behind != null) {
+                behind.addLast(n);
+                return;
+            }
+            busyRecipients.put(n.recipient(), new ArrayDeque<>(2));
+        }
+        int c = n.channel().ordinal();
+        if (inFlight[c] < limits[c]) {
+            inFlight[c]++;
+            toSend.add(n);
+        } else {
+            waiting.get(c).addLast(n);
+        }
+    }
+
+    private void dispatch(List<Notification> toSend) {
+        for (Notification n : toSend) {
+            CompletableFuture<SendResult> f;
+            try {
+                f = sink.apply(n);
+            } catch (RuntimeException e) {
+                f = CompletableFuture.failedFuture(e);
+            }
+            f.whenComplete((r, e) -> onSent(n, (e == null) ? r : failure(e)));
+        }
+    }
+
+    private void onSent(Notification n, SendResult result) {
+        List<Notification> toSend = new ArrayList<>(2);
+        lock.lock();
+        try {
+            if (cancelled) return;
+            int c = n.channel().ordinal();
+            inFlight[c]--;
+            ready.addLast(result);
+            if (orderedPerRecipient) {
+                ArrayDeque<Notification> behind = busyRecipients.get(n.recipient());
+                Notification next = (behind != null) ? behind.pollFirst() : null;
+                if (next == null) {
+                    busyRecipients.remove(n.recipient());
+                } else {
+                    // El siguiente del destinatario conserva la reserva y pasa por el límite de su canal.
+                    int nc = next.channel().ordinal();
+                    if (inFlight[nc] < limits[nc]) {
+                        inFlight[nc]++;
+                        toSend.add(next);
+                    } else {
+                        waiting.get(nc).addLast(next);
+                    }
+                }
+            }
+            for (int i = 0; i < CHANNELS; i++) {
+                while (inFlight[i] < limits[i] && !waiting.get(i).isEmpty()) {
+                    inFlight[i]++;
+                    toSend.add(waiting.get(i).pollFirst());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        dispatch(toSend);
+        drain();
+        requestMore();
+    }
+
+    private void requestMore() {
+        Flow.Subscription s;
+        long n;
+        lock.lock();
+        try {
+            s = upstream;
+            if (s == null || cancelled || upstreamDone) return;
+            for (int i = 0; i < CHANNELS; i++) {
+                if (waiting.get(i).size() >= limits[i]) return;
+            }
+            n = bufferSize - occupied - requested;
+            if (n <= 0) return;
+            requested += n;
+        } finally {
+            lock.unlock();
+        }
+        s.request(n);
+    }
+
+    /**
+     * Entrega resultados abajo según la demanda. Un solo hilo emite a la vez (contador wip), como exige Flow.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) return;
+        int missed = 1;
+        do {
+            while (true) {
+                Flow.Subscriber<? super SendResult> s;
+                SendResult next = null;
+                boolean complete = false;
+                Throwable error = null;
+                lock.lock();
+                try {
+                    s = downstream;
+                    if (s == null || cancelled || terminated) break;
+                    if (demand > 0 && !ready.isEmpty()) {
+                        next = ready.pollFirst();
+                        demand--;
+                    } else if (upstreamDone && occupied == 0) {
+                        terminated = true;
+                        complete = true;
+                        error = upstreamError;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (next == null) {
+                    if (complete) {
+                        if (error != null) s.onError(error);
+                        else s.onComplete();
+                    }
+                    break;
+                }
+                s.onNext(next);
+                lock.lock();
+                try {
+                    occupied--;
+                } finally {
+                    lock.unlock();
+                }
+                requestMore();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private static SendResult failure(Throwable e) {
+        Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+        SendResult.ErrorCode code = (cause instanceof ValidationException)
+                ? SendResult.ErrorCode.VALIDATION_ERROR : SendResult.ErrorCode.PROVIDER_ERROR;
+        return SendResult.fail(null, new SendResult.ErrorInfo(code, cause.getMessage(), cause));
+    }
+
+    public static Builder builder(NotificationClient client) {
+        Objects.requireNonNull(client);
+        return new Builder(client::sendAsync);
+    }
+
+    /**
+     * Con un destino propio (por ejemplo, DigestStage::submit).
+     */
+    public static Builder builder(Function<Notification, CompletableFuture<SendResult>> sink) {
+        return new Builder(sink);
+    }
+
+    public static final class Builder {
+        private final Function<Notification, CompletableFuture<SendResult>> sink;
+        private final Map<Channel, Integer> limits = new EnumMap<>(Channel.class);
+        private int maxInFlight = 64;
+        private int bufferSize = 256;
+        private boolean orderedPerRecipient;
+
+        private Builder(Function<Notification, CompletableFuture<SendResult>> sink) {
+            this.sink = Objects.requireNonNull(sink);
+        }
+
+        /**
+         * Envíos en curso por canal (por defecto 64) y tamaño de la cola de espera de cada canal.
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder maxInFlight(Channel channel, int maxInFlight) {
+            this.limits.put(Objects.requireNonNull(channel), maxInFlight);
+            return this;
+        }
+
+        /**
+         * Notificaciones recibidas y aún no entregadas abajo (en espera, en curso o con resultado sin pedir).
+         */
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public Builder orderedPerRecipient(boolean ordered) {
+            this.orderedPerRecipient = ordered;
+            return this;
+        }
+
+        public NotificationProcessor build() {
+            if (maxInFlight < 1) throw new NotificationException("maxInFlight must be >= 1");
+            if (bufferSize < 1) throw new NotificationException("bufferSize must be >= 1");
+            for (var e : limits.entrySet()) {
+                if (e.getValue() < 1) throw new NotificationException("maxInFlight must be >= 1 for channel: " + e.getKey());
+            }
+            return new NotificationProcessor(this);
+        }
+    }
+}
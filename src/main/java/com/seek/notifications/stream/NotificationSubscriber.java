@@ -0,0 +1,97 @@
+package com.seek.notifications.stream;
+
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Flow.Subscriber terminal: envía las notificaciones del stream a través de un NotificationProcessor y consume
+ * los resultados con un callback, sin más etapas abajo.
+ * <p>
+ * La demanda hacia arriba la sigue fijando el processor (envíos en curso por canal), así que la ingesta avanza al
+ * ritmo de los providers. completion() termina cuando el upstream completa y todos los envíos terminaron.
+ */
+public final class NotificationSubscriber implements Flow.Subscriber<Notification> {
+
+    private final NotificationProcessor processor;
+    private final Consumer<SendResult> onResult;
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    public NotificationSubscriber(NotificationProcessor processor) {
+        this(processor, r -> {
+        });
+    }
+
+    /**
+     * @param onResult se llama con cada resultado, de a uno a la vez; no debería bloquear.
+     */
+    public NotificationSubscriber(NotificationProcessor processor, Consumer<SendResult> onResult) {
+        this.processor = Objects.requireNonNull(processor);
+        this.onResult = Objects.requireNonNull(onResult);
+        processor.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(SendResult result) {
+                (result.success() ? succeeded : failed).increment();
+                try {
+                    NotificationSubscriber.this.onResult.accept(result);
+                } catch (RuntimeException ignored) {
+                    // un callback que falla no debe cortar el stream
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completion.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completion.complete(null);
+            }
+        });
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        processor.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(Notification notification) {
+        processor.onNext(notification);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        processor.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        processor.onComplete();
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+}
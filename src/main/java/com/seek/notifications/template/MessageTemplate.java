@@ -0,0 +1,91 @@
+package com.seek.notifications.template;
+
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.EmailMessage;
+import com.seek.notifications.models.Message;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.PushMessage;
+import com.seek.notifications.models.Recipient;
+import com.seek.notifications.models.SmsMessage;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Plantilla de mensaje tipada por canal: produce EmailMessage/SmsMessage/PushMessage con variables por destinatario.
+ * <p>
+ * Pensada para campañas: se compila una vez y se renderiza por item, por ejemplo
+ * {@code client.sendBatch(users.stream().map(u -> template.toNotification(u.recipient(), u.vars())).toList())}.
+ */
+public sealed interface MessageTemplate {
+
+    Channel channel();
+
+    Message render(Map<String, ?> variables);
+
+    default Notification toNotification(Recipient recipient, Map<String, ?> variables) {
+        return new Notification(channel(), recipient, render(variables), null);
+    }
+
+    static Email email(String subject, String body) {
+        return new Email(Template.compile(subject), Template.compile(body));
+    }
+
+    static Sms sms(String text) {
+        return new Sms(Template.compile(text));
+    }
+
+    static Push push(String title, String body) {
+        return new Push(Template.compile(title), Template.compile(body));
+    }
+
+    record Email(Template subject, Template body) implements MessageTemplate {
+        public Email {
+            Objects.requireNonNull(subject);
+            Objects.requireNonNull(body);
+        }
+
+        @Override
+        public Channel channel() {
+            return Channel.EMAIL;
+        }
+
+        @Override
+        public EmailMessage render(Map<String, ?> variables) {
+            return new EmailMessage(subject.render(variables), body.render(variables));
+        }
+    }
+
+    record Sms(Template text) implements MessageTemplate {
+        public Sms {
+            Objects.requireNonNull(text);
+        }
+
+        @Override
+        public Channel channel() {
+            return Channel.SMS;
+        }
+
+        @Override
+        public SmsMessage render(Map<String, ?> variables) {
+            return new SmsMessage(text.render(variables));
+        }
+    }
+
+    record Push(Template title, Template body) implements MessageTemplate {
+        public Push {
+            Objects.requireNonNull(title);
+            Objects.requireNonNull(body);
+        }
+
+        @Override
+        public Channel channel() {
+            return Channel.PUSH;
+        }
+
+        @Override
+        public PushMessage render(Map<String, ?> variables) {
+            return new PushMessage(title.render(variables), body.render(variables));
+        }
+    }
+}
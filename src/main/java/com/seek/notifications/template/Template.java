@@ -0,0 +1,106 @@
+package com.seek.notifications.template;
+
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.ValidationException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Plantilla compilada: el texto se parsea una sola vez en una lista de segmentos (literal, variable, literal, ...).
+ * <p>
+ * - Sintaxis: {@code {{nombre}}} (se ignoran espacios alrededor del nombre). No hay escapes ni lógica.
+ * - render(...) concatena segmentos en un StringBuilder reutilizado por hilo; la única asignación es el String final.
+ * - Una variable faltante (null) lanza ValidationException: es un error del input, no reintentable.
+ * <p>
+ * Inmutable y thread-safe.
+ */
+public final class Template {
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final String source;
+    // literals.length == variables.length + 1
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private Template(String source, String[] literals, String[] variables) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+        int len = 0;
+        for (String l : literals) len += l.length();
+        this.literalLength = len;
+    }
+
+    public static Template compile(String source) {
+        Objects.requireNonNull(source);
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int from = 0;
+        while (true) {
+            int open = source.indexOf("{{", from);
+            if (open < 0) break;
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) throw new NotificationException("Unclosed placeholder at index " + open + " in template");
+            String name = source.substring(open + 2, close).trim();
+            if (name.isEmpty() || name.indexOf('{') >= 0) {
+                throw new NotificationException("Invalid placeholder '" + source.substring(open, close + 2) + "' in template");
+            }
+            literals.add(source.substring(from, open));
+            variables.add(name);
+            from = close + 2;
+        }
+        literals.add(source.substring(from));
+        return new Template(source, literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * Nombres de variables usados, sin repetir, en orden de aparición.
+     */
+    public Set<String> variables() {
+        return new LinkedHashSet<>(List.of(variables));
+    }
+
+    public String render(Map<String, ?> values) {
+        Objects.requireNonNull(values);
+        return render(values::get);
+    }
+
+    public String render(Function<String, ?> values) {
+        if (variables.length == 0) return literals[0];
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        renderTo(values, sb);
+        String result = sb.toString();
+        // No retener buffers enormes por hilo después de un render excepcional.
+        if (sb.capacity() > MAX_RETAINED_BUFFER) BUFFER.remove();
+        return result;
+    }
+
+    /**
+     * Agrega el resultado a {@code out} (por ejemplo, para armar un cuerpo a partir de varias plantillas).
+     */
+    public void renderTo(Function<String, ?> values, StringBuilder out) {
+        Objects.requireNonNull(values);
+        out.ensureCapacity(out.length() + literalLength + 16 * variables.length);
+        out.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            Object value = values.apply(variables[i]);
+            if (value == null) throw new ValidationException("Missing template variable: " + variables[i]);
+            out.append(value);
+            out.append(literals[i + 1]);
+        }
+    }
+}
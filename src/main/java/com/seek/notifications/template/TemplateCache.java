@@ -0,0 +1,62 @@
+package com.seek.notifications.template;
+
+import com.seek.notifications.exceptions.NotificationException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Cache LRU de plantillas compiladas por id.
+ * <p>
+ * En un miss se obtiene el texto con el loader (por ejemplo, desde base de datos o classpath) y se compila;
+ * al superar maxEntries se descarta la usada hace más tiempo. La compilación ocurre fuera del lock, así que
+ * dos hilos pueden compilar la misma plantilla a la vez (ambas copias son equivalentes).
+ */
+public final class TemplateCache {
+
+    private final Function<String, String> loader;
+    private final Map<String, Template> templates;
+
+    public TemplateCache(int maxEntries, Function<String, String> loader) {
+        if (maxEntries < 1) throw new NotificationException("maxEntries must be >= 1");
+        this.loader = Objects.requireNonNull(loader);
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Template get(String id) {
+        Objects.requireNonNull(id);
+        synchronized (templates) {
+            Template t = templates.get(id);
+            if (t != null) return t;
+        }
+        String source = loader.apply(id);
+        if (source == null) throw new NotificationException("Template not found: " + id);
+        Template compiled = Template.compile(source);
+        synchronized (templates) {
+            templates.put(id, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Descarta la versión compilada (por ejemplo, si el texto de la plantilla cambió).
+     */
+    public void invalidate(String id) {
+        synchronized (templates) {
+            templates.remove(id);
+        }
+    }
+
+    public int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+}
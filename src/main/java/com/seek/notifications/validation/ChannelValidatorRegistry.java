@@ -0,0 +1,83 @@
+package com.seek.notifications.validation;
+
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.spi.ChannelValidator;
+import com.seek.notifications.spi.NotificationValidator;
+
+import java.util.Objects;
+
+/**
+ * NotificationValidator que delega en un ChannelValidator por canal (OCP: un canal nuevo se registra,
+ * no se modifica un switch).
+ * <p>
+ * - builder() parte con los validadores por defecto (EmailValidator, SmsValidator, PushValidator);
+ * register(...) reemplaza el de un canal.
+ * - recipientCache(n): recuerda hasta ~n destinatarios válidos por canal y omite volver a validarlos.
+ * Conviene cuando un ChannelValidator propio es caro o los mismos destinatarios se repiten mucho.
+ */
+public final class ChannelValidatorRegistry implements NotificationValidator {
+
+    // Indexados por Channel.ordinal(): sin lookups en mapas por notificación.
+    private final ChannelValidator[] validators;
+    private final RecipientCache[] caches;
+
+    private ChannelValidatorRegistry(Builder b) {
+        Channel[] channels = Channel.values();
+        this.validators = new ChannelValidator[channels.length];
+        this.caches = new RecipientCache[channels.length];
+        for (Channel c : channels) {
+            validators[c.ordinal()] = b.validators[c.ordinal()];
+            if (b.recipientCacheSize > 0) caches[c.ordinal()] = new RecipientCache(b.recipientCacheSize);
+        }
+    }
+
+    @Override
+    public void validate(Notification n) {
+        int i = n.channel().ordinal();
+        ChannelValidator v = validators[i];
+        if (v == null) throw new ValidationException("No validator registered for channel: " + n.channel());
+
+        RecipientCache cache = caches[i];
+        if (cache == null) {
+            v.validateRecipient(n.recipient());
+        } else if (!cache.contains(n.recipient())) {
+            v.validateRecipient(n.recipient());
+            cache.add(n.recipient());
+        }
+        v.validateMessage(n.message());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final ChannelValidator[] validators = new ChannelValidator[Channel.values().length];
+        private int recipientCacheSize;
+
+        private Builder() {
+            register(new EmailValidator());
+            register(new SmsValidator());
+            register(new PushValidator());
+        }
+
+        public Builder register(ChannelValidator validator) {
+            Objects.requireNonNull(validator);
+            validators[Objects.requireNonNull(validator.channel()).ordinal()] = validator;
+            return this;
+        }
+
+        public Builder recipientCache(int maxEntriesPerChannel) {
+            if (maxEntriesPerChannel < 1) throw new NotificationException("maxEntriesPerChannel must be >= 1");
+            this.recipientCacheSize = maxEntriesPerChannel;
+            return this;
+        }
+
+        public ChannelValidatorRegistry build() {
+            return new ChannelValidatorRegistry(this);
+        }
+    }
+}
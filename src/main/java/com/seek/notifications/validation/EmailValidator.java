@@ -0,0 +1,30 @@
+package com.seek.notifications.validation;
+
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.EmailMessage;
+import com.seek.notifications.models.EmailRecipient;
+import com.seek.notifications.models.Message;
+import com.seek.notifications.models.Recipient;
+import com.seek.notifications.spi.ChannelValidator;
+
+public final class EmailValidator implements ChannelValidator {
+
+    @Override
+    public Channel channel() {
+        return Channel.EMAIL;
+    }
+
+    @Override
+    public void validateRecipient(Recipient recipient) {
+        if (!(recipient instanceof EmailRecipient r)) throw new ValidationException("EMAIL requires EmailRecipient");
+        if (!RecipientFormats.isEmail(r.email())) throw new ValidationException("Invalid email: " + r.email());
+    }
+
+    @Override
+    public void validateMessage(Message message) {
+        if (!(message instanceof EmailMessage m)) throw new ValidationException("EMAIL requires EmailMessage");
+        if (m.subject().isBlank()) throw new ValidationException("Email subject is blank");
+        if (m.body().isBlank()) throw new ValidationException("Email body is blank");
+    }
+}
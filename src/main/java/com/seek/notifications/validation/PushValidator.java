@@ -0,0 +1,30 @@
+package com.seek.notifications.validation;
+
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.DeviceRecipient;
+import com.seek.notifications.models.Message;
+import com.seek.notifications.models.PushMessage;
+import com.seek.notifications.models.Recipient;
+import com.seek.notifications.spi.ChannelValidator;
+
+public final class PushValidator implements ChannelValidator {
+
+    @Override
+    public Channel channel() {
+        return Channel.PUSH;
+    }
+
+    @Override
+    public void validateRecipient(Recipient recipient) {
+        if (!(recipient instanceof DeviceRecipient r)) throw new ValidationException("PUSH requires DeviceRecipient");
+        if (r.deviceToken().isBlank()) throw new ValidationException("Device token is blank");
+    }
+
+    @Override
+    public void validateMessage(Message message) {
+        if (!(message instanceof PushMessage m)) throw new ValidationException("PUSH requires PushMessage");
+        if (m.title().isBlank()) throw new ValidationException("Push title is blank");
+        if (m.body().isBlank()) throw new ValidationException("Push body is blank");
+    }
+}
@@ -0,0 +1,36 @@
+package com.seek.notifications.validation;
+
+import com.seek.notifications.models.Recipient;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cache acotada de destinatarios ya validados (de un canal).
+ * <p>
+ * Direct-mapped y con pérdidas: cada destinatario tiene un único slot (hash & mask) y uno nuevo reemplaza
+ * al anterior. Sin locks ni asignaciones por consulta; una colisión solo provoca volver a validar.
+ */
+final class RecipientCache {
+
+    private final AtomicReferenceArray<Recipient> slots;
+    private final int mask;
+
+    RecipientCache(int maxEntries) {
+        int size = Integer.highestOneBit(Math.max(1, maxEntries - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean contains(Recipient recipient) {
+        return recipient.equals(slots.getPlain(index(recipient)));
+    }
+
+    void add(Recipient recipient) {
+        slots.setRelease(index(recipient), recipient);
+    }
+
+    private int index(Recipient recipient) {
+        int h = recipient.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,61 @@
+package com.seek.notifications.validation;
+
+/**
+ * Scanners escritos a mano para los formatos de destinatario; no compilan regex ni crean objetos.
+ * <p>
+ * Equivalen exactamente a los patrones que usaba DefaultValidator (lo verifican los tests de propiedades):
+ * - email: {@code ^[^@\s]+@[^@\s]+\.[^@\s]+$}
+ * - E.164: {@code ^\+[1-9]\d{7,14}$}
+ */
+public final class RecipientFormats {
+
+    private RecipientFormats() {
+    }
+
+    /**
+     * Exactamente una '@', sin espacios en blanco, parte local no vacía y un '.' en el dominio
+     * con al menos un carácter antes y después.
+     */
+    public static boolean isEmail(CharSequence s) {
+        int len = s.length();
+        int at = -1;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c == '@') {
+                if (at >= 0) return false;
+                at = i;
+            } else if (isRegexWhitespace(c)) {
+                return false;
+            }
+        }
+        if (at < 1) return false;
+        // Dominio = [at + 1, len): necesita un '.' que no sea ni el primer ni el último carácter.
+        for (int i = at + 2; i < len - 1; i++) {
+            if (s.charAt(i) == '.') return true;
+        }
+        return false;
+    }
+
+    /**
+     * '+', un dígito 1-9 y entre 7 y 14 dígitos ASCII más.
+     */
+    public static boolean isE164(CharSequence s) {
+        int len = s.length();
+        if (len < 9 || len > 16) return false;
+        if (s.charAt(0) != '+') return false;
+        char first = s.charAt(1);
+        if (first < '1' || first > '9') return false;
+        for (int i = 2; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    /**
+     * {@code \s} de java.util.regex sin UNICODE_CHARACTER_CLASS: [ \t\n\x0B\f\r].
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+}
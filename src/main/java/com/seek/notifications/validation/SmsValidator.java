@@ -0,0 +1,30 @@
+package com.seek.notifications.validation;
+
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Message;
+import com.seek.notifications.models.PhoneRecipient;
+import com.seek.notifications.models.Recipient;
+import com.seek.notifications.models.SmsMessage;
+import com.seek.notifications.spi.ChannelValidator;
+
+public final class SmsValidator implements ChannelValidator {
+
+    @Override
+    public Channel channel() {
+        return Channel.SMS;
+    }
+
+    @Override
+    public void validateRecipient(Recipient recipient) {
+        if (!(recipient instanceof PhoneRecipient r)) throw new ValidationException("SMS requires PhoneRecipient");
+        if (!RecipientFormats.isE164(r.e164Phone()))
+            throw new ValidationException("Invalid phone (E.164): " + r.e164Phone());
+    }
+
+    @Override
+    public void validateMessage(Message message) {
+        if (!(message instanceof SmsMessage m)) throw new ValidationException("SMS requires SmsMessage");
+        if (m.text().isBlank()) throw new ValidationException("SMS text is blank");
+    }
+}
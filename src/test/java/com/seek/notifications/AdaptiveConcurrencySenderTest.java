@@ -0,0 +1,185 @@
+package com.seek.notifications;
+
+import com.seek.notifications.concurrency.AdaptiveConcurrencySender;
+import com.seek.notifications.concurrency.LimitAlgorithm;
+import com.seek.notifications.exceptions.DeadlineExceededException;
+import com.seek.notifications.metrics.MetricsSnapshot;
+import com.seek.notifications.metrics.SendMetrics;
+import com.seek.notifications.models.*;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencySenderTest {
+
+    /**
+     * Provider que bloquea hasta que el test lo libera.
+     */
+    static final class GatedSender implements NotificationSender {
+        final CountDownLatch gate = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Channel channel() {
+            return Channel.SMS;
+        }
+
+        @Override
+        public String providerName() {
+            return "gated";
+        }
+
+        @Override
+        public SendResult send(Notification notification) {
+            calls.incrementAndGet();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return SendResult.ok(providerName(), "m");
+        }
+    }
+
+    private static Notification sms() {
+        return new Notification(Channel.SMS, new PhoneRecipient("+56911111111"), new SmsMessage("hola"), Notification.Metadata.empty());
+    }
+
+    private static void awaitCalls(AtomicInteger calls, int expected) throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() < expected && System.nanoTime() < until) Thread.sleep(2);
+        assertEquals(expected, calls.get());
+    }
+
+    @Test
+    void transient_errors_shrink_the_limit() {
+        NotificationSender throttled = new NotificationSender() {
+            @Override
+            public Channel channel() {
+                return Channel.SMS;
+            }
+
+            @Override
+            public String providerName() {
+                return "throttled";
+            }
+
+            @Override
+            public SendResult send(Notification notification) {
+                return SendResult.fail(providerName(), new SendResult.ErrorInfo(SendResult.ErrorCode.TRANSIENT_ERROR, "429", null));
+            }
+        };
+        AdaptiveConcurrencySender sender = AdaptiveConcurrencySender.builder(throttled)
+                .algorithm(LimitAlgorithm.aimd()).limits(10, 2, 100).build();
+
+        for (int i = 0; i < 3; i++) sender.send(sms());
+        // 10 -> 9 -> 8.1 -> 7.29
+        assertEquals(7, sender.limit());
+        for (int i = 0; i < 50; i++) sender.send(sms());
+        assertEquals(2, sender.limit());
+    }
+
+    @Test
+    void sheds_beyond_limit_and_queue() throws Exception {
+        GatedSender gated = new GatedSender();
+        SendMetrics metrics = new SendMetrics();
+        AdaptiveConcurrencySender sender = AdaptiveConcurrencySender.builder(gated)
+                .algorithm(LimitAlgorithm.aimd()).limits(1, 1, 1).queue(1, Duration.ofSeconds(5)).metrics(metrics).build();
+
+        CompletableFuture<SendResult> first = CompletableFuture.supplyAsync(() -> sender.send(sms()));
+        awaitCalls(gated.calls, 1);
+        CompletableFuture<SendResult> queued = CompletableFuture.supplyAsync(() -> sender.send(sms()));
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sender.queued() == 0 && System.nanoTime() < until) Thread.sleep(2);
+
+        SendResult shed = sender.send(sms());
+        assertEquals(SendResult.ErrorCode.TRANSIENT_ERROR, shed.error().code());
+        assertEquals(1, sender.shedCount());
+
+        MetricsSnapshot.Concurrency gauge = metrics.snapshot().concurrency().get(0);
+        assertEquals("gated", gauge.provider());
+        assertEquals(1, gauge.limit());
+        assertEquals(1, gauge.inFlight());
+        assertEquals(1, gauge.queued());
+
+        gated.gate.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS).success());
+        assertTrue(queued.get(5, TimeUnit.SECONDS).success());
+        assertEquals(2, gated.calls.get());
+        assertEquals(0, sender.inFlight());
+    }
+
+    @Test
+    void async_send_waits_for_permit_without_calling_provider() throws Exception {
+        AsyncNotificationSenderTest.PendingSender pending = new AsyncNotificationSenderTest.PendingSender("async");
+        AdaptiveConcurrencySender sender = AdaptiveConcurrencySender.builder(pending)
+                .limits(1, 1, 1).queue(4, Duration.ofSeconds(5)).build();
+
+        CompletableFuture<SendResult> a = sender.sendAsync(sms());
+        CompletableFuture<SendResult> b = sender.sendAsync(sms());
+        assertEquals(1, pending.calls.get());
+        assertEquals(1, sender.queued());
+
+        pending.inFlight.poll().complete(SendResult.ok("async", "m1"));
+        assertTrue(a.get(1, TimeUnit.SECONDS).success());
+        assertEquals(2, pending.calls.get());
+        pending.inFlight.poll().complete(SendResult.ok("async", "m2"));
+        assertEquals("m2", b.get(1, TimeUnit.SECONDS).providerMessageId());
+    }
+
+    @Test
+    void cancelled_and_expired_calls_release_permit_without_shrinking_limit() throws Exception {
+        AsyncNotificationSenderTest.PendingSender pending = new AsyncNotificationSenderTest.PendingSender("async");
+        AdaptiveConcurrencySender sender = AdaptiveConcurrencySender.builder(pending)
+                .algorithm(LimitAlgorithm.aimd()).limits(10, 2, 100).build();
+
+        for (int i = 0; i < 5; i++) sender.sendAsync(sms()).cancel(true);
+        CompletableFuture<SendResult> expired = sender.sendAsync(sms());
+        pending.inFlight.stream().reduce((a, b) -> b).orElseThrow()
+                .completeExceptionally(new DeadlineExceededException("deadline", null));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> expired.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, e.getCause());
+
+        assertEquals(6, pending.calls.get());
+        assertTrue(pending.inFlight.stream().allMatch(CompletableFuture::isDone));
+        assertEquals(10, sender.limit());
+        assertEquals(0, sender.inFlight());
+    }
+
+    @Test
+    void interrupted_blocking_call_releases_permit_without_shrinking_limit() throws Exception {
+        GatedSender gated = new GatedSender();
+        AdaptiveConcurrencySender sender = AdaptiveConcurrencySender.builder(gated)
+                .algorithm(LimitAlgorithm.aimd()).limits(10, 2, 100).build();
+
+        Thread caller = new Thread(() -> sender.send(sms()));
+        caller.start();
+        awaitCalls(gated.calls, 1);
+        caller.interrupt();
+        caller.join(5000);
+
+        assertEquals(10, sender.limit());
+        assertEquals(0, sender.inFlight());
+    }
+
+    @Test
+    void gradient_backs_off_when_latency_rises() {
+        LimitAlgorithm gradient = LimitAlgorithm.gradient(1.0, 1000);
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+
+        double grown = gradient.update(100, ms, false, 100);
+        assertTrue(grown > 100);
+        double shrunk = gradient.update(grown, 2 * ms, false, (int) grown);
+        assertTrue(shrunk < grown * 0.7);
+        // Con poco tráfico no cambia.
+        assertEquals(50.0, gradient.update(50, 10 * ms, false, 1));
+    }
+}
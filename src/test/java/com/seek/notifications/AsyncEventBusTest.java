@@ -0,0 +1,122 @@
+package com.seek.notifications;
+
+import com.seek.notifications.events.AsyncEventBus;
+import com.seek.notifications.events.NotificationEvent;
+import com.seek.notifications.events.NotificationEventBatchListener;
+import com.seek.notifications.models.Channel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncEventBusTest {
+
+    private static NotificationEvent event(int i) {
+        return new NotificationEvent.Failed("corr-" + i, Channel.EMAIL, Instant.now(), new RuntimeException("x"));
+    }
+
+    @Test
+    void close_drains_pending_events() {
+        AsyncEventBus bus = AsyncEventBus.builder().capacity(1024).build();
+        List<NotificationEvent> received = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe(received::add);
+
+        for (int i = 0; i < 500; i++) bus.publish(event(i));
+        bus.close();
+
+        assertEquals(500, received.size());
+        assertEquals("corr-499", received.get(499).correlationId()); // un dispatcher => FIFO
+        assertEquals(0, bus.droppedCount());
+    }
+
+    @Test
+    void events_published_concurrently_with_close_are_delivered_or_counted_as_dropped() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            AsyncEventBus bus = AsyncEventBus.builder().capacity(64).dispatchers(2).build();
+            AtomicInteger received = new AtomicInteger();
+            bus.subscribe(e -> received.incrementAndGet());
+
+            int publishers = 4;
+            int perPublisher = 2_000;
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < publishers; p++) {
+                Thread t = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                    for (int i = 0; i < perPublisher; i++) bus.publish(event(i));
+                });
+                threads.add(t);
+                t.start();
+            }
+            start.countDown();
+            bus.close();
+            for (Thread t : threads) t.join();
+
+            assertEquals(publishers * perPublisher, received.get() + bus.droppedCount());
+            assertEquals(0, bus.pendingCount());
+        }
+    }
+
+    @Test
+    void drop_newest_discards_when_buffer_is_full() throws Exception {
+        AsyncEventBus bus = AsyncEventBus.builder().capacity(2).overflowPolicy(AsyncEventBus.OverflowPolicy.DROP_NEWEST).build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        bus.subscribe(e -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        bus.publish(event(0));
+        started.await(); // el dispatcher quedó bloqueado con el evento 0
+        for (int i = 1; i <= 5; i++) bus.publish(event(i));
+
+        assertEquals(3, bus.droppedCount());
+        release.countDown();
+        assertTrue(bus.close(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void batch_listener_receives_batches() {
+        AsyncEventBus bus = AsyncEventBus.builder().maxBatchSize(64).build();
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe((NotificationEventBatchListener) events -> batchSizes.add(events.size()));
+
+        for (int i = 0; i < 200; i++) bus.publish(event(i));
+        bus.close();
+
+        assertEquals(200, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 64));
+    }
+
+    @Test
+    void listener_errors_do_not_stop_delivery() {
+        AsyncEventBus bus = AsyncEventBus.builder().build();
+        List<NotificationEvent> received = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe(e -> {
+            throw new IllegalStateException("boom");
+        });
+        bus.subscribe(received::add);
+
+        for (int i = 0; i < 10; i++) bus.publish(event(i));
+        bus.close();
+
+        assertEquals(10, received.size());
+        assertEquals(10, bus.listenerErrorCount());
+    }
+}
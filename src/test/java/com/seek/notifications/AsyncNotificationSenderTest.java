@@ -0,0 +1,167 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.models.*;
+import com.seek.notifications.retry.RetryingSender;
+import com.seek.notifications.spi.AsyncNotificationSender;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncNotificationSenderTest {
+
+    /**
+     * Provider asíncrono controlado por el test: cada llamada deja un future pendiente.
+     */
+    static final class PendingSender implements AsyncNotificationSender {
+        final String name;
+        final Queue<CompletableFuture<SendResult>> inFlight = new ConcurrentLinkedQueue<>();
+        final AtomicInteger calls = new AtomicInteger();
+
+        PendingSender(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Channel channel() {
+            return Channel.EMAIL;
+        }
+
+        @Override
+        public String providerName() {
+            return name;
+        }
+
+        @Override
+        public CompletionStage<SendResult> sendAsync(Notification notification) {
+            calls.incrementAndGet();
+            CompletableFuture<SendResult> f = new CompletableFuture<>();
+            inFlight.add(f);
+            return f;
+        }
+    }
+
+    private static Notification email() {
+        return new Notification(Channel.EMAIL, new EmailRecipient("a@b.com"), new EmailMessage("s", "b"), Notification.Metadata.empty());
+    }
+
+    @Test
+    void client_uses_native_async_without_executor() throws Exception {
+        PendingSender sender = new PendingSender("async");
+        // Un executor que falla si se usa: la ruta nativa no debe pasar por él.
+        NotificationClient client = NotificationClient.builder()
+                .register(sender)
+                .executor(r -> fail("executor should not be used"))
+                .build();
+
+        CompletableFuture<SendResult> f = client.sendAsync(email());
+        assertEquals(1, sender.calls.get());
+        assertFalse(f.isDone());
+
+        sender.inFlight.poll().complete(SendResult.ok("async", "m1"));
+        assertTrue(f.get(1, TimeUnit.SECONDS).success());
+    }
+
+    @Test
+    void cancelling_client_future_cancels_provider_call() {
+        PendingSender sender = new PendingSender("async");
+        NotificationClient client = NotificationClient.builder().register(sender).build();
+
+        CompletableFuture<SendResult> f = client.sendAsync(email());
+        CompletableFuture<SendResult> call = sender.inFlight.peek();
+        f.cancel(true);
+
+        assertTrue(call.isCancelled());
+    }
+
+    @Test
+    void retrying_sender_retries_over_native_async() throws Exception {
+        PendingSender sender = new PendingSender("async");
+        RetryingSender retrying = new RetryingSender(sender, 3, Duration.ofMillis(10));
+        assertTrue(retrying.isNonBlocking());
+
+        CompletableFuture<SendResult> f = retrying.sendAsync(email());
+        sender.inFlight.poll().completeExceptionally(new RuntimeException("boom"));
+
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sender.calls.get() < 2 && System.nanoTime() < until) Thread.sleep(5);
+        assertEquals(2, sender.calls.get());
+        sender.inFlight.poll().complete(SendResult.ok("async", "m2"));
+
+        assertEquals("m2", f.get(1, TimeUnit.SECONDS).providerMessageId());
+    }
+
+    @Test
+    void registry_fails_over_across_async_providers() throws Exception {
+        PendingSender a = new PendingSender("a");
+        PendingSender b = new PendingSender("b");
+        NotificationClient client = NotificationClient.builder().register(a, 1).register(b, 1).build();
+
+        CompletableFuture<SendResult> f = client.sendAsync(email());
+        PendingSender first = (a.calls.get() == 1) ? a : b;
+        PendingSender second = (first == a) ? b : a;
+        first.inFlight.poll().completeExceptionally(new RuntimeException("down"));
+
+        assertEquals(1, second.calls.get());
+        second.inFlight.poll().complete(SendResult.ok(second.name, "m"));
+        assertEquals(second.name, f.get(1, TimeUnit.SECONDS).providerName());
+    }
+
+    @Test
+    void cancelling_adapted_future_interrupts_blocking_provider() throws Exception {
+        DeadlineTest.HangingSender blocking = new DeadlineTest.HangingSender();
+        var pool = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<SendResult> f = AsyncNotificationSender.from(blocking, pool).sendAsync(email()).toCompletableFuture();
+            assertTrue(blocking.entered.await(5, TimeUnit.SECONDS));
+
+            f.cancel(true);
+
+            assertTrue(blocking.interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void adapters_bridge_blocking_and_async() throws Exception {
+        NotificationClientTest.FakeEmailSender blocking = new NotificationClientTest.FakeEmailSender();
+        var pool = Executors.newSingleThreadExecutor();
+        try {
+            AsyncNotificationSender adapted = AsyncNotificationSender.from(blocking, pool);
+            assertTrue(adapted.sendAsync(email()).toCompletableFuture().get(1, TimeUnit.SECONDS).success());
+            assertEquals(1, blocking.calls);
+        } finally {
+            pool.shutdown();
+        }
+
+        CompletableFuture<SendResult> failing = new CompletableFuture<>();
+        failing.completeExceptionally(new IllegalStateException("x"));
+        AsyncNotificationSender immediate = new AsyncNotificationSender() {
+            @Override
+            public Channel channel() {
+                return Channel.EMAIL;
+            }
+
+            @Override
+            public String providerName() {
+                return "immediate";
+            }
+
+            @Override
+            public CompletionStage<SendResult> sendAsync(Notification notification) {
+                return failing;
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> immediate.send(email()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.seek.notifications;
+
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.*;
+import com.seek.notifications.spi.ChannelValidator;
+import com.seek.notifications.validation.ChannelValidatorRegistry;
+import com.seek.notifications.validation.RecipientFormats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelValidatorRegistryTest {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern E164 = Pattern.compile("^\\+[1-9]\\d{7,14}$");
+
+    // Caracteres que ejercitan los bordes de ambos patrones (incluye blancos y un dígito no ASCII).
+    private static final char[] ALPHABET = "@@..++0123456789ab \t\n\u000B\f\r ٣é".toCharArray();
+
+    private static String randomString(Random random) {
+        int len = random.nextInt(18);
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++) sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+        return sb.toString();
+    }
+
+    private static String randomPhone(Random random) {
+        StringBuilder sb = new StringBuilder("+");
+        int len = random.nextInt(18);
+        for (int i = 0; i < len; i++) sb.append((char) ('0' + random.nextInt(10)));
+        return sb.toString();
+    }
+
+    @Test
+    void email_scanner_matches_regex() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String s = randomString(random);
+            assertEquals(EMAIL.matcher(s).matches(), RecipientFormats.isEmail(s), () -> "input=[" + s + "]");
+        }
+        for (String s : List.of("a@b.c", "a@b.", "a@.c", "@b.c", "a@@b.c", "a b@c.d", "a@b..", "a@..b", "a@b.c.d")) {
+            assertEquals(EMAIL.matcher(s).matches(), RecipientFormats.isEmail(s), () -> "input=[" + s + "]");
+        }
+    }
+
+    @Test
+    void e164ScannerMatchesRegex() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            String s = (i % 2 == 0) ? randomPhone(random) : randomString(random);
+            assertEquals(E164.matcher(s).matches(), RecipientFormats.isE164(s), () -> "input=[" + s + "]");
+        }
+    }
+
+    @Test
+    void validate_all_reports_errors_by_position() {
+        ChannelValidatorRegistry registry = ChannelValidatorRegistry.builder().build();
+        List<Notification> batch = List.of(
+                new Notification(Channel.SMS, new PhoneRecipient("+51999999999"), new SmsMessage("hola"), null),
+                new Notification(Channel.SMS, new PhoneRecipient("999"), new SmsMessage("hola"), null),
+                new Notification(Channel.EMAIL, new EmailRecipient("a@b.com"), new SmsMessage("hola"), null));
+
+        List<ValidationException> errors = registry.validateAll(batch);
+
+        assertNull(errors.get(0));
+        assertTrue(errors.get(1).getMessage().contains("E.164"));
+        assertEquals("EMAIL requires EmailMessage", errors.get(2).getMessage());
+    }
+
+    @Test
+    void recipient_cache_skips_revalidation_but_not_across_channels() {
+        AtomicInteger recipientChecks = new AtomicInteger();
+        ChannelValidator countingSms = new ChannelValidator() {
+            @Override
+            public Channel channel() {
+                return Channel.SMS;
+            }
+
+            @Override
+            public void validateRecipient(Recipient recipient) {
+                recipientChecks.incrementAndGet();
+                if (!(recipient instanceof PhoneRecipient)) throw new ValidationException("SMS requires PhoneRecipient");
+            }
+
+            @Override
+            public void validateMessage(Message message) {
+                if (!(message instanceof SmsMessage)) throw new ValidationException("SMS requires SmsMessage");
+            }
+        };
+        ChannelValidatorRegistry registry = ChannelValidatorRegistry.builder()
+                .register(countingSms)
+                .recipientCache(64)
+                .build();
+
+        Notification sms = new Notification(Channel.SMS, new PhoneRecipient("+51999999999"), new SmsMessage("hola"), null);
+        for (int i = 0; i < 10; i++) registry.validate(sms);
+        assertEquals(1, recipientChecks.get());
+
+        // El mensaje se valida siempre, aunque el destinatario esté en cache.
+        assertThrows(ValidationException.class, () -> registry.validate(
+                new Notification(Channel.SMS, new PhoneRecipient("+51999999999"), new PushMessage("t", "b"), null)));
+        // Un destinatario válido para SMS no lo es para PUSH.
+        assertThrows(ValidationException.class, () -> registry.validate(
+                new Notification(Channel.PUSH, new PhoneRecipient("+51999999999"), new PushMessage("t", "b"), null)));
+    }
+}
@@ -0,0 +1,171 @@
+package com.seek.notifications;
+
+import com.seek.notifications.circuitbreaker.CircuitBreakerSender;
+import com.seek.notifications.circuitbreaker.CircuitState;
+import com.seek.notifications.events.InMemoryEventBus;
+import com.seek.notifications.events.NotificationEvent;
+import com.seek.notifications.models.*;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerSenderTest {
+
+    static final class SwitchableSender implements NotificationSender {
+        int calls = 0;
+        boolean failing = true;
+
+        @Override
+        public Channel channel() {
+            return Channel.SMS;
+        }
+
+        @Override
+        public String providerName() {
+            return "switchable";
+        }
+
+        @Override
+        public SendResult send(Notification notification) {
+            calls++;
+            if (failing) throw new RuntimeException("provider degraded");
+            return SendResult.ok(providerName(), "ok");
+        }
+    }
+
+    private static Notification sms() {
+        return Notification.builder(Channel.SMS).recipient(new PhoneRecipient("+521234567890")).message(new SmsMessage("hola")).build();
+    }
+
+    @Test
+    void opens_after_failure_rate_and_fast_fails() {
+        SwitchableSender provider = new SwitchableSender();
+        CircuitBreakerSender breaker = CircuitBreakerSender.builder(provider).windowSize(4).minimumCalls(4).failureRateThreshold(0.5).build();
+
+        for (int i = 0; i < 4; i++) assertThrows(RuntimeException.class, () -> breaker.send(sms()));
+        assertEquals(CircuitState.OPEN, breaker.state());
+
+        SendResult r = breaker.send(sms());
+
+        assertFalse(r.success());
+        assertEquals(SendResult.ErrorCode.TRANSIENT_ERROR, r.error().code());
+        assertEquals(4, provider.calls);
+    }
+
+    @Test
+    void half_open_probes_close_the_circuit_and_publish_events() throws Exception {
+        SwitchableSender provider = new SwitchableSender();
+        InMemoryEventBus bus = new InMemoryEventBus();
+        List<NotificationEvent> events = new ArrayList<>();
+        bus.subscribe(events::add);
+
+        CircuitBreakerSender breaker = CircuitBreakerSender.builder(provider).windowSize(2).minimumCalls(2)
+                .openDuration(Duration.ofMillis(20)).halfOpenProbes(2).eventBus(bus).build();
+
+        for (int i = 0; i < 2; i++) assertThrows(RuntimeException.class, () -> breaker.send(sms()));
+        assertEquals(CircuitState.OPEN, breaker.state());
+
+        Thread.sleep(30);
+        provider.failing = false;
+        assertTrue(breaker.send(sms()).success());
+        assertEquals(CircuitState.HALF_OPEN, breaker.state());
+        assertTrue(breaker.send(sms()).success());
+        assertEquals(CircuitState.CLOSED, breaker.state());
+
+        List<CircuitState> transitions = events.stream()
+                .map(e -> ((NotificationEvent.CircuitStateChanged) e).to())
+                .toList();
+        assertEquals(List.of(CircuitState.OPEN, CircuitState.HALF_OPEN, CircuitState.CLOSED), transitions);
+    }
+
+    @Test
+    void failed_probe_reopens_the_circuit() throws Exception {
+        SwitchableSender provider = new SwitchableSender();
+        CircuitBreakerSender breaker = CircuitBreakerSender.builder(provider).windowSize(2).minimumCalls(2)
+                .openDuration(Duration.ofMillis(20)).build();
+
+        for (int i = 0; i < 2; i++) assertThrows(RuntimeException.class, () -> breaker.send(sms()));
+        Thread.sleep(30);
+        assertThrows(RuntimeException.class, () -> breaker.send(sms()));
+
+        assertEquals(CircuitState.OPEN, breaker.state());
+        assertFalse(breaker.send(sms()).success());
+        assertEquals(3, provider.calls);
+    }
+
+    @Test
+    void call_admitted_before_opening_does_not_decide_the_probe() throws Exception {
+        CountDownLatch staleEntered = new CountDownLatch(1);
+        CountDownLatch probeEntered = new CountDownLatch(1);
+        CountDownLatch releaseStale = new CountDownLatch(1);
+        CountDownLatch releaseProbe = new CountDownLatch(1);
+        NotificationSender provider = new NotificationSender() {
+            @Override
+            public Channel channel() {
+                return Channel.SMS;
+            }
+
+            @Override
+            public String providerName() {
+                return "gated";
+            }
+
+            @Override
+            public SendResult send(Notification notification) {
+                String text = ((SmsMessage) notification.message()).text();
+                try {
+                    switch (text) {
+                        case "stale" -> {
+                            staleEntered.countDown();
+                            releaseStale.await();
+                        }
+                        case "probe" -> {
+                            probeEntered.countDown();
+                            releaseProbe.await();
+                        }
+                        case "fail" -> throw new RuntimeException("provider degraded");
+                        default -> {
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return SendResult.ok(providerName(), text);
+            }
+        };
+        CircuitBreakerSender breaker = CircuitBreakerSender.builder(provider).windowSize(2).minimumCalls(2)
+                .openDuration(Duration.ofMillis(20)).halfOpenProbes(1).build();
+
+        CompletableFuture<SendResult> stale = CompletableFuture.supplyAsync(() -> breaker.send(sms("stale")));
+        assertTrue(staleEntered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 2; i++) assertThrows(RuntimeException.class, () -> breaker.send(sms("fail")));
+        assertEquals(CircuitState.OPEN, breaker.state());
+
+        Thread.sleep(30);
+        CompletableFuture<SendResult> probe = CompletableFuture.supplyAsync(() -> breaker.send(sms("probe")));
+        assertTrue(probeEntered.await(5, TimeUnit.SECONDS));
+        assertEquals(CircuitState.HALF_OPEN, breaker.state());
+
+        // La llamada vieja termina bien: no cierra el circuito ni libera un lugar de prueba.
+        releaseStale.countDown();
+        assertTrue(stale.get(5, TimeUnit.SECONDS).success());
+        assertEquals(CircuitState.HALF_OPEN, breaker.state());
+        assertFalse(breaker.send(sms("extra")).success());
+
+        releaseProbe.countDown();
+        assertTrue(probe.get(5, TimeUnit.SECONDS).success());
+        assertEquals(CircuitState.CLOSED, breaker.state());
+    }
+
+    private static Notification sms(String text) {
+        return Notification.builder(Channel.SMS).recipient(new PhoneRecipient("+521234567890")).message(new SmsMessage(text)).build();
+    }
+}
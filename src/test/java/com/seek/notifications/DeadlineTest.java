@@ -0,0 +1,100 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.exceptions.DeadlineExceededException;
+import com.seek.notifications.models.*;
+import com.seek.notifications.retry.RetryingSender;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineTest {
+
+    /**
+     * Provider que bloquea hasta ser interrumpido.
+     */
+    static final class HangingSender implements NotificationSender {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public Channel channel() {
+            return Channel.EMAIL;
+        }
+
+        @Override
+        public String providerName() {
+            return "hanging";
+        }
+
+        @Override
+        public SendResult send(Notification notification) {
+            entered.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new RuntimeException("aborted", e);
+            }
+            return SendResult.ok(providerName(), "m");
+        }
+    }
+
+    private static Notification email(Notification.Metadata metadata) {
+        return new Notification(Channel.EMAIL, new EmailRecipient("a@b.com"), new EmailMessage("s", "b"), metadata);
+    }
+
+    @Test
+    void expired_notification_is_not_sent() {
+        NotificationClientTest.FakeEmailSender sender = new NotificationClientTest.FakeEmailSender();
+        NotificationClient client = NotificationClient.builder().register(sender).build();
+
+        Notification late = email(Notification.Metadata.empty().withDeadline(Instant.now().minusSeconds(1)));
+
+        assertThrows(DeadlineExceededException.class, () -> client.send(late));
+        assertEquals(0, sender.calls);
+    }
+
+    @Test
+    void deadline_completes_async_send_and_interrupts_provider() throws Exception {
+        HangingSender sender = new HangingSender();
+        NotificationClient client = NotificationClient.builder().register(sender).build();
+
+        CompletableFuture<SendResult> f = client.sendAsync(email(Notification.Metadata.empty().withTimeout(Duration.ofMillis(100))));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> f.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, e.getCause());
+        assertTrue(sender.interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelling_async_send_interrupts_provider() throws Exception {
+        HangingSender sender = new HangingSender();
+        NotificationClient client = NotificationClient.builder().register(sender).build();
+
+        CompletableFuture<SendResult> f = client.sendAsync(email(null));
+        assertTrue(sender.entered.await(5, TimeUnit.SECONDS));
+        f.cancel(true);
+
+        assertTrue(sender.interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void retries_stop_when_next_attempt_would_miss_deadline() {
+        NotificationClientTest.AlwaysFailSender failing = new NotificationClientTest.AlwaysFailSender();
+        RetryingSender retrying = new RetryingSender(failing, 10, Duration.ofMillis(200));
+
+        Notification n = email(Notification.Metadata.empty().withTimeout(Duration.ofMillis(300)));
+
+        assertThrows(DeadlineExceededException.class, () -> retrying.send(n));
+        assertEquals(2, failing.calls);
+    }
+}
@@ -0,0 +1,114 @@
+package com.seek.notifications;
+
+import com.seek.notifications.digest.DigestStage;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigestStageTest {
+
+    private final RecordingSink sink = RecordingSink.completing("fake-push");
+
+    private static Notification push(String token, String title, Priority priority) {
+        return new Notification(Channel.PUSH, new DeviceRecipient(token), new PushMessage(title, "body " + title),
+                new Notification.Metadata(null, null, priority));
+    }
+
+    @Test
+    void notifications_to_same_recipient_are_merged_after_window() throws Exception {
+        try (DigestStage digest = DigestStage.builder(sink)
+                .window(Duration.ofMillis(100))
+                .timer(Duration.ofMillis(10), 8)
+                .build()) {
+
+            CompletableFuture<SendResult> a = digest.submit(push("t1", "a", Priority.NORMAL));
+            CompletableFuture<SendResult> b = digest.submit(push("t1", "b", Priority.NORMAL));
+            CompletableFuture<SendResult> c = digest.submit(push("t1", "c", Priority.LOW));
+            CompletableFuture<SendResult> other = digest.submit(push("t2", "x", Priority.NORMAL));
+            assertEquals(2, digest.pendingCount());
+            assertTrue(sink.sent.isEmpty());
+
+            SendResult merged = a.get(2, TimeUnit.SECONDS);
+            assertSame(merged, b.get());
+            assertSame(merged, c.get());
+            other.get(2, TimeUnit.SECONDS);
+
+            assertEquals(2, sink.sent.size());
+            Notification digestForT1 = sink.sent.stream().filter(n -> n.recipient().equals(new DeviceRecipient("t1"))).findFirst().orElseThrow();
+            PushMessage m = (PushMessage) digestForT1.message();
+            assertEquals("3 notificaciones nuevas", m.title());
+            assertEquals("a: body a\nb: body b\nc: body c", m.body());
+            assertEquals(Priority.NORMAL, digestForT1.metadata().priority());
+            // Una sola notificación se envía sin modificar.
+            assertTrue(sink.sent.contains(push("t2", "x", Priority.NORMAL)));
+        }
+    }
+
+    @Test
+    void flushes_on_max_batch_and_high_priority_bypasses() throws Exception {
+        try (DigestStage digest = DigestStage.builder(sink)
+                .window(Duration.ofMinutes(10))
+                .maxBatch(2)
+                .build()) {
+
+            CompletableFuture<SendResult> urgent = digest.submit(push("t1", "otp", Priority.HIGH));
+            assertTrue(urgent.isDone());
+            assertEquals(1, sink.sent.size());
+
+            digest.submit(push("t1", "a", Priority.NORMAL));
+            CompletableFuture<SendResult> second = digest.submit(push("t1", "b", Priority.NORMAL));
+            assertTrue(second.isDone());
+            assertEquals(2, sink.sent.size());
+            assertEquals(0, digest.pendingCount());
+        }
+    }
+
+    @Test
+    void close_flushes_pending_groups() throws Exception {
+        DigestStage digest = DigestStage.builder(sink).window(Duration.ofMinutes(10)).build();
+        CompletableFuture<SendResult> f = digest.submit(push("t1", "a", Priority.NORMAL));
+
+        digest.close();
+
+        assertTrue(f.get(1, TimeUnit.SECONDS).success());
+        assertEquals(1, sink.sent.size());
+    }
+
+    @Test
+    void submits_racing_close_are_all_flushed() throws Exception {
+        DigestStage digest = DigestStage.builder(sink).window(Duration.ofMinutes(10)).build();
+
+        List<CompletableFuture<SendResult>> accepted = new CopyOnWriteArrayList<>();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            int id = p;
+            Thread t = new Thread(() -> {
+                for (int i = 0; ; i++) {
+                    try {
+                        accepted.add(digest.submit(push("p" + id + "-" + i, "a", Priority.NORMAL)));
+                    } catch (NotificationException closed) {
+                        return;
+                    }
+                }
+            });
+            producers.add(t);
+            t.start();
+        }
+        Thread.sleep(20);
+        digest.close();
+        for (Thread t : producers) t.join(5000);
+
+        for (CompletableFuture<SendResult> f : accepted) assertTrue(f.isDone());
+        assertEquals(accepted.size(), sink.sent.size());
+        assertEquals(0, digest.pendingCount());
+    }
+}
@@ -0,0 +1,124 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.*;
+import com.seek.notifications.outbox.DurableOutbox;
+import com.seek.notifications.outbox.OutboxConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableOutboxTest {
+
+    @TempDir
+    Path dir;
+
+    private static Notification sms(String corr) {
+        return Notification.builder(Channel.SMS).recipient(new PhoneRecipient("+521234567890")).message(new SmsMessage("hola"))
+                .metadata(new Notification.Metadata(corr, Instant.parse("2026-01-01T00:00:00Z"))).build();
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void unacknowledged_entries_are_replayed_after_restart() throws Exception {
+        OutboxConfig config = OutboxConfig.of(dir).withSegmentBytes(64 * 1024);
+
+        // "Crash": se aceptan entradas pero los workers nunca arrancan.
+        DurableOutbox crashed = new DurableOutbox(config, n -> SendResult.ok("never", "x"));
+        crashed.submit(sms("corr-1"));
+        crashed.submit(sms("corr-2"));
+        crashed.close();
+
+        List<Notification> delivered = new CopyOnWriteArrayList<>();
+        DurableOutbox restarted = new DurableOutbox(config.withWorkers(1), n -> {
+            delivered.add(n);
+            return SendResult.ok("twilio", "tw-1");
+        });
+        restarted.start();
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (restarted.pendingCount() > 0 && System.nanoTime() < until) Thread.sleep(2);
+        assertEquals(0, restarted.pendingCount());
+        restarted.close();
+
+        assertEquals(List.of("corr-1", "corr-2"), delivered.stream().map(n -> n.metadata().correlationId()).toList());
+        assertEquals(sms("corr-1"), delivered.get(0));
+
+        // Ya con ACK: una nueva apertura no re-entrega nada.
+        DurableOutbox again = new DurableOutbox(config, n -> fail("already delivered"));
+        assertEquals(0, again.pendingCount());
+        again.close();
+    }
+
+    @Test
+    void submits_racing_close_are_delivered_or_kept_for_restart() throws Exception {
+        OutboxConfig config = OutboxConfig.of(dir).withWorkers(2);
+        DurableOutbox outbox = new DurableOutbox(config, n -> SendResult.ok("twilio", "tw-1"));
+        outbox.start();
+
+        List<CompletableFuture<SendResult>> accepted = new CopyOnWriteArrayList<>();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            int id = p;
+            Thread t = new Thread(() -> {
+                for (int i = 0; ; i++) {
+                    try {
+                        accepted.add(outbox.submit(sms("p" + id + "-" + i)));
+                    } catch (NotificationException closed) {
+                        return;
+                    }
+                }
+            });
+            producers.add(t);
+            t.start();
+        }
+        Thread.sleep(20);
+        outbox.close();
+        for (Thread t : producers) t.join(5000);
+
+        long delivered = 0;
+        for (CompletableFuture<SendResult> f : accepted) {
+            assertTrue(f.isDone());
+            if (!f.isCompletedExceptionally()) delivered++;
+        }
+        DurableOutbox reopened = new DurableOutbox(config, n -> SendResult.ok("twilio", "tw-2"));
+        assertEquals(accepted.size() - delivered, reopened.pendingCount());
+        reopened.close();
+    }
+
+    @Test
+    void client_enqueue_delivers_and_compacts_segments() throws Exception {
+        NotificationClientTest.FakeEmailSender sender = new NotificationClientTest.FakeEmailSender();
+        OutboxConfig config = OutboxConfig.of(dir).withSegmentBytes(4096).withWorkers(1).withMaxSegments(2);
+
+        try (NotificationClient client = NotificationClient.builder().outbox(config).register(sender).build()) {
+            List<CompletableFuture<SendResult>> results = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                Notification email = Notification.builder(Channel.EMAIL).recipient(new EmailRecipient("a@b.com"))
+                        .message(new EmailMessage("asunto " + i, "cuerpo")).build();
+                results.add(client.enqueue(email));
+            }
+            for (CompletableFuture<SendResult> r : results) assertTrue(r.get().success());
+        }
+
+        assertEquals(500, sender.calls);
+        assertTrue(segmentFiles() <= 2, "segments=" + segmentFiles());
+    }
+}
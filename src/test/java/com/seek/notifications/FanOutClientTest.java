@@ -0,0 +1,93 @@
+package com.seek.notifications;
+
+import com.seek.notifications.fanout.*;
+import com.seek.notifications.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutClientTest {
+
+    private final RecordingSink sink = RecordingSink.pending();
+
+    private static FanOutNotification orderShipped(String userId) {
+        return FanOutNotification.of(userId,
+                new Notification(Channel.EMAIL, new EmailRecipient("a@b.com"), new EmailMessage("Pedido enviado", "b"), Notification.Metadata.empty()),
+                new Notification(Channel.SMS, new PhoneRecipient("+56911111111"), new SmsMessage("Pedido enviado"), Notification.Metadata.empty()),
+                new Notification(Channel.PUSH, new DeviceRecipient("t1"), new PushMessage("Pedido", "enviado"), Notification.Metadata.empty()));
+    }
+
+    private static SendResult ok(Channel c) {
+        return SendResult.ok("fake-" + c, "m");
+    }
+
+    @Test
+    void all_waits_for_every_enabled_channel_and_skips_the_rest() throws Exception {
+        PreferenceCache prefs = new PreferenceCache(user -> ChannelPreferences.of(Channel.EMAIL, Channel.PUSH), 100, Duration.ofMinutes(1));
+        FanOutClient fanOut = FanOutClient.builder(sink).preferences(prefs).build();
+
+        CompletableFuture<FanOutResult> f = fanOut.send(orderShipped("u1"));
+        assertEquals(2, sink.sent.size());
+        sink.pending(Channel.EMAIL).complete(ok(Channel.EMAIL));
+        assertFalse(f.isDone());
+        sink.pending(Channel.PUSH).completeExceptionally(new RuntimeException("down"));
+
+        FanOutResult r = f.get(1, TimeUnit.SECONDS);
+        assertFalse(r.success());
+        assertEquals(Set.of(Channel.SMS), r.skipped());
+        assertTrue(r.results().get(Channel.EMAIL).success());
+        assertEquals("down", r.errors().get(Channel.PUSH).getMessage());
+    }
+
+    @Test
+    void any_succeeds_with_one_channel() throws Exception {
+        FanOutClient fanOut = FanOutClient.builder(sink).aggregation(Aggregation.ANY).build();
+
+        CompletableFuture<FanOutResult> f = fanOut.send(orderShipped("u1"));
+        sink.pending(Channel.EMAIL).completeExceptionally(new RuntimeException("down"));
+        sink.pending(Channel.SMS).complete(SendResult.fail("fake-sms", new SendResult.ErrorInfo(SendResult.ErrorCode.TRANSIENT_ERROR, "x", null)));
+        sink.pending(Channel.PUSH).complete(ok(Channel.PUSH));
+
+        assertTrue(f.get(1, TimeUnit.SECONDS).success());
+    }
+
+    @Test
+    void first_success_cancels_the_others() throws Exception {
+        FanOutClient fanOut = FanOutClient.builder(sink).build();
+
+        CompletableFuture<FanOutResult> f = fanOut.send(orderShipped("u1"), Aggregation.FIRST_SUCCESS);
+        sink.pending(Channel.SMS).complete(ok(Channel.SMS));
+
+        FanOutResult r = f.get(1, TimeUnit.SECONDS);
+        assertTrue(r.success());
+        assertTrue(sink.pending(Channel.EMAIL).isCancelled());
+        assertInstanceOf(CancellationException.class, r.errors().get(Channel.PUSH));
+    }
+
+    @Test
+    void preferences_are_cached_per_user() {
+        AtomicInteger loads = new AtomicInteger();
+        PreferenceCache prefs = new PreferenceCache(user -> {
+            loads.incrementAndGet();
+            return user.equals("mute") ? ChannelPreferences.none() : null;
+        }, 100, Duration.ofMinutes(1));
+        FanOutClient fanOut = FanOutClient.builder(n -> CompletableFuture.completedFuture(ok(n.channel()))).preferences(prefs).build();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(fanOut.send(orderShipped("u1")).join().success());
+            assertFalse(fanOut.send(orderShipped("mute")).join().success());
+        }
+        assertEquals(2, loads.get());
+
+        prefs.invalidate("u1");
+        fanOut.send(orderShipped("u1")).join();
+        assertEquals(3, loads.get());
+    }
+}
@@ -0,0 +1,133 @@
+package com.seek.notifications;
+
+import com.seek.notifications.hedging.HedgingSender;
+import com.seek.notifications.models.*;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingSenderTest {
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Sender SMS con latencia fija que registra los correlationId recibidos.
+     */
+    static final class DelayedSms implements NotificationSender {
+        final String name;
+        final long delayMillis;
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger interrupted = new AtomicInteger();
+        final Set<String> correlationIds = ConcurrentHashMap.newKeySet();
+
+        DelayedSms(String name, long delayMillis) {
+            this.name = name;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public Channel channel() {
+            return Channel.SMS;
+        }
+
+        @Override
+        public String providerName() {
+            return name;
+        }
+
+        @Override
+        public SendResult send(Notification notification) {
+            calls.incrementAndGet();
+            correlationIds.add(notification.metadata().correlationId());
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw new RuntimeException("cancelled", e);
+            }
+            return SendResult.ok(name, "m");
+        }
+    }
+
+    private static final Notification OTP = new Notification(Channel.SMS, new PhoneRecipient("+51999999999"), new SmsMessage("123456"), null);
+
+    @Test
+    void slow_primary_is_hedged_to_alternate_with_same_correlation_id() {
+        DelayedSms slow = new DelayedSms("slow", 2_000);
+        DelayedSms fast = new DelayedSms("fast", 0);
+        HedgingSender sender = HedgingSender.builder(slow, pool)
+                .hedgeTo(fast)
+                .initialDelay(Duration.ofMillis(20), 100)
+                .budget(0.5, 5)
+                .build();
+
+        long start = System.nanoTime();
+        SendResult result = sender.send(OTP);
+
+        assertEquals("fast", result.providerName());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        assertEquals(1, sender.hedgeCount());
+        assertEquals(1, sender.hedgeWins());
+        assertEquals(slow.correlationIds, fast.correlationIds);
+        assertNotNull(fast.correlationIds.iterator().next());
+    }
+
+    @Test
+    void fast_primary_is_not_hedged() {
+        DelayedSms primary = new DelayedSms("p", 0);
+        DelayedSms alternate = new DelayedSms("a", 0);
+        HedgingSender sender = HedgingSender.builder(primary, pool).hedgeTo(alternate)
+                .initialDelay(Duration.ofMillis(500), 100).build();
+
+        for (int i = 0; i < 20; i++) assertTrue(sender.send(OTP).success());
+
+        assertEquals(0, sender.hedgeCount());
+        assertEquals(0, alternate.calls.get());
+    }
+
+    @Test
+    void budget_caps_hedges() {
+        DelayedSms slow = new DelayedSms("slow", 30);
+        HedgingSender sender = HedgingSender.builder(slow, pool)
+                .initialDelay(Duration.ofMillis(1), 1_000_000)
+                .budget(0.1, 1)
+                .build();
+
+        for (int i = 0; i < 30; i++) sender.send(OTP);
+
+        // Ráfaga inicial de 1 + 30 envíos * 0.1 = 4 hedges como máximo.
+        assertTrue(sender.hedgeCount() <= 4, "hedges=" + sender.hedgeCount());
+        assertTrue(sender.hedgeCount() >= 1);
+    }
+
+    @Test
+    void cancelled_slow_primary_keeps_the_hedge_delay_from_shrinking() {
+        DelayedSms slow = new DelayedSms("slow", 2_000);
+        DelayedSms fast = new DelayedSms("fast", 0);
+        HedgingSender sender = HedgingSender.builder(slow, pool)
+                .hedgeTo(fast)
+                .initialDelay(Duration.ofMillis(5), 1)
+                .budget(1.0, 200)
+                .build();
+
+        // El delay se recalcula cada 128 envíos; el envío 128 usa el valor nuevo.
+        for (int i = 0; i < 128; i++) assertEquals("fast", sender.send(OTP).providerName());
+
+        // La mitad de las muestras son esperas del principal cortadas tras el delay (>= 5ms).
+        assertTrue(sender.hedgeDelay().compareTo(Duration.ofMillis(4)) >= 0, "delay=" + sender.hedgeDelay());
+    }
+}
@@ -0,0 +1,173 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.fanout.FanOutClient;
+import com.seek.notifications.fanout.FanOutNotification;
+import com.seek.notifications.fanout.FanOutResult;
+import com.seek.notifications.idempotency.IdempotencyCache;
+import com.seek.notifications.idempotency.IdempotencyKey;
+import com.seek.notifications.models.*;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private static Notification email(String correlationId, String body) {
+        return new Notification(Channel.EMAIL, new EmailRecipient("a@b.com"), new EmailMessage("Hola", body),
+                new Notification.Metadata(correlationId, Instant.now()));
+    }
+
+    @Test
+    void duplicate_correlation_id_returns_original_result_without_calling_provider() {
+        NotificationClientTest.FakeEmailSender sender = new NotificationClientTest.FakeEmailSender();
+        NotificationClient client = NotificationClient.builder()
+                .register(sender)
+                .idempotency(new IdempotencyCache(100, Duration.ofMinutes(5)))
+                .build();
+
+        SendResult first = client.send(email("corr-1", "x"));
+        SendResult second = client.send(email("corr-1", "otro cuerpo"));
+
+        assertSame(first, second);
+        assertEquals(1, sender.calls);
+    }
+
+    @Test
+    void without_correlation_id_falls_back_to_content() {
+        NotificationClientTest.FakeEmailSender sender = new NotificationClientTest.FakeEmailSender();
+        NotificationClient client = NotificationClient.builder()
+                .register(sender)
+                .idempotency(new IdempotencyCache(100, Duration.ofMinutes(5)))
+                .build();
+
+        client.send(email(null, "x"));
+        client.send(email(null, "x"));
+        client.send(email(null, "y"));
+
+        assertEquals(2, sender.calls);
+    }
+
+    @Test
+    void fan_out_variants_sharing_correlation_id_are_all_sent() throws Exception {
+        Map<Channel, AtomicInteger> calls = new EnumMap<>(Channel.class);
+        NotificationClient.Builder builder = NotificationClient.builder()
+                .idempotency(new IdempotencyCache(100, Duration.ofMinutes(5)));
+        for (Channel channel : Channel.values()) builder.register(counting(channel, calls));
+        FanOutClient fanOut = FanOutClient.builder(builder.build()).build();
+
+        Notification.Metadata meta = new Notification.Metadata("order-1", Instant.now());
+        FanOutNotification shipped = FanOutNotification.of("u1",
+                new Notification(Channel.EMAIL, new EmailRecipient("a@b.com"), new EmailMessage("Pedido enviado", "b"), meta),
+                new Notification(Channel.SMS, new PhoneRecipient("+56911111111"), new SmsMessage("Pedido enviado"), meta),
+                new Notification(Channel.PUSH, new DeviceRecipient("t1"), new PushMessage("Pedido", "enviado"), meta));
+
+        FanOutResult first = fanOut.send(shipped).get(5, TimeUnit.SECONDS);
+        FanOutResult retry = fanOut.send(shipped).get(5, TimeUnit.SECONDS);
+
+        assertTrue(first.success());
+        assertEquals(3, first.results().size());
+        assertEquals(first.results(), retry.results());
+        for (Channel channel : Channel.values()) assertEquals(1, calls.get(channel).get(), channel.name());
+    }
+
+    private static NotificationSender counting(Channel channel, Map<Channel, AtomicInteger> calls) {
+        AtomicInteger counter = calls.computeIfAbsent(channel, c -> new AtomicInteger());
+        return new NotificationSender() {
+            @Override
+            public Channel channel() {
+                return channel;
+            }
+
+            @Override
+            public String providerName() {
+                return "fake-" + channel;
+            }
+
+            @Override
+            public SendResult send(Notification notification) {
+                return SendResult.ok(providerName(), "m-" + counter.incrementAndGet());
+            }
+        };
+    }
+
+    @Test
+    void failures_are_not_remembered() {
+        NotificationClientTest.FlakySender sender = new NotificationClientTest.FlakySender(1);
+        NotificationClient client = NotificationClient.builder()
+                .register(sender)
+                .idempotency(new IdempotencyCache(100, Duration.ofMinutes(5), IdempotencyKey.byCorrelationId()))
+                .build();
+
+        assertThrows(RuntimeException.class, () -> client.send(email("corr-1", "x")));
+        assertTrue(client.send(email("corr-1", "x")).success());
+        assertEquals(2, sender.calls);
+    }
+
+    @Test
+    void concurrent_duplicates_share_one_provider_call() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationSender slow = new NotificationSender() {
+            @Override
+            public Channel channel() {
+                return Channel.EMAIL;
+            }
+
+            @Override
+            public String providerName() {
+                return "slow";
+            }
+
+            @Override
+            public SendResult send(Notification notification) {
+                calls.incrementAndGet();
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return SendResult.ok(providerName(), "id-1");
+            }
+        };
+        NotificationClient client = NotificationClient.builder()
+                .register(slow)
+                .idempotency(new IdempotencyCache(100, Duration.ofMinutes(5)))
+                .build();
+
+        CompletableFuture<SendResult> first = client.sendAsync(email("corr-1", "x"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<SendResult> duplicate = client.sendAsync(email("corr-1", "x"));
+        assertFalse(duplicate.isDone());
+
+        release.countDown();
+        assertEquals(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void entries_expire_and_cache_stays_bounded() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(3, Duration.ofMillis(50));
+        for (int i = 0; i < 10; i++) {
+            assertNull(cache.putIfAbsent("k" + i, CompletableFuture.completedFuture(SendResult.ok("p", "m" + i))));
+        }
+        assertTrue(cache.size() <= 3);
+        assertNotNull(cache.get("k9"));
+
+        Thread.sleep(80);
+        assertNull(cache.get("k9"));
+        assertNull(cache.putIfAbsent("k9", new CompletableFuture<>()));
+    }
+}
@@ -5,6 +5,7 @@ import com.seek.notifications.events.InMemoryEventBus;
 import com.seek.notifications.events.NotificationEvent;
 import com.seek.notifications.exceptions.NotificationException;
 import com.seek.notifications.models.*;
+import com.seek.notifications.spi.BatchNotificationSender;
 import com.seek.notifications.spi.NotificationSender;
 import com.seek.notifications.spi.NotificationValidator;
 import com.seek.notifications.retry.RetryingSender;
@@ -15,6 +16,13 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -106,6 +114,10 @@ class NotificationClientTest {
         return Notification.builder(Channel.EMAIL).recipient(new EmailRecipient("a@b.com")).message(new EmailMessage("s", "b")).build();
     }
 
+    private static Notification smsNotification() {
+        return Notification.builder(Channel.SMS).recipient(new PhoneRecipient("+56911111111")).message(new SmsMessage("hola")).build();
+    }
+
     @Test
     void send_uses_sender_and_publishes_events() {
         FakeEmailSender sender = new FakeEmailSender();
@@ -240,4 +252,184 @@ class NotificationClientTest {
         assertThrows(SendFailedException.class, () -> client.send(emailNotificationNoMetadata()));
         assertEquals(3, flaky.calls);
     }
+
+    static final class FakeBatchEmailSender implements BatchNotificationSender {
+        int batchCalls = 0;
+        int singleCalls = 0;
+
+        @Override
+        public Channel channel() {
+            return Channel.EMAIL;
+        }
+
+        @Override
+        public String providerName() {
+            return "fake-batch-email";
+        }
+
+        @Override
+        public SendResult send(Notification notification) {
+            singleCalls++;
+            return SendResult.ok(providerName(), "single");
+        }
+
+        @Override
+        public List<SendResult> sendBatch(List<Notification> notifications) {
+            batchCalls++;
+            List<SendResult> results = new ArrayList<>();
+            for (int i = 0; i < notifications.size(); i++) results.add(SendResult.ok(providerName(), "batch-" + i));
+            return results;
+        }
+    }
+
+    @Test
+    void send_batch_groups_by_channel_and_uses_batch_sender() {
+        FakeBatchEmailSender sender = new FakeBatchEmailSender();
+
+        NotificationClient client = NotificationClient.builder().register(sender).validator(new NoopValidator()).build();
+
+        List<SendResult> results = client.sendBatch(List.of(emailNotificationNoMetadata(), emailNotificationNoMetadata(), emailNotificationNoMetadata()));
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(SendResult::success));
+        assertEquals(1, sender.batchCalls);
+        assertEquals(0, sender.singleCalls);
+        assertEquals("batch-2", results.get(2).providerMessageId());
+    }
+
+    @Test
+    void send_batch_returns_per_item_results_without_throwing() {
+        FlakySender flaky = new FlakySender(1); // el primer item falla, el resto pasa
+
+        InMemoryEventBus bus = new InMemoryEventBus();
+        List<NotificationEvent> events = new ArrayList<>();
+        bus.subscribe(events::add);
+
+        NotificationClient client = NotificationClient.builder().eventBus(bus).register(flaky).build();
+
+        Notification invalid = Notification.builder(Channel.EMAIL).recipient(new EmailRecipient("not-an-email")).message(new EmailMessage("s", "b")).build();
+        Notification sms = Notification.builder(Channel.SMS).recipient(new PhoneRecipient("+521234567890")).message(new SmsMessage("hola")).build();
+
+        List<SendResult> results = client.sendBatch(List.of(emailNotificationNoMetadata(), invalid, emailNotificationNoMetadata(), sms));
+
+        assertEquals(4, results.size());
+        assertEquals(SendResult.ErrorCode.PROVIDER_ERROR, results.get(0).error().code());
+        assertEquals(SendResult.ErrorCode.VALIDATION_ERROR, results.get(1).error().code());
+        assertTrue(results.get(2).success());
+        assertEquals(SendResult.ErrorCode.PROVIDER_ERROR, results.get(3).error().code()); // sin sender SMS
+        assertEquals(2, flaky.calls);
+
+        // Requested + (Failed | Sent) solo para los items válidos con sender
+        assertEquals(4, events.size());
+    }
+
+    static final class SlowConcurrentSender implements NotificationSender {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public Channel channel() {
+            return Channel.EMAIL;
+        }
+
+        @Override
+        public String providerName() {
+            return "slow";
+        }
+
+        @Override
+        public SendResult send(Notification notification) {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return SendResult.ok(providerName(), "slow-1");
+        }
+    }
+
+    @Test
+    void send_async_respects_max_concurrency_per_channel() {
+        SlowConcurrentSender sender = new SlowConcurrentSender();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            NotificationClient client = NotificationClient.builder().executor(pool).maxConcurrency(Channel.EMAIL, 2).register(sender).validator(new NoopValidator()).build();
+
+            List<CompletableFuture<SendResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) futures.add(client.sendAsync(emailNotificationNoMetadata()));
+            futures.forEach(CompletableFuture::join);
+
+            assertTrue(sender.maxInFlight.get() <= 2);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void send_async_waits_for_channel_permit_without_parking_pool_threads() throws Exception {
+        AdaptiveConcurrencySenderTest.GatedSender sms = new AdaptiveConcurrencySenderTest.GatedSender();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            NotificationClient client = NotificationClient.builder().executor(pool).maxConcurrency(Channel.SMS, 1)
+                    .register(sms).register(new FakeEmailSender()).validator(new NoopValidator()).build();
+
+            CompletableFuture<SendResult> first = client.sendAsync(smsNotification());
+            CompletableFuture<SendResult> second = client.sendAsync(smsNotification());
+            // Un hilo queda en el provider SMS; el segundo SMS espera su permiso sin tomar el otro hilo.
+            assertTrue(client.sendAsync(emailNotificationNoMetadata()).get(5, TimeUnit.SECONDS).success());
+            assertTrue(sms.calls.get() <= 1);
+
+            sms.gate.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS).success());
+            assertTrue(second.get(5, TimeUnit.SECONDS).success());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void send_async_on_virtual_threads_and_close_shuts_down_owned_executor() throws Exception {
+        List<Boolean> virtual = new CopyOnWriteArrayList<>();
+        NotificationSender sender = new NotificationSender() {
+            @Override
+            public Channel channel() {
+                return Channel.EMAIL;
+            }
+
+            @Override
+            public String providerName() {
+                return "virtual";
+            }
+
+            @Override
+            public SendResult send(Notification notification) {
+                virtual.add(Thread.currentThread().isVirtual());
+                return SendResult.ok(providerName(), "v-1");
+            }
+        };
+        NotificationClient client = NotificationClient.builder().virtualThreads().maxConcurrency(Channel.EMAIL, 4)
+                .register(sender).validator(new NoopValidator()).build();
+
+        List<CompletableFuture<SendResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) futures.add(client.sendAsync(emailNotificationNoMetadata()));
+        for (CompletableFuture<SendResult> f : futures) assertTrue(f.get(5, TimeUnit.SECONDS).success());
+        assertEquals(50, virtual.size());
+        assertFalse(virtual.contains(false));
+        client.close();
+
+        CompletableFuture<SendResult> afterClose = client.sendAsync(emailNotificationNoMetadata());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> afterClose.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NotificationException.class, e.getCause());
+    }
+
+    @Test
+    void executor_and_virtual_threads_are_mutually_exclusive() {
+        NotificationClient.Builder builder = NotificationClient.builder().executor(Runnable::run).virtualThreads();
+
+        assertThrows(NotificationException.class, builder::build);
+    }
 }
@@ -0,0 +1,96 @@
+package com.seek.notifications;
+
+import com.seek.notifications.circuitbreaker.CircuitState;
+import com.seek.notifications.codec.NotificationCodec;
+import com.seek.notifications.codec.RemoteError;
+import com.seek.notifications.events.NotificationEvent;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationCodecTest {
+
+    private static final Instant AT = Instant.parse("2026-03-01T10:15:30.123456789Z");
+
+    private static List<Notification> samples() {
+        return List.of(
+                Notification.builder(Channel.EMAIL).recipient(new EmailRecipient("user@mail.com"))
+                        .message(new EmailMessage("Bienvenido ñandú", "Gracias por registrarte 🎉"))
+                        .metadata(new Notification.Metadata("corr-1", AT, Priority.LOW, AT.plusSeconds(30))).build(),
+                Notification.builder(Channel.SMS).recipient(new PhoneRecipient("+521234567890"))
+                        .message(new SmsMessage("Hola")).metadata(new Notification.Metadata(null, AT, Priority.HIGH).withSendAt(AT.plusSeconds(3600))).build(),
+                Notification.builder(Channel.PUSH).recipient(new DeviceRecipient("device-token-123"))
+                        .message(new PushMessage("Alerta", "")).metadata(new Notification.Metadata("corr-3", null)).build());
+    }
+
+    @Test
+    void notifications_round_trip_with_exact_size() {
+        for (Notification n : samples()) {
+            byte[] bytes = NotificationCodec.toBytes(n);
+
+            assertEquals(NotificationCodec.encodedSize(n), bytes.length);
+            assertEquals(n, NotificationCodec.fromBytes(bytes));
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            NotificationCodec.write(n, direct);
+            direct.flip();
+            assertEquals(n, NotificationCodec.readNotification(direct));
+        }
+    }
+
+    @Test
+    void events_round_trip() {
+        Notification n = samples().get(0);
+        SendResult ok = new SendResult(true, "sendgrid", "sg-1", null, AT);
+        SendResult failed = SendResult.fail("twilio", new SendResult.ErrorInfo(SendResult.ErrorCode.TRANSIENT_ERROR, "429", null));
+        ByteBuffer buf = ByteBuffer.allocate(1024);
+
+        for (NotificationEvent e : List.of(
+                new NotificationEvent.Requested("corr-1", Channel.EMAIL, AT, n),
+                new NotificationEvent.Sent("corr-1", Channel.EMAIL, AT, ok),
+                new NotificationEvent.Sent("corr-2", Channel.SMS, AT, failed),
+                new NotificationEvent.CircuitStateChanged(null, Channel.SMS, AT, "twilio", CircuitState.CLOSED, CircuitState.OPEN))) {
+            buf.clear();
+            NotificationCodec.write(e, buf);
+            buf.flip();
+            assertEquals(e, NotificationCodec.readEvent(buf));
+        }
+
+        buf.clear();
+        NotificationCodec.write(new NotificationEvent.Failed("corr-1", Channel.EMAIL, AT, new SendFailedException("provider down", null)), buf);
+        buf.flip();
+        NotificationEvent.Failed decoded = (NotificationEvent.Failed) NotificationCodec.readEvent(buf);
+        RemoteError error = assertInstanceOf(RemoteError.class, decoded.error());
+        assertEquals(SendFailedException.class.getName(), error.originalType());
+        assertEquals("provider down", error.getMessage());
+    }
+
+    @Test
+    void unknown_fields_from_newer_writers_are_skipped() {
+        Notification n = samples().get(1);
+        byte[] bytes = NotificationCodec.toBytes(n);
+
+        // Campo 50 (LEN) con "abc" y campo 51 (VARINT) insertados antes del tag de cierre.
+        byte[] extra = {(byte) 0x92, 0x03, 3, 'a', 'b', 'c', (byte) 0x98, 0x03, 0x7F, 0};
+        byte[] newer = Arrays.copyOf(bytes, bytes.length - 1 + extra.length);
+        System.arraycopy(extra, 0, newer, bytes.length - 1, extra.length);
+
+        assertEquals(n, NotificationCodec.fromBytes(newer));
+    }
+
+    @Test
+    void incompatible_major_version_is_rejected() {
+        byte[] bytes = NotificationCodec.toBytes(samples().get(1));
+        bytes[1] = 0x20;
+
+        assertThrows(NotificationException.class, () -> NotificationCodec.fromBytes(bytes));
+    }
+}
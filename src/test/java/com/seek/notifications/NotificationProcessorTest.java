@@ -0,0 +1,135 @@
+package com.seek.notifications;
+
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.*;
+import com.seek.notifications.stream.NotificationProcessor;
+import com.seek.notifications.stream.NotificationSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationProcessorTest {
+
+    private final RecordingSink sink = RecordingSink.pending();
+
+    /**
+     * Upstream manual: registra la demanda pedida.
+     */
+    static final class ManualUpstream implements Flow.Subscription {
+        final AtomicLong requested = new AtomicLong();
+        volatile boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requested.addAndGet(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static Notification email(String to, String subject) {
+        return new Notification(Channel.EMAIL, new EmailRecipient(to), new EmailMessage(subject, "b"), Notification.Metadata.empty());
+    }
+
+    @Test
+    void demand_follows_in_flight_capacity() {
+        NotificationProcessor processor = NotificationProcessor.builder(sink).maxInFlight(2).bufferSize(4).build();
+        NotificationSubscriber subscriber = new NotificationSubscriber(processor);
+        ManualUpstream upstream = new ManualUpstream();
+        subscriber.onSubscribe(upstream);
+        assertEquals(4, upstream.requested.get());
+
+        for (int i = 0; i < 4; i++) subscriber.onNext(email("u" + i + "@b.com", "s"));
+        // 2 en curso y 2 esperando: la cola del canal está llena, no se pide más.
+        assertEquals(2, sink.sent.size());
+        assertEquals(4, upstream.requested.get());
+
+        sink.pending(0).complete(SendResult.ok("p", "m"));
+        assertEquals(3, sink.sent.size());
+        assertEquals(5, upstream.requested.get());
+        assertEquals(1, subscriber.succeeded());
+    }
+
+    @Test
+    void results_wait_for_downstream_demand() {
+        NotificationProcessor processor = NotificationProcessor.builder(n -> CompletableFuture.completedFuture(SendResult.ok("p", "m")))
+                .bufferSize(2).build();
+        List<SendResult> received = new CopyOnWriteArrayList<>();
+        Flow.Subscription[] down = new Flow.Subscription[1];
+        processor.subscribe(new Flow.Subscriber<>() {
+            public void onSubscribe(Flow.Subscription s) {
+                down[0] = s;
+            }
+
+            public void onNext(SendResult item) {
+                received.add(item);
+            }
+
+            public void onError(Throwable t) {
+            }
+
+            public void onComplete() {
+            }
+        });
+        ManualUpstream upstream = new ManualUpstream();
+        processor.onSubscribe(upstream);
+        processor.onNext(email("a@b.com", "1"));
+        processor.onNext(email("b@b.com", "2"));
+
+        // Sin demanda abajo los resultados ocupan el buffer y no se pide más arriba.
+        assertTrue(received.isEmpty());
+        assertEquals(2, upstream.requested.get());
+
+        down[0].request(1);
+        assertEquals(1, received.size());
+        assertEquals(3, upstream.requested.get());
+    }
+
+    @Test
+    void ordered_per_recipient_sends_one_at_a_time() {
+        NotificationProcessor processor = NotificationProcessor.builder(sink).orderedPerRecipient(true).build();
+        NotificationSubscriber subscriber = new NotificationSubscriber(processor);
+        subscriber.onSubscribe(new ManualUpstream());
+
+        subscriber.onNext(email("a@b.com", "1"));
+        subscriber.onNext(email("a@b.com", "2"));
+        subscriber.onNext(email("c@b.com", "3"));
+        assertEquals(List.of("1", "3"), sink.sent.stream().map(n -> ((EmailMessage) n.message()).subject()).toList());
+
+        sink.pending(0).complete(SendResult.ok("p", "m"));
+        assertEquals("2", ((EmailMessage) sink.sent.get(2).message()).subject());
+    }
+
+    @Test
+    void streams_to_completion_and_reports_failures_as_results() throws Exception {
+        NotificationProcessor processor = NotificationProcessor.builder(n -> n.recipient().equals(new EmailRecipient("bad@b.com"))
+                        ? CompletableFuture.failedFuture(new ValidationException("bad"))
+                        : CompletableFuture.completedFuture(SendResult.ok("p", "m")))
+                .maxInFlight(4).bufferSize(8).build();
+        List<SendResult> failures = new CopyOnWriteArrayList<>();
+        NotificationSubscriber subscriber = new NotificationSubscriber(processor, r -> {
+            if (!r.success()) failures.add(r);
+        });
+
+        try (SubmissionPublisher<Notification> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(subscriber);
+            for (int i = 0; i < 200; i++) publisher.submit(email(i == 7 ? "bad@b.com" : "u" + i + "@b.com", "s"));
+        }
+
+        subscriber.completion().get(5, TimeUnit.SECONDS);
+        assertEquals(199, subscriber.succeeded());
+        assertEquals(1, subscriber.failed());
+        assertEquals(SendResult.ErrorCode.VALIDATION_ERROR, failures.get(0).error().code());
+    }
+}
@@ -0,0 +1,91 @@
+package com.seek.notifications;
+
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.*;
+import com.seek.notifications.schedule.NotificationScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationSchedulerTest {
+
+    @TempDir
+    Path dir;
+
+    private final RecordingSink sink = RecordingSink.completing("fake-push");
+
+    private static Notification push(String corr, String title) {
+        return new Notification(Channel.PUSH, new DeviceRecipient("t1"), new PushMessage(title, "b"),
+                new Notification.Metadata(corr, Instant.now()));
+    }
+
+    @Test
+    void fires_in_due_order_across_levels() throws Exception {
+        try (NotificationScheduler scheduler = NotificationScheduler.builder(sink).tick(Duration.ofMillis(2)).build()) {
+            long start = System.nanoTime();
+            // 75 ticks cae en el nivel 1 y baja en cascada; los otros van directo al nivel 0.
+            CompletableFuture<SendResult> late = scheduler.scheduleIn(push(null, "150"), Duration.ofMillis(150));
+            scheduler.scheduleIn(push(null, "20"), Duration.ofMillis(20));
+            scheduler.scheduleIn(push(null, "80"), Duration.ofMillis(80));
+            assertEquals(3, scheduler.pendingCount());
+
+            assertTrue(late.get(5, TimeUnit.SECONDS).success());
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(140));
+            assertEquals(List.of("20", "80", "150"), sink.sent.stream().map(n -> ((PushMessage) n.message()).title()).toList());
+            assertNotNull(sink.sent.get(0).metadata().correlationId());
+            assertEquals(0, scheduler.pendingCount());
+        }
+    }
+
+    @Test
+    void cancels_by_correlation_id() throws Exception {
+        try (NotificationScheduler scheduler = NotificationScheduler.builder(sink).tick(Duration.ofMillis(5)).build()) {
+            CompletableFuture<SendResult> f = scheduler.scheduleIn(push("reminder-1", "r"), Duration.ofMillis(50));
+            CompletableFuture<SendResult> other = scheduler.scheduleIn(push("reminder-2", "r"), Duration.ofMillis(50));
+            assertThrows(NotificationException.class, () -> scheduler.scheduleIn(push("reminder-1", "dup"), Duration.ofMinutes(1)));
+
+            assertTrue(scheduler.cancel("reminder-1"));
+            assertFalse(scheduler.cancel("reminder-1"));
+            assertTrue(f.isCancelled());
+
+            other.cancel(false);
+            assertEquals(0, scheduler.pendingCount());
+            Thread.sleep(150);
+            assertTrue(sink.sent.isEmpty());
+        }
+    }
+
+    @Test
+    void pending_set_survives_restart() throws Exception {
+        Path file = dir.resolve("scheduled.bin");
+        Instant inOneHour = Instant.now().plus(Duration.ofHours(1));
+        try (NotificationScheduler scheduler = NotificationScheduler.builder(sink).persistence(file, Duration.ZERO).build()) {
+            scheduler.schedule(push("later", "l"), inOneHour);
+            scheduler.schedule(new Notification(Channel.PUSH, new DeviceRecipient("t2"), new PushMessage("s", "b"),
+                    Notification.Metadata.empty().withSendAt(inOneHour.plusSeconds(60))));
+        }
+        assertTrue(sink.sent.isEmpty());
+
+        try (NotificationScheduler restored = NotificationScheduler.builder(sink).persistence(file, Duration.ZERO).build()) {
+            assertEquals(2, restored.pendingCount());
+            assertTrue(restored.cancel("later"));
+            assertEquals(1, restored.pendingCount());
+        }
+    }
+
+    @Test
+    void rejects_beyond_horizon() {
+        try (NotificationScheduler scheduler = NotificationScheduler.builder(sink).horizon(Duration.ofDays(1)).build()) {
+            assertThrows(NotificationException.class, () -> scheduler.scheduleIn(push(null, "x"), Duration.ofDays(30)));
+            assertThrows(NotificationException.class, () -> scheduler.schedule(push(null, "no sendAt")));
+        }
+    }
+}
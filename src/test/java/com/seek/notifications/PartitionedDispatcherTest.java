@@ -0,0 +1,176 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.dispatch.DispatchConfig;
+import com.seek.notifications.dispatch.PartitionConfig;
+import com.seek.notifications.dispatch.PartitionedDispatcher;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.models.*;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedDispatcherTest {
+
+    private static Notification sms(String phone, String text) {
+        return new Notification(Channel.SMS, new PhoneRecipient(phone), new SmsMessage(text), Notification.Metadata.empty());
+    }
+
+    @Test
+    void sends_to_each_recipient_in_submission_order() throws Exception {
+        Map<Recipient, List<Integer>> delivered = new ConcurrentHashMap<>();
+        PartitionedDispatcher dispatcher = new PartitionedDispatcher(PartitionConfig.of(4), n -> {
+            delivered.computeIfAbsent(n.recipient(), r -> new CopyOnWriteArrayList<>())
+                    .add(Integer.parseInt(((SmsMessage) n.message()).text()));
+            return SendResult.ok("p", "m");
+        });
+        dispatcher.start();
+
+        int producers = 8;
+        int perProducer = 500;
+        List<Thread> threads = new ArrayList<>();
+        List<CompletableFuture<SendResult>> futures = new CopyOnWriteArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String phone = "+5691111111" + p;
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) futures.add(dispatcher.submit(sms(phone, Integer.toString(i))));
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) t.join();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        dispatcher.close();
+
+        assertEquals(producers, delivered.size());
+        for (List<Integer> seq : delivered.values()) {
+            assertEquals(perProducer, seq.size());
+            for (int i = 0; i < perProducer; i++) assertEquals(i, seq.get(i));
+        }
+    }
+
+    @Test
+    void full_lane_rejects_and_depth_is_exposed() throws Exception {
+        PartitionedDispatcher dispatcher = new PartitionedDispatcher(new PartitionConfig(2, 2), n -> SendResult.ok("p", "m"));
+        // Sin start(): los envíos quedan encolados.
+        CompletableFuture<SendResult> a = dispatcher.submit(sms("+56911111111", "1"));
+        CompletableFuture<SendResult> b = dispatcher.submit(sms("+56911111111", "2"));
+        SendResult rejected = dispatcher.submit(sms("+56911111111", "3")).join();
+
+        int lane = dispatcher.laneOf(new PhoneRecipient("+56911111111"));
+        assertEquals(2, dispatcher.laneDepth(lane));
+        assertEquals(SendResult.ErrorCode.TRANSIENT_ERROR, rejected.error().code());
+
+        dispatcher.start();
+        assertTrue(a.get(5, TimeUnit.SECONDS).success());
+        assertTrue(b.get(5, TimeUnit.SECONDS).success());
+        assertEquals(0, dispatcher.laneDepth(lane));
+        dispatcher.close();
+        assertThrows(NotificationException.class, () -> dispatcher.submit(sms("+56911111111", "4")));
+    }
+
+    @Test
+    void client_routes_send_async_through_lanes() throws Exception {
+        NotificationClientTest.FakeEmailSender sender = new NotificationClientTest.FakeEmailSender();
+        try (NotificationClient client = NotificationClient.builder().register(sender).partitioned(PartitionConfig.of(3)).build()) {
+            Notification n = new Notification(Channel.EMAIL, new EmailRecipient("a@b.com"), new EmailMessage("s", "b"), Notification.Metadata.empty());
+            assertTrue(client.sendAsync(n).get(5, TimeUnit.SECONDS).success());
+            assertEquals(3, client.laneDepths().length);
+        }
+        assertThrows(NotificationException.class, () -> NotificationClient.builder()
+                .dispatcher(DispatchConfig.of(1)).partitioned(PartitionConfig.of(2)).build());
+    }
+
+    @Test
+    void lanes_respect_max_concurrency_per_channel() {
+        NotificationClientTest.SlowConcurrentSender sender = new NotificationClientTest.SlowConcurrentSender();
+        try (NotificationClient client = NotificationClient.builder()
+                .register(sender)
+                .maxConcurrency(Channel.EMAIL, 2)
+                .partitioned(PartitionConfig.of(8))
+                .build()) {
+
+            List<CompletableFuture<SendResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Notification n = new Notification(Channel.EMAIL, new EmailRecipient("u" + i + "@b.com"), new EmailMessage("s", "b"), Notification.Metadata.empty());
+                futures.add(client.sendAsync(n));
+            }
+            futures.forEach(CompletableFuture::join);
+
+            assertTrue(sender.maxInFlight.get() <= 2, "maxInFlight=" + sender.maxInFlight.get());
+        }
+    }
+
+    @Test
+    void lane_waiting_for_channel_permit_keeps_serving_other_channels() throws Exception {
+        CountDownLatch smsEntered = new CountDownLatch(1);
+        CountDownLatch releaseSms = new CountDownLatch(1);
+        NotificationSender sms = new NotificationSender() {
+            @Override
+            public Channel channel() {
+                return Channel.SMS;
+            }
+
+            @Override
+            public String providerName() {
+                return "slow-sms";
+            }
+
+            @Override
+            public SendResult send(Notification notification) {
+                smsEntered.countDown();
+                try {
+                    releaseSms.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return SendResult.ok(providerName(), "s");
+            }
+        };
+        // Destinatarios en carriles distintos: el SMS de A ocupa el único permiso SMS; B comparte carril con el email.
+        PartitionedDispatcher lanes = new PartitionedDispatcher(PartitionConfig.of(2), n -> SendResult.ok("p", "m"));
+        String phoneA = phoneInLane(lanes, 0);
+        String phoneB = phoneInLane(lanes, 1);
+        String emailB = null;
+        for (int i = 0; emailB == null; i++) {
+            if (lanes.laneOf(new EmailRecipient("u" + i + "@b.com")) == 1) emailB = "u" + i + "@b.com";
+        }
+
+        try (NotificationClient client = NotificationClient.builder()
+                .register(sms)
+                .register(new NotificationClientTest.FakeEmailSender())
+                .maxConcurrency(Channel.SMS, 1)
+                .partitioned(PartitionConfig.of(2))
+                .build()) {
+
+            CompletableFuture<SendResult> first = client.sendAsync(sms(phoneA, "1"));
+            assertTrue(smsEntered.await(5, TimeUnit.SECONDS));
+            CompletableFuture<SendResult> waiting = client.sendAsync(sms(phoneB, "2"));
+
+            Notification email = new Notification(Channel.EMAIL, new EmailRecipient(emailB), new EmailMessage("s", "b"), Notification.Metadata.empty());
+            assertTrue(client.sendAsync(email).get(2, TimeUnit.SECONDS).success());
+            assertFalse(waiting.isDone());
+
+            releaseSms.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS).success());
+            assertTrue(waiting.get(5, TimeUnit.SECONDS).success());
+        }
+    }
+
+    private static String phoneInLane(PartitionedDispatcher lanes, int lane) {
+        for (int i = 10; ; i++) {
+            String phone = "+569111111" + i;
+            if (lanes.laneOf(new PhoneRecipient(phone)) == lane) return phone;
+        }
+    }
+}
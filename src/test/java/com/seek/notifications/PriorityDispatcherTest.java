@@ -0,0 +1,169 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.dispatch.DispatchConfig;
+import com.seek.notifications.models.*;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityDispatcherTest {
+
+    /**
+     * Sender que retiene el primer envío hasta release() y registra el orden de entrega por correlationId.
+     */
+    static final class GatedSender implements NotificationSender {
+        final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch firstEntered = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public Channel channel() {
+            return Channel.EMAIL;
+        }
+
+        @Override
+        public String providerName() {
+            return "gated";
+        }
+
+        @Override
+        public SendResult send(Notification notification) {
+            firstEntered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.add(notification.metadata().correlationId());
+            return SendResult.ok(providerName(), notification.metadata().correlationId());
+        }
+    }
+
+    private static Notification email(String corr, Priority priority) {
+        return new Notification(Channel.EMAIL, new EmailRecipient("a@b.com"), new EmailMessage("s", "b"),
+                new Notification.Metadata(corr, Instant.now(), priority));
+    }
+
+    @Test
+    void high_priority_overtakes_queued_campaign() throws Exception {
+        GatedSender sender = new GatedSender();
+        try (NotificationClient client = NotificationClient.builder()
+                .register(sender)
+                .dispatcher(DispatchConfig.of(1))
+                .build()) {
+
+            List<CompletableFuture<SendResult>> futures = new ArrayList<>();
+            futures.add(client.sendAsync(email("low-0", Priority.LOW)));
+            assertTrue(sender.firstEntered.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i <= 5; i++) futures.add(client.sendAsync(email("low-" + i, Priority.LOW)));
+            futures.add(client.sendAsync(email("reset-password", Priority.HIGH)));
+            assertEquals(5, client.queueDepth(Priority.LOW, Channel.EMAIL));
+
+            sender.gate.countDown();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of("low-0", "reset-password", "low-1", "low-2", "low-3", "low-4", "low-5"), sender.delivered);
+        }
+    }
+
+    @Test
+    void full_queue_rejects_with_transient_error() throws Exception {
+        GatedSender sender = new GatedSender();
+        try (NotificationClient client = NotificationClient.builder()
+                .register(sender)
+                .dispatcher(DispatchConfig.of(1).withQueueCapacity(1))
+                .build()) {
+
+            CompletableFuture<SendResult> inFlight = client.sendAsync(email("a", Priority.NORMAL));
+            assertTrue(sender.firstEntered.await(5, TimeUnit.SECONDS));
+            CompletableFuture<SendResult> queued = client.sendAsync(email("b", Priority.NORMAL));
+            SendResult rejected = client.sendAsync(email("c", Priority.NORMAL)).get(1, TimeUnit.SECONDS);
+
+            assertFalse(rejected.success());
+            assertEquals(SendResult.ErrorCode.TRANSIENT_ERROR, rejected.error().code());
+            // Otra prioridad tiene su propia cola.
+            CompletableFuture<SendResult> high = client.sendAsync(email("d", Priority.HIGH));
+
+            sender.gate.countDown();
+            assertTrue(inFlight.get(5, TimeUnit.SECONDS).success());
+            assertTrue(queued.get(5, TimeUnit.SECONDS).success());
+            assertTrue(high.get(5, TimeUnit.SECONDS).success());
+        }
+    }
+
+    @Test
+    void workers_respect_max_concurrency_per_channel() {
+        NotificationClientTest.SlowConcurrentSender sender = new NotificationClientTest.SlowConcurrentSender();
+        try (NotificationClient client = NotificationClient.builder()
+                .register(sender)
+                .maxConcurrency(Channel.EMAIL, 2)
+                .dispatcher(DispatchConfig.of(8))
+                .build()) {
+
+            List<CompletableFuture<SendResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) futures.add(client.sendAsync(email("e-" + i, Priority.NORMAL)));
+            futures.forEach(CompletableFuture::join);
+
+            assertTrue(sender.maxInFlight.get() <= 2, "maxInFlight=" + sender.maxInFlight.get());
+        }
+    }
+
+    @Test
+    void saturated_channel_does_not_hold_workers_from_other_channels() throws Exception {
+        CountDownLatch smsEntered = new CountDownLatch(2);
+        CountDownLatch releaseSms = new CountDownLatch(1);
+        NotificationSender sms = new NotificationSender() {
+            @Override
+            public Channel channel() {
+                return Channel.SMS;
+            }
+
+            @Override
+            public String providerName() {
+                return "slow-sms";
+            }
+
+            @Override
+            public SendResult send(Notification notification) {
+                smsEntered.countDown();
+                try {
+                    releaseSms.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return SendResult.ok(providerName(), "s");
+            }
+        };
+        try (NotificationClient client = NotificationClient.builder()
+                .register(sms)
+                .register(new NotificationClientTest.FakeEmailSender())
+                .maxConcurrency(Channel.SMS, 2)
+                .dispatcher(DispatchConfig.of(4))
+                .build()) {
+
+            List<CompletableFuture<SendResult>> campaign = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                campaign.add(client.sendAsync(new Notification(Channel.SMS, new PhoneRecipient("+5691111111" + i), new SmsMessage("promo"),
+                        new Notification.Metadata("sms-" + i, Instant.now(), Priority.LOW))));
+            }
+            assertTrue(smsEntered.await(5, TimeUnit.SECONDS));
+
+            SendResult urgent = client.sendAsync(email("reset-password", Priority.HIGH)).get(2, TimeUnit.SECONDS);
+            assertTrue(urgent.success());
+            assertEquals(8, client.queueDepth(Priority.LOW, Channel.SMS));
+
+            releaseSms.countDown();
+            for (CompletableFuture<SendResult> f : campaign) assertTrue(f.get(5, TimeUnit.SECONDS).success());
+        }
+    }
+}
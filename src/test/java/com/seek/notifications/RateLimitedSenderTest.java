@@ -0,0 +1,77 @@
+package com.seek.notifications;
+
+import com.seek.notifications.models.*;
+import com.seek.notifications.ratelimit.RateLimit;
+import com.seek.notifications.ratelimit.RateLimitedSender;
+import com.seek.notifications.ratelimit.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitedSenderTest {
+
+    private static Notification email(String to) {
+        return Notification.builder(Channel.EMAIL).recipient(new EmailRecipient(to)).message(new EmailMessage("s", "b")).build();
+    }
+
+    @Test
+    void token_bucket_allows_burst_then_rejects() {
+        TokenBucket bucket = new TokenBucket(RateLimit.perMinute(3));
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertTrue(bucket.reserve(Duration.ofMinutes(1).toNanos()) > 0);
+    }
+
+    @Test
+    void rejects_with_transient_error_when_provider_quota_is_exhausted() {
+        NotificationClientTest.FakeEmailSender provider = new NotificationClientTest.FakeEmailSender();
+        RateLimitedSender limited = RateLimitedSender.builder(provider).limit(RateLimit.perMinute(2)).build();
+
+        assertTrue(limited.send(email("a@b.com")).success());
+        assertTrue(limited.send(email("c@d.com")).success());
+        SendResult r = limited.send(email("e@f.com"));
+
+        assertFalse(r.success());
+        assertEquals(SendResult.ErrorCode.TRANSIENT_ERROR, r.error().code());
+        assertEquals(2, provider.calls);
+    }
+
+    @Test
+    void per_recipient_limit_is_independent_per_recipient() {
+        NotificationClientTest.FakeEmailSender provider = new NotificationClientTest.FakeEmailSender();
+        RateLimitedSender limited = RateLimitedSender.builder(provider).perRecipient(RateLimit.perMinute(1), 10).build();
+
+        assertTrue(limited.send(email("a@b.com")).success());
+        assertFalse(limited.send(email("a@b.com")).success());
+        assertTrue(limited.send(email("c@d.com")).success());
+        assertEquals(2, provider.calls);
+    }
+
+    @Test
+    void async_delays_instead_of_rejecting_within_max_wait() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            NotificationClientTest.FakeEmailSender provider = new NotificationClientTest.FakeEmailSender();
+            RateLimitedSender limited = RateLimitedSender.builder(provider).limit(new RateLimit(1, Duration.ofMillis(20)))
+                    .maxWait(Duration.ofSeconds(1)).build();
+
+            long start = System.nanoTime();
+            CompletableFuture<SendResult> first = limited.sendAsync(email("a@b.com"), scheduler, scheduler);
+            CompletableFuture<SendResult> second = limited.sendAsync(email("a@b.com"), scheduler, scheduler);
+
+            assertTrue(first.join().success());
+            assertTrue(second.join().success());
+            assertTrue(System.nanoTime() - start >= Duration.ofMillis(15).toNanos());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.seek.notifications;
+
+import com.seek.notifications.models.Channel;
+import com.seek.notifications.models.Notification;
+import com.seek.notifications.models.SendResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Sink de prueba para las etapas que entregan vía Function&lt;Notification, CompletableFuture&lt;SendResult&gt;&gt;.
+ * <p>
+ * - Registra cada notificación entregada en {@link #sent}.
+ * - completing(provider): completa al instante con ok(provider, "m-N").
+ * - pending(): retorna futures sin completar, accesibles por orden de llegada o por canal (el último de ese canal).
+ */
+final class RecordingSink implements Function<Notification, CompletableFuture<SendResult>> {
+
+    final List<Notification> sent = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<SendResult>> pending = new CopyOnWriteArrayList<>();
+    private final Map<Channel, CompletableFuture<SendResult>> pendingByChannel = new ConcurrentHashMap<>();
+    private final String provider;
+
+    private RecordingSink(String provider) {
+        this.provider = provider;
+    }
+
+    static RecordingSink completing(String provider) {
+        return new RecordingSink(provider);
+    }
+
+    static RecordingSink pending() {
+        return new RecordingSink(null);
+    }
+
+    @Override
+    public CompletableFuture<SendResult> apply(Notification n) {
+        sent.add(n);
+        if (provider != null) return CompletableFuture.completedFuture(SendResult.ok(provider, "m-" + sent.size()));
+        CompletableFuture<SendResult> f = new CompletableFuture<>();
+        pending.add(f);
+        pendingByChannel.put(n.channel(), f);
+        return f;
+    }
+
+    CompletableFuture<SendResult> pending(int index) {
+        return pending.get(index);
+    }
+
+    CompletableFuture<SendResult> pending(Channel channel) {
+        return pendingByChannel.get(channel);
+    }
+}
@@ -0,0 +1,99 @@
+package com.seek.notifications;
+
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.*;
+import com.seek.notifications.retry.RetryPolicy;
+import com.seek.notifications.retry.RetryingSender;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryingSenderTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static Notification email() {
+        return Notification.builder(Channel.EMAIL).recipient(new EmailRecipient("a@b.com")).message(new EmailMessage("s", "b")).build();
+    }
+
+    @Test
+    void async_retries_are_scheduled_and_succeed() {
+        NotificationClientTest.FlakySender flaky = new NotificationClientTest.FlakySender(2);
+        RetryingSender retrying = new RetryingSender(flaky, RetryPolicy.exponential(3, Duration.ofMillis(1), Duration.ofMillis(10)).withJitter(0.5));
+
+        SendResult r = retrying.sendAsync(email(), scheduler).join();
+
+        assertTrue(r.success());
+        assertEquals(3, flaky.calls);
+    }
+
+    @Test
+    void async_fails_after_max_attempts() {
+        NotificationClientTest.FlakySender flaky = new NotificationClientTest.FlakySender(5);
+        RetryingSender retrying = new RetryingSender(flaky, 3, Duration.ofMillis(1));
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> retrying.sendAsync(email(), scheduler).join());
+        assertInstanceOf(SendFailedException.class, ex.getCause());
+        assertEquals(3, flaky.calls);
+    }
+
+    @Test
+    void async_stops_when_deadline_would_be_exceeded() {
+        NotificationClientTest.FlakySender flaky = new NotificationClientTest.FlakySender(5);
+        RetryPolicy policy = RetryPolicy.fixed(10, Duration.ofMillis(200)).withMaxTotalTime(Duration.ofMillis(100));
+        RetryingSender retrying = new RetryingSender(flaky, policy);
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> retrying.sendAsync(email(), scheduler).join());
+        assertInstanceOf(SendFailedException.class, ex.getCause());
+        assertEquals(1, flaky.calls);
+    }
+
+    @Test
+    void async_does_not_retry_validation_errors() {
+        int[] calls = {0};
+        NotificationSender invalid = new NotificationSender() {
+            @Override
+            public Channel channel() {
+                return Channel.EMAIL;
+            }
+
+            @Override
+            public String providerName() {
+                return "invalid";
+            }
+
+            @Override
+            public SendResult send(Notification notification) {
+                calls[0]++;
+                throw new ValidationException("bad input");
+            }
+        };
+        RetryingSender retrying = new RetryingSender(invalid, 3, Duration.ofMillis(1));
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> retrying.sendAsync(email(), scheduler).join());
+        assertInstanceOf(ValidationException.class, ex.getCause());
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    void exponential_backoff_is_capped() {
+        RetryPolicy policy = RetryPolicy.exponential(10, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        assertEquals(Duration.ofMillis(10), policy.backoffAfter(1));
+        assertEquals(Duration.ofMillis(20), policy.backoffAfter(2));
+        assertEquals(Duration.ofMillis(50), policy.backoffAfter(5));
+    }
+}
@@ -0,0 +1,92 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.CorrelationIdGenerator;
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.events.InMemoryEventBus;
+import com.seek.notifications.events.NotificationEvent;
+import com.seek.notifications.models.*;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SendAllocationTest {
+
+    /**
+     * Sender que retorna siempre el mismo resultado para que solo se mida lo que asigna el cliente.
+     */
+    static final class ConstantSender implements NotificationSender {
+        private static final SendResult OK = SendResult.ok("constant", "id-1");
+
+        @Override
+        public Channel channel() {
+            return Channel.EMAIL;
+        }
+
+        @Override
+        public String providerName() {
+            return "constant";
+        }
+
+        @Override
+        public SendResult send(Notification notification) {
+            return OK;
+        }
+    }
+
+    private static long allocatedBytes(com.sun.management.ThreadMXBean mx, Runnable work) {
+        long tid = Thread.currentThread().threadId();
+        long before = mx.getThreadAllocatedBytes(tid);
+        work.run();
+        return mx.getThreadAllocatedBytes(tid) - before;
+    }
+
+    @Test
+    void send_without_subscribers_allocates_almost_nothing() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled());
+
+        // EventBus configurado pero sin suscriptores: el cliente no debe construir eventos.
+        NotificationClient client = NotificationClient.builder().eventBus(new InMemoryEventBus())
+                .register(new ConstantSender()).validator(n -> {
+                }).build();
+        Notification email = Notification.builder(Channel.EMAIL).recipient(new EmailRecipient("a@b.com")).message(new EmailMessage("s", "b")).build();
+
+        int iterations = 100_000;
+        Runnable sends = () -> {
+            for (int i = 0; i < iterations; i++) client.send(email);
+        };
+        for (int i = 0; i < 5; i++) sends.run(); // warm-up para que el JIT compile el camino
+
+        long bytesPerSend = allocatedBytes(mx, sends) / iterations;
+
+        assertTrue(bytesPerSend < 16, "bytes/send=" + bytesPerSend);
+    }
+
+    @Test
+    void monotonic_correlation_ids_are_unique_and_prefixed() {
+        InMemoryEventBus bus = new InMemoryEventBus();
+        List<NotificationEvent> events = new ArrayList<>();
+        bus.subscribe(events::add);
+
+        NotificationClient client = NotificationClient.builder().eventBus(bus).correlationIds(CorrelationIdGenerator.monotonic())
+                .register(new ConstantSender()).validator(n -> {
+                }).build();
+        Notification email = Notification.builder(Channel.EMAIL).recipient(new EmailRecipient("a@b.com")).message(new EmailMessage("s", "b")).build();
+
+        client.send(email);
+        client.send(email);
+
+        String first = events.get(0).correlationId();
+        String second = events.get(2).correlationId();
+        assertTrue(first.startsWith("corr-"));
+        assertNotEquals(first, second);
+        assertFalse(events.get(1).at().isBefore(events.get(0).at()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.metrics.LatencyHistogram;
+import com.seek.notifications.metrics.MetricsSnapshot;
+import com.seek.notifications.metrics.SendMetrics;
+import com.seek.notifications.models.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SendMetricsTest {
+
+    private static Notification email() {
+        return Notification.builder(Channel.EMAIL).recipient(new EmailRecipient("a@b.com")).message(new EmailMessage("s", "b")).build();
+    }
+
+    @Test
+    void histogram_percentiles_are_within_relative_error() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) h.record(v * 1_000);
+
+        assertEquals(100_000, h.count());
+        assertEquals(50_000_000, h.percentile(50), 50_000_000 * 0.04);
+        assertEquals(99_000_000, h.percentile(99), 99_000_000 * 0.04);
+        assertEquals(99_900_000, h.percentile(99.9), 99_900_000 * 0.04);
+        assertEquals(100_000_000, h.max());
+    }
+
+    @Test
+    void client_records_outcomes_per_channel_and_provider() {
+        SendMetrics metrics = new SendMetrics();
+        NotificationClient ok = NotificationClient.builder().metrics(metrics).register(new NotificationClientTest.FakeEmailSender()).build();
+        NotificationClient failing = NotificationClient.builder().metrics(metrics).register(new NotificationClientTest.AlwaysFailSender()).build();
+
+        ok.send(email());
+        ok.send(email());
+        assertThrows(SendFailedException.class, () -> failing.send(email()));
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        MetricsSnapshot.Series success = snapshot.series().stream().filter(s -> s.provider().equals("fake-email")).findFirst().orElseThrow();
+        MetricsSnapshot.Series failure = snapshot.series().stream().filter(s -> s.provider().equals("always-fail")).findFirst().orElseThrow();
+
+        assertEquals(Channel.EMAIL, success.channel());
+        assertEquals(SendMetrics.Outcome.SUCCESS, success.outcome());
+        assertEquals(2, success.count());
+        assertEquals(SendMetrics.Outcome.FAILURE, failure.outcome());
+        assertEquals(1, failure.count());
+        assertTrue(snapshot.throughputPerSecond(success) > 0);
+    }
+}
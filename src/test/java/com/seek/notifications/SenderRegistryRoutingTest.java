@@ -0,0 +1,267 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.exceptions.DeadlineExceededException;
+import com.seek.notifications.exceptions.SendFailedException;
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.metrics.MetricsSnapshot;
+import com.seek.notifications.metrics.SendMetrics;
+import com.seek.notifications.models.*;
+import com.seek.notifications.registry.Routing;
+import com.seek.notifications.registry.SenderRegistry;
+import com.seek.notifications.spi.AsyncNotificationSender;
+import com.seek.notifications.spi.NotificationSender;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SenderRegistryRoutingTest {
+
+    static final class SmsProvider implements NotificationSender {
+        final String name;
+        final AtomicInteger calls = new AtomicInteger();
+        volatile Supplier<SendResult> behavior;
+
+        SmsProvider(String name) {
+            this.name = name;
+            this.behavior = () -> SendResult.ok(name, "m");
+        }
+
+        @Override
+        public Channel channel() {
+            return Channel.SMS;
+        }
+
+        @Override
+        public String providerName() {
+            return name;
+        }
+
+        @Override
+        public SendResult send(Notification notification) {
+            calls.incrementAndGet();
+            return behavior.get();
+        }
+    }
+
+    private static final Notification SMS = new Notification(Channel.SMS, new PhoneRecipient("+51999999999"), new SmsMessage("hola"), null);
+
+    @Test
+    void single_sender_is_returned_as_is() {
+        SmsProvider a = new SmsProvider("a");
+        assertSame(a, new SenderRegistry().register(a).get(Channel.SMS));
+    }
+
+    @Test
+    void re_registering_a_channel_replaces_its_sender() {
+        SmsProvider a = new SmsProvider("a");
+        SmsProvider b = new SmsProvider("b");
+        NotificationSender sender = new SenderRegistry().register(a).register(b).get(Channel.SMS);
+
+        assertSame(b, sender);
+        assertEquals("b", sender.send(SMS).providerName());
+        assertEquals(0, a.calls.get());
+    }
+
+    @Test
+    void weighted_round_robin_follows_weights() {
+        SmsProvider a = new SmsProvider("a");
+        SmsProvider b = new SmsProvider("b");
+        NotificationSender routed = new SenderRegistry().register(a, 3).register(b, 1).get(Channel.SMS);
+
+        for (int i = 0; i < 400; i++) routed.send(SMS);
+
+        assertEquals(300, a.calls.get());
+        assertEquals(100, b.calls.get());
+    }
+
+    @Test
+    void fails_over_on_exceptions_and_transient_results_but_not_on_validation() {
+        SmsProvider a = new SmsProvider("a");
+        SmsProvider b = new SmsProvider("b");
+        NotificationSender routed = new SenderRegistry().register(a, 1).register(b, 1).get(Channel.SMS);
+
+        a.behavior = () -> {
+            throw new RuntimeException("timeout");
+        };
+        for (int i = 0; i < 10; i++) assertEquals("b", routed.send(SMS).providerName());
+
+        a.behavior = () -> SendResult.fail("a", new SendResult.ErrorInfo(SendResult.ErrorCode.TRANSIENT_ERROR, "429", null));
+        for (int i = 0; i < 10; i++) assertEquals("b", routed.send(SMS).providerName());
+
+        a.behavior = () -> {
+            throw new RuntimeException("a down");
+        };
+        b.behavior = () -> {
+            throw new RuntimeException("b down");
+        };
+        int calls = a.calls.get() + b.calls.get();
+        assertThrows(RuntimeException.class, () -> routed.send(SMS));
+        assertEquals(calls + 2, a.calls.get() + b.calls.get());
+
+        a.behavior = () -> {
+            throw new ValidationException("bad phone");
+        };
+        b.behavior = () -> SendResult.ok("b", "m");
+        int before = b.calls.get();
+        for (int i = 0; i < 4; i++) {
+            try {
+                routed.send(SMS);
+            } catch (ValidationException ignored) {
+                // no hace failover
+            }
+        }
+        // Solo las elecciones directas de b (la mitad) llegaron a b.
+        assertEquals(before + 2, b.calls.get());
+    }
+
+    @Test
+    void deadline_exceeded_is_not_failed_over() {
+        SmsProvider a = new SmsProvider("a");
+        SmsProvider b = new SmsProvider("b");
+        NotificationSender routed = new SenderRegistry().register(a, 1).register(b, 1).get(Channel.SMS);
+        a.behavior = () -> {
+            throw new DeadlineExceededException("deadline", null);
+        };
+        b.behavior = a.behavior;
+
+        assertThrows(DeadlineExceededException.class, () -> routed.send(SMS));
+        assertEquals(1, a.calls.get() + b.calls.get());
+    }
+
+    @Test
+    void cancelled_send_is_not_failed_over() throws Exception {
+        SmsProvider a = new SmsProvider("a");
+        SmsProvider b = new SmsProvider("b");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        a.behavior = () -> {
+            entered.countDown();
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted.countDown();
+                throw new SendFailedException("interrupted", e);
+            }
+            return SendResult.ok("slow", "m");
+        };
+        b.behavior = a.behavior;
+        AsyncNotificationSender routed = (AsyncNotificationSender) new SenderRegistry().register(a, 1).register(b, 1).get(Channel.SMS);
+
+        CompletableFuture<SendResult> f = routed.sendAsync(SMS).toCompletableFuture();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        f.cancel(true);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(1, a.calls.get() + b.calls.get());
+    }
+
+    @Test
+    void async_deadline_exceeded_is_not_failed_over() {
+        AsyncNotificationSenderTest.PendingSender a = new AsyncNotificationSenderTest.PendingSender("a");
+        AsyncNotificationSenderTest.PendingSender b = new AsyncNotificationSenderTest.PendingSender("b");
+        AsyncNotificationSender routed = (AsyncNotificationSender) new SenderRegistry().register(a, 1).register(b, 1).get(Channel.EMAIL);
+
+        Notification email = new Notification(Channel.EMAIL, new EmailRecipient("a@b.com"), new EmailMessage("s", "b"), null);
+        CompletableFuture<SendResult> f = routed.sendAsync(email).toCompletableFuture();
+        AsyncNotificationSenderTest.PendingSender first = (a.calls.get() == 1) ? a : b;
+        first.inFlight.poll().completeExceptionally(new DeadlineExceededException("deadline", null));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> f.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, e.getCause());
+        assertEquals(1, a.calls.get() + b.calls.get());
+    }
+
+    @Test
+    void routed_channel_records_metrics_and_errors_per_provider() {
+        SmsProvider a = new SmsProvider("a");
+        SmsProvider b = new SmsProvider("b");
+        SendMetrics metrics = new SendMetrics();
+        NotificationClient client = NotificationClient.builder().metrics(metrics).register(a, 1).register(b, 1).build();
+
+        a.behavior = () -> {
+            throw new RuntimeException("a down");
+        };
+        for (int i = 0; i < 4; i++) assertEquals("b", client.send(SMS).providerName());
+
+        b.behavior = () -> {
+            throw new RuntimeException("b down");
+        };
+        SendFailedException e = assertThrows(SendFailedException.class, () -> client.send(SMS));
+        assertTrue(e.getMessage().endsWith("provider=a") || e.getMessage().endsWith("provider=b"), e.getMessage());
+
+        Map<String, Long> byProvider = new HashMap<>();
+        for (MetricsSnapshot.Series s : metrics.snapshot().series()) {
+            assertFalse(s.provider().contains("|"), s.provider());
+            byProvider.merge(s.provider() + ":" + s.outcome(), s.count(), Long::sum);
+        }
+        assertEquals(4, byProvider.get("b:SUCCESS"));
+        assertEquals(1, byProvider.get("b:FAILURE"));
+        assertEquals(a.calls.get(), byProvider.get("a:FAILURE"));
+    }
+
+    @Test
+    void least_outstanding_avoids_busy_provider() throws Exception {
+        SmsProvider busy = new SmsProvider("busy");
+        SmsProvider idle = new SmsProvider("idle");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        busy.behavior = () -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return SendResult.ok("busy", "m");
+        };
+        NotificationSender routed = new SenderRegistry().register(busy, 1).register(idle, 1)
+                .routing(Channel.SMS, Routing.LEAST_OUTSTANDING).get(Channel.SMS);
+
+        // El primer envío puede caer en cualquiera; se fuerza ocupar "busy" reintentando hasta que entre.
+        Thread blocker = new Thread(() -> {
+            while (busy.calls.get() == 0) routed.send(SMS);
+        });
+        blocker.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        int before = idle.calls.get();
+        for (int i = 0; i < 20; i++) assertEquals("idle", routed.send(SMS).providerName());
+        assertEquals(before + 20, idle.calls.get());
+
+        release.countDown();
+        blocker.join(5000);
+    }
+
+    @Test
+    void latency_ewma_prefers_faster_provider() {
+        SmsProvider slow = new SmsProvider("slow");
+        SmsProvider fast = new SmsProvider("fast");
+        slow.behavior = () -> {
+            try {
+                Thread.sleep(Duration.ofMillis(5).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return SendResult.ok("slow", "m");
+        };
+        NotificationSender routed = new SenderRegistry().register(slow, 1).register(fast, 1)
+                .routing(Channel.SMS, Routing.LATENCY_EWMA).get(Channel.SMS);
+
+        for (int i = 0; i < 50; i++) routed.send(SMS);
+
+        assertTrue(fast.calls.get() >= 45, "fast=" + fast.calls.get());
+    }
+}
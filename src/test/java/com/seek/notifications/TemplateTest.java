@@ -0,0 +1,72 @@
+package com.seek.notifications;
+
+import com.seek.notifications.client.NotificationClient;
+import com.seek.notifications.exceptions.NotificationException;
+import com.seek.notifications.exceptions.ValidationException;
+import com.seek.notifications.models.*;
+import com.seek.notifications.template.MessageTemplate;
+import com.seek.notifications.template.Template;
+import com.seek.notifications.template.TemplateCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateTest {
+
+    @Test
+    void renders_variables_and_literals() {
+        Template t = Template.compile("Hola {{ name }}, tu código es {{code}}. Chau {{name}}");
+
+        assertEquals("Hola Ana, tu código es 1234. Chau Ana", t.render(Map.of("name", "Ana", "code", 1234)));
+        assertEquals(Set.of("name", "code"), t.variables());
+        assertEquals("sin variables", Template.compile("sin variables").render(Map.of()));
+    }
+
+    @Test
+    void missing_variable_is_validation_error_and_bad_syntax_fails_at_compile() {
+        Template t = Template.compile("Hola {{name}}");
+        assertThrows(ValidationException.class, () -> t.render(Map.of()));
+        assertThrows(NotificationException.class, () -> Template.compile("Hola {{name"));
+        assertThrows(NotificationException.class, () -> Template.compile("Hola {{ }}"));
+    }
+
+    @Test
+    void cache_compiles_once_and_evicts_least_recently_used() {
+        AtomicInteger loads = new AtomicInteger();
+        TemplateCache cache = new TemplateCache(2, id -> {
+            loads.incrementAndGet();
+            return "plantilla " + id + " {{x}}";
+        });
+
+        cache.get("a");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c"); // desaloja "b"
+        assertEquals(3, loads.get());
+        cache.get("a");
+        assertEquals(3, loads.get());
+        cache.get("b");
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void templated_campaign_through_send_batch() {
+        NotificationClientTest.FakeEmailSender sender = new NotificationClientTest.FakeEmailSender();
+        NotificationClient client = NotificationClient.builder().register(sender).build();
+        MessageTemplate.Email template = MessageTemplate.email("Hola {{name}}", "Tienes {{count}} postulaciones nuevas");
+
+        List<Notification> batch = List.of("ana", "luis", "eva").stream()
+                .map(name -> template.toNotification(new EmailRecipient(name + "@mail.com"), Map.of("name", name, "count", 3)))
+                .toList();
+
+        assertTrue(client.sendBatch(batch).stream().allMatch(SendResult::success));
+        assertEquals(3, sender.calls);
+        assertEquals(new EmailMessage("Hola luis", "Tienes 3 postulaciones nuevas"), batch.get(1).message());
+    }
+}